@@ -0,0 +1,43 @@
+package io.eventdriven.slimdownaggregates.mapping;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates a mapper between an entity and an aggregate for the annotated abstract class,
+ * named like it with the Impl suffix. The aggregate is created through the factory method,
+ * its parameters read from the entity getters of the same name, and updates go to the entity setters
+ * from the aggregate accessors of the same name, either x() or getX().
+ * <p>
+ * The annotated class customises the mapping with its non-private methods:
+ * <ul>
+ *   <li>factory() returns the factory the aggregate is created with,</li>
+ *   <li>converters take one value and return another, they're picked by their parameter and return types,</li>
+ *   <li>x(Entity) provides the factory parameter x, and void x(Aggregate, Entity) updates the entity property x,</li>
+ *   <li>boolean xLoaded() tells if x is mapped, if not, the parameter is null or an empty list and the property isn't updated.</li>
+ * </ul>
+ * Lists are mapped element by element with a converter, in indexed loops into lists sized upfront.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateMapper {
+  Class<?> entity();
+
+  Class<?> aggregate();
+
+  Class<?> factory();
+
+  String factoryMethod() default "create";
+
+  /**
+   * Factory parameters read from differently named entity properties, as "parameter=property".
+   */
+  String[] renames() default {};
+
+  /**
+   * Entity properties the mapper doesn't update.
+   */
+  String[] ignore() default {};
+}
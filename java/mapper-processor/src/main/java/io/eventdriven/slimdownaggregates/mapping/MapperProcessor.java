@@ -0,0 +1,418 @@
+package io.eventdriven.slimdownaggregates.mapping;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Writes the mappers described by {@link GenerateMapper}. Problems with the mapping are reported
+ * as compilation errors on the annotated class, so the mapper can't silently miss a property.
+ */
+@SupportedAnnotationTypes("io.eventdriven.slimdownaggregates.mapping.GenerateMapper")
+public class MapperProcessor extends AbstractProcessor {
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    for (var element : roundEnv.getElementsAnnotatedWith(GenerateMapper.class)) {
+      try {
+        generate((TypeElement) element);
+      } catch (MappingException e) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.getMessage(), element);
+      } catch (IOException e) {
+        processingEnv.getMessager().printMessage(
+          Diagnostic.Kind.ERROR, "Couldn't write the mapper: " + e.getMessage(), element
+        );
+      }
+    }
+    return true;
+  }
+
+  private void generate(TypeElement spec) throws IOException {
+    if (!spec.getModifiers().contains(Modifier.ABSTRACT))
+      throw new MappingException("Mapper specification %s must be abstract".formatted(spec.getSimpleName()));
+
+    var mapping = new Mapping(spec);
+    var packageName = processingEnv.getElementUtils().getPackageOf(spec).getQualifiedName().toString();
+    var className = spec.getSimpleName() + "Impl";
+
+    var code = new StringBuilder();
+    if (!packageName.isEmpty())
+      code.append("package ").append(packageName).append(";\n\n");
+    code.append("@javax.annotation.processing.Generated(\"").append(MapperProcessor.class.getName()).append("\")\n");
+    if (spec.getModifiers().contains(Modifier.PUBLIC))
+      code.append("public ");
+    code.append("class ").append(className).append(" extends ").append(spec.getSimpleName()).append(" {\n");
+    mapping.writeConstructors(code, className);
+    mapping.writeToAggregate(code);
+    mapping.writeToEntity(code);
+    code.append("}\n");
+
+    var file = processingEnv.getFiler().createSourceFile(
+      packageName.isEmpty() ? className : packageName + "." + className, spec
+    );
+    try (Writer writer = file.openWriter()) {
+      writer.write(code.toString());
+    }
+  }
+
+  private class Mapping {
+    private final TypeElement spec;
+    private final TypeElement entity;
+    private final TypeElement aggregate;
+    private final ExecutableElement factoryMethod;
+    private final Map<String, String> renames = new HashMap<>();
+    private final Set<String> ignored = new HashSet<>();
+    private final List<ExecutableElement> specMethods;
+
+    Mapping(TypeElement spec) {
+      this.spec = spec;
+
+      var annotation = spec.getAnnotationMirrors().stream()
+        .filter(a -> ((TypeElement) a.getAnnotationType().asElement()).getQualifiedName()
+          .contentEquals(GenerateMapper.class.getName()))
+        .findFirst()
+        .orElseThrow();
+      var values = new HashMap<String, AnnotationValue>();
+      processingEnv.getElementUtils().getElementValuesWithDefaults(annotation)
+        .forEach((key, value) -> values.put(key.getSimpleName().toString(), value));
+
+      entity = typeElement(values.get("entity"));
+      aggregate = typeElement(values.get("aggregate"));
+      var factory = typeElement(values.get("factory"));
+      var factoryMethodName = (String) values.get("factoryMethod").getValue();
+
+      factoryMethod = ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(factory)).stream()
+        .filter(m -> m.getSimpleName().contentEquals(factoryMethodName))
+        .findFirst()
+        .orElseThrow(() -> new MappingException(
+          "Factory %s has no method %s".formatted(factory.getSimpleName(), factoryMethodName)
+        ));
+
+      for (var rename : strings(values.get("renames"))) {
+        var parts = rename.split("=");
+        if (parts.length != 2)
+          throw new MappingException("Rename '%s' isn't in the parameter=property form".formatted(rename));
+        renames.put(parts[0].trim(), parts[1].trim());
+      }
+      ignored.addAll(strings(values.get("ignore")));
+
+      specMethods = ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(spec)).stream()
+        .filter(m -> !m.getModifiers().contains(Modifier.PRIVATE))
+        .filter(m -> !((TypeElement) m.getEnclosingElement()).getQualifiedName().contentEquals("java.lang.Object"))
+        .toList();
+
+      if (specMethod("factory", 0).isEmpty())
+        throw new MappingException("Mapper specification %s has no factory() method".formatted(spec.getSimpleName()));
+    }
+
+    void writeConstructors(StringBuilder code, String className) {
+      for (var constructor : ElementFilter.constructorsIn(spec.getEnclosedElements())) {
+        if (constructor.getModifiers().contains(Modifier.PRIVATE))
+          continue;
+
+        var parameters = new StringJoiner(", ");
+        var arguments = new StringJoiner(", ");
+        for (var parameter : constructor.getParameters()) {
+          parameters.add(parameter.asType() + " " + parameter.getSimpleName());
+          arguments.add(parameter.getSimpleName());
+        }
+        code.append("  public ").append(className).append("(").append(parameters).append(") {\n")
+          .append("    super(").append(arguments).append(");\n")
+          .append("  }\n\n");
+      }
+    }
+
+    void writeToAggregate(StringBuilder code) {
+      code.append("  public ").append(aggregate.getQualifiedName())
+        .append(" toAggregate(").append(entity.getQualifiedName()).append(" entity) {\n");
+
+      var arguments = new StringJoiner(",\n      ");
+      for (var parameter : factoryMethod.getParameters()) {
+        var name = parameter.getSimpleName().toString();
+        var local = "_" + name;
+        var target = parameter.asType();
+        arguments.add(local);
+
+        code.append("    ").append(target).append(" ").append(local).append(";\n");
+
+        var guard = guard(name);
+        var indent = "    ";
+        if (guard.isPresent()) {
+          code.append("    if (").append(guard.get().getSimpleName()).append("()) {\n");
+          indent = "      ";
+        }
+
+        var custom = specMethods.stream()
+          .filter(m -> m.getSimpleName().contentEquals(name) && m.getParameters().size() == 1)
+          .filter(m -> isAssignable(entity.asType(), m.getParameters().get(0).asType()))
+          .findFirst();
+        if (custom.isPresent()) {
+          checkAssignable(custom.get().getReturnType(), target, name);
+          code.append(indent).append(local).append(" = ").append(name).append("(entity);\n");
+        } else {
+          var property = renames.getOrDefault(name, name);
+          var getter = getter(property).orElseThrow(() -> new MappingException(
+            "%s has no getter for %s, declare %s(%s) or rename it".formatted(
+              entity.getSimpleName(), property, name, entity.getSimpleName())
+          ));
+          var source = local + "Source";
+          code.append(indent).append("var ").append(source).append(" = entity.")
+            .append(getter.getSimpleName()).append("();\n");
+          writeConversion(code, indent, local, source, returnType(entity, getter), target, name);
+        }
+
+        if (guard.isPresent()) {
+          code.append("    } else {\n")
+            .append("      ").append(local).append(" = ").append(isList(target) ? "new java.util.ArrayList<>()" : "null")
+            .append(";\n")
+            .append("    }\n");
+        }
+      }
+
+      code.append("\n    return factory().").append(factoryMethod.getSimpleName()).append("(\n      ")
+        .append(arguments).append("\n    );\n")
+        .append("  }\n\n");
+    }
+
+    void writeToEntity(StringBuilder code) {
+      code.append("  public ").append(entity.getQualifiedName())
+        .append(" toEntity(").append(aggregate.getQualifiedName()).append(" aggregate, ")
+        .append(entity.getQualifiedName()).append(" entity) {\n");
+
+      for (var setter : setters()) {
+        var property = decapitalize(setter.getSimpleName().toString().substring(3));
+        if (ignored.contains(property))
+          continue;
+
+        var guard = guard(property);
+        var indent = "    ";
+        if (guard.isPresent()) {
+          code.append("    if (").append(guard.get().getSimpleName()).append("()) {\n");
+          indent = "      ";
+        }
+
+        var custom = specMethods.stream()
+          .filter(m -> m.getSimpleName().contentEquals(property) && m.getParameters().size() == 2)
+          .filter(m -> isAssignable(aggregate.asType(), m.getParameters().get(0).asType())
+            && isAssignable(entity.asType(), m.getParameters().get(1).asType()))
+          .findFirst();
+        if (custom.isPresent()) {
+          code.append(indent).append(property).append("(aggregate, entity);\n");
+        } else {
+          var accessor = accessor(property).orElseThrow(() -> new MappingException(
+            "%s has no accessor for %s, declare void %s(%s, %s) or ignore it".formatted(
+              aggregate.getSimpleName(), property, property, aggregate.getSimpleName(), entity.getSimpleName())
+          ));
+          var local = "_" + property;
+          var source = local + "Source";
+          var target = setter.getParameters().get(0).asType();
+          code.append(indent).append("var ").append(source).append(" = aggregate.")
+            .append(accessor.getSimpleName()).append("();\n")
+            .append(indent).append(target).append(" ").append(local).append(";\n");
+          writeConversion(code, indent, local, source, returnType(aggregate, accessor), target, property);
+          code.append(indent).append("entity.").append(setter.getSimpleName()).append("(").append(local).append(");\n");
+        }
+
+        if (guard.isPresent())
+          code.append("    }\n");
+      }
+
+      code.append("\n    return entity;\n")
+        .append("  }\n");
+    }
+
+    private void writeConversion(
+      StringBuilder code, String indent, String local, String source, TypeMirror from, TypeMirror to, String name
+    ) {
+      if (isAssignable(from, to)) {
+        code.append(indent).append(local).append(" = ").append(source).append(";\n");
+        return;
+      }
+
+      if (isList(from) && isList(to)) {
+        var fromElement = elementType(from, name);
+        var toElement = elementType(to, name);
+        var list = local + "List";
+        code.append(indent).append("var ").append(list).append(" = new java.util.ArrayList<").append(toElement)
+          .append(">(").append(source).append(".size());\n")
+          .append(indent).append("for (int i = 0; i < ").append(source).append(".size(); i++) {\n")
+          .append(indent).append("  ").append(list).append(".add(")
+          .append(convert(source + ".get(i)", fromElement, toElement, name)).append(");\n")
+          .append(indent).append("}\n")
+          .append(indent).append(local).append(" = ").append(list).append(";\n");
+        return;
+      }
+
+      var converted = convert(source, from, to, name);
+      if (from.getKind().isPrimitive() || to.getKind().isPrimitive()) {
+        code.append(indent).append(local).append(" = ").append(converted).append(";\n");
+      } else {
+        code.append(indent).append(local).append(" = ").append(source).append(" != null ? ")
+          .append(converted).append(" : null;\n");
+      }
+    }
+
+    private String convert(String expression, TypeMirror from, TypeMirror to, String name) {
+      if (isAssignable(from, to))
+        return expression;
+
+      var candidates = specMethods.stream()
+        .filter(m -> m.getParameters().size() == 1 && m.getReturnType().getKind() != TypeKind.VOID)
+        .filter(m -> !isAssignable(entity.asType(), m.getParameters().get(0).asType()))
+        .filter(m -> isAssignable(from, m.getParameters().get(0).asType()))
+        .filter(m -> isAssignable(m.getReturnType(), to))
+        .toList();
+
+      // Converters taking exactly the source type win over more general ones
+      if (candidates.size() > 1) {
+        var exact = candidates.stream()
+          .filter(m -> processingEnv.getTypeUtils().isSameType(from, m.getParameters().get(0).asType()))
+          .toList();
+        if (!exact.isEmpty())
+          candidates = exact;
+      }
+
+      if (candidates.isEmpty())
+        throw new MappingException("No converter from %s to %s for %s".formatted(from, to, name));
+      if (candidates.size() > 1)
+        throw new MappingException("Ambiguous converters from %s to %s for %s: %s".formatted(
+          from, to, name, candidates.stream().map(m -> m.getSimpleName().toString()).toList()
+        ));
+
+      return candidates.get(0).getSimpleName() + "(" + expression + ")";
+    }
+
+    private Optional<ExecutableElement> guard(String name) {
+      return specMethod(name + "Loaded", 0)
+        .filter(m -> m.getReturnType().getKind() == TypeKind.BOOLEAN);
+    }
+
+    private Optional<ExecutableElement> specMethod(String name, int parameters) {
+      return specMethods.stream()
+        .filter(m -> m.getSimpleName().contentEquals(name) && m.getParameters().size() == parameters)
+        .findFirst();
+    }
+
+    private Optional<ExecutableElement> getter(String property) {
+      var capitalized = capitalize(property);
+      return noArgumentMethod(entity, "get" + capitalized)
+        .or(() -> noArgumentMethod(entity, "is" + capitalized));
+    }
+
+    private Optional<ExecutableElement> accessor(String property) {
+      var capitalized = capitalize(property);
+      var names = new ArrayList<>(List.of(property, "get" + capitalized, "is" + capitalized));
+      renames.forEach((parameter, renamed) -> {
+        if (renamed.equals(property))
+          names.addAll(List.of(parameter, "get" + capitalize(parameter)));
+      });
+
+      return names.stream()
+        .map(name -> noArgumentMethod(aggregate, name))
+        .flatMap(Optional::stream)
+        .findFirst();
+    }
+
+    private Optional<ExecutableElement> noArgumentMethod(TypeElement type, String name) {
+      return ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type)).stream()
+        .filter(m -> m.getModifiers().contains(Modifier.PUBLIC) && !m.getModifiers().contains(Modifier.STATIC))
+        .filter(m -> m.getSimpleName().contentEquals(name) && m.getParameters().isEmpty())
+        .filter(m -> m.getReturnType().getKind() != TypeKind.VOID)
+        .findFirst();
+    }
+
+    // Declaration order, from the entity down to its superclasses, keeps the generated code readable
+    private List<ExecutableElement> setters() {
+      var setters = new ArrayList<ExecutableElement>();
+      var seen = new HashSet<String>();
+      for (var type = entity; type != null; type = superclass(type)) {
+        for (var method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+          var name = method.getSimpleName().toString();
+          if (name.length() > 3 && name.startsWith("set") && method.getParameters().size() == 1
+            && method.getModifiers().contains(Modifier.PUBLIC) && !method.getModifiers().contains(Modifier.STATIC)
+            && seen.add(name))
+            setters.add(method);
+        }
+      }
+      return setters;
+    }
+
+    // Accessors inherited from generic superclasses return their type arguments
+    private TypeMirror returnType(TypeElement owner, ExecutableElement method) {
+      var member = processingEnv.getTypeUtils().asMemberOf((DeclaredType) owner.asType(), method);
+      return ((ExecutableType) member).getReturnType();
+    }
+
+    private TypeElement superclass(TypeElement type) {
+      if (type.getSuperclass().getKind() != TypeKind.DECLARED)
+        return null;
+      var superclass = (TypeElement) ((DeclaredType) type.getSuperclass()).asElement();
+      return superclass.getQualifiedName().contentEquals("java.lang.Object") ? null : superclass;
+    }
+
+    private TypeMirror elementType(TypeMirror list, String name) {
+      var arguments = ((DeclaredType) list).getTypeArguments();
+      if (arguments.size() != 1)
+        throw new MappingException("List of %s must declare its element type".formatted(name));
+      return arguments.get(0);
+    }
+
+    private boolean isList(TypeMirror type) {
+      if (type.getKind() != TypeKind.DECLARED)
+        return false;
+      var types = processingEnv.getTypeUtils();
+      var list = processingEnv.getElementUtils().getTypeElement("java.util.List").asType();
+      return types.isAssignable(types.erasure(type), types.erasure(list));
+    }
+
+    private boolean isAssignable(TypeMirror from, TypeMirror to) {
+      return processingEnv.getTypeUtils().isAssignable(from, to);
+    }
+
+    private void checkAssignable(TypeMirror from, TypeMirror to, String name) {
+      if (!isAssignable(from, to))
+        throw new MappingException("%s of %s isn't assignable to %s".formatted(name, from, to));
+    }
+
+    private TypeElement typeElement(AnnotationValue value) {
+      return (TypeElement) ((DeclaredType) value.getValue()).asElement();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> strings(AnnotationValue value) {
+      return ((List<? extends AnnotationValue>) value.getValue()).stream()
+        .map(v -> (String) v.getValue())
+        .toList();
+    }
+  }
+
+  private static String capitalize(String name) {
+    return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+  }
+
+  private static String decapitalize(String name) {
+    return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+  }
+
+  private static class MappingException extends RuntimeException {
+    MappingException(String message) {
+      super(message);
+    }
+  }
+}
@@ -0,0 +1,202 @@
+package io.eventdriven.slimdownaggregates.original.domain.books;
+
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.*;
+import io.eventdriven.slimdownaggregates.original.domain.books.services.PublishingHouse;
+import io.eventdriven.slimdownaggregates.original.infrastructure.valueobjects.NonEmptyString;
+import io.eventdriven.slimdownaggregates.original.infrastructure.valueobjects.PositiveInt;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Command methods of the mutable book aggregate across book sizes.
+ * Commands change the book, so a pool of fresh books is created from prepared lists before each
+ * invocation, which runs the command once on every book of the pool. Timing a whole pool keeps
+ * the timer overhead and the setup out of the per command result.
+ * Run with -prof gc to see the allocation per command.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class BookCommandsBenchmark {
+  private static final int POOL_SIZE = 100;
+
+  private static final Book.Factory factory = new Book.Factory();
+  private static final PublishingHouse publishingHouse = genre -> false;
+
+  @State(Scope.Thread)
+  public static class Writing {
+    @Param({"10", "100", "1000"})
+    public int chapters;
+
+    private List<Chapter> existingChapters;
+    private ChapterTitle nextTitle;
+    private final Book[] books = new Book[POOL_SIZE];
+
+    @Setup(Level.Trial)
+    public void prepare() {
+      existingChapters = new ArrayList<>(chapters);
+      for (var i = 1; i <= chapters; i++) {
+        existingChapters.add(new Chapter(new ChapterNumber(i), new ChapterTitle("chapter " + i), new ChapterContent("content")));
+      }
+      nextTitle = new ChapterTitle("chapter " + (chapters + 1));
+    }
+
+    @Setup(Level.Invocation)
+    public void setup() {
+      for (var i = 0; i < POOL_SIZE; i++) {
+        books[i] = book(Book.State.WRITING, null, null, new ArrayList<>(existingChapters), null, null);
+      }
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Editing {
+    @Param({"2", "20"})
+    public int formats;
+
+    @Param({"3", "30"})
+    public int reviewers;
+
+    private List<Chapter> existingChapters;
+    private List<Format> existingFormats;
+    private List<Reviewer> existingReviewers;
+    private List<Translation> existingTranslations;
+    private CommitteeApproval approval;
+    private Format newFormat;
+    private Format lastFormat;
+    private Reviewer newReviewer;
+
+    private final Book[] books = new Book[POOL_SIZE];
+    private final Book[] approved = new Book[POOL_SIZE];
+    private final Book[] published = new Book[POOL_SIZE];
+
+    @Setup(Level.Trial)
+    public void prepare() {
+      existingChapters = List.of(new Chapter(new ChapterNumber(1), new ChapterTitle("chapter 1"), new ChapterContent("content")));
+      existingFormats = new ArrayList<>(formats);
+      for (var i = 1; i <= formats; i++) {
+        existingFormats.add(format("format " + i));
+      }
+      existingReviewers = new ArrayList<>(reviewers);
+      for (var i = 1; i <= reviewers; i++) {
+        existingReviewers.add(reviewer("reviewer " + i));
+      }
+      existingTranslations = new ArrayList<>(5);
+      for (var i = 1; i <= 5; i++) {
+        existingTranslations.add(new Translation(
+          new Language(new LanguageId(UUID.randomUUID()), new LanguageName("language " + i)),
+          new Translator(new TranslatorId(UUID.randomUUID()), new TranslatorName("translator " + i))
+        ));
+      }
+      approval = new CommitteeApproval(true, new NonEmptyString("approved"));
+      newFormat = format("format " + (formats + 1));
+      lastFormat = existingFormats.get(formats - 1);
+      newReviewer = reviewer("reviewer " + (reviewers + 1));
+    }
+
+    @Setup(Level.Invocation)
+    public void setup() {
+      for (var i = 0; i < POOL_SIZE; i++) {
+        books[i] = book(Book.State.EDITING, null, new ArrayList<>(existingReviewers), existingChapters, null, new ArrayList<>(existingFormats));
+        approved[i] = book(Book.State.EDITING, approval, new ArrayList<>(existingReviewers), existingChapters, null, new ArrayList<>(existingFormats));
+        published[i] = book(Book.State.PUBLISHED, approval, new ArrayList<>(existingReviewers), existingChapters, new ArrayList<>(existingTranslations), new ArrayList<>(existingFormats));
+      }
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(POOL_SIZE)
+  public void addChapter(Writing writing, Blackhole blackhole) {
+    for (var book : writing.books) {
+      book.addChapter(writing.nextTitle, new ChapterContent("content"));
+      blackhole.consume(book);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(POOL_SIZE)
+  public void addFormat(Editing editing, Blackhole blackhole) {
+    for (var book : editing.books) {
+      book.addFormat(editing.newFormat);
+      blackhole.consume(book);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(POOL_SIZE)
+  public void removeFormat(Editing editing, Blackhole blackhole) {
+    for (var book : editing.books) {
+      book.removeFormat(editing.lastFormat);
+      blackhole.consume(book);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(POOL_SIZE)
+  public void addReviewer(Editing editing, Blackhole blackhole) {
+    for (var book : editing.books) {
+      book.addReviewer(editing.newReviewer);
+      blackhole.consume(book);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(POOL_SIZE)
+  public void moveToPrinting(Editing editing, Blackhole blackhole) {
+    for (var book : editing.approved) {
+      book.moveToPrinting();
+      blackhole.consume(book);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(POOL_SIZE)
+  public void moveToOutOfPrint(Editing editing, Blackhole blackhole) {
+    for (var book : editing.published) {
+      book.moveToOutOfPrint();
+      blackhole.consume(book);
+    }
+  }
+
+  private static Book book(
+    Book.State state,
+    CommitteeApproval approval,
+    List<Reviewer> reviewers,
+    List<Chapter> chapters,
+    List<Translation> translations,
+    List<Format> formats
+  ) {
+    return factory.create(
+      new BookId(UUID.randomUUID()),
+      state,
+      new Title("Title"),
+      new Author(new AuthorId(UUID.randomUUID()), new AuthorFirstName("Anna"), new AuthorLastName("Nowak")),
+      publishingHouse,
+      new Publisher(new PublisherId(UUID.randomUUID()), new PublisherName("Publisher")),
+      new PositiveInt(1),
+      new Genre("Fantasy"),
+      new ISBN("978-3-16-148410-0"),
+      null, null, null, null, null,
+      approval,
+      reviewers,
+      chapters,
+      translations,
+      formats
+    );
+  }
+
+  private static Format format(String formatType) {
+    return new Format(new FormatType(formatType), new PositiveInt(1000), new PositiveInt(1));
+  }
+
+  private static Reviewer reviewer(String name) {
+    return new Reviewer(new ReviewerId(UUID.randomUUID()), new ReviewerName(name));
+  }
+}
@@ -0,0 +1,178 @@
+package io.eventdriven.slimdownaggregates.original.persistence.books.mappers;
+
+import io.eventdriven.slimdownaggregates.original.domain.books.Book;
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.BookId;
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.Chapter;
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.ChapterNumber;
+import io.eventdriven.slimdownaggregates.original.domain.books.factories.BookFactory;
+import io.eventdriven.slimdownaggregates.original.domain.books.repositories.BookSlice;
+import io.eventdriven.slimdownaggregates.original.domain.books.repositories.ChapterContentRepository;
+import io.eventdriven.slimdownaggregates.original.domain.books.services.PublishingHouse;
+import io.eventdriven.slimdownaggregates.original.persistence.authors.AuthorEntity;
+import io.eventdriven.slimdownaggregates.original.persistence.books.BookEntity;
+import io.eventdriven.slimdownaggregates.original.persistence.books.entities.ChapterEntity;
+import io.eventdriven.slimdownaggregates.original.persistence.books.entities.FormatEntity;
+import io.eventdriven.slimdownaggregates.original.persistence.books.valueobjects.CommitteeApprovalVO;
+import io.eventdriven.slimdownaggregates.original.persistence.books.valueobjects.TranslationVO;
+import io.eventdriven.slimdownaggregates.original.persistence.languages.LanguageEntity;
+import io.eventdriven.slimdownaggregates.original.persistence.publishers.PublisherEntity;
+import io.eventdriven.slimdownaggregates.original.persistence.reviewers.ReviewerEntity;
+import io.eventdriven.slimdownaggregates.original.persistence.translations.TranslationDictionary;
+import io.eventdriven.slimdownaggregates.original.persistence.translators.TranslatorEntity;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping a detached book entity to the aggregate and back, across book sizes.
+ * The entity manager only resolves the author and publisher, so no database is involved.
+ * Meant as a regression gate for mapping changes, so run it with -prof gc and compare
+ * both the throughput and gc.alloc.rate.norm, the bytes allocated per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class BookEntityMapperBenchmark {
+  @Param({"10", "100", "1000"})
+  public int chapters;
+
+  @Param({"3", "30"})
+  public int reviewers;
+
+  private static final PublishingHouse publishingHouse = genre -> false;
+  private static final BookFactory factory = new Book.Factory();
+  private TranslationDictionary dictionary;
+  private ChapterContentRepository chapterContents;
+  private BookEntity entity;
+  private Book book;
+  private EntityManager entityManager;
+  private BookEntityMappingImpl mapping;
+
+  @Setup
+  public void setup() {
+    var author = new AuthorEntity();
+    author.setId(UUID.randomUUID());
+    author.setFirstName("Anna");
+    author.setLastName("Nowak");
+
+    var publisher = new PublisherEntity();
+    publisher.setId(UUID.randomUUID());
+    publisher.setName("Publisher");
+
+    entity = new BookEntity();
+    entity.setId(UUID.randomUUID());
+    entity.setCurrentState(BookEntity.State.Editing);
+    entity.setTitle("Title");
+    entity.setAuthor(author);
+    entity.setPublisher(publisher);
+    entity.setEdition(1);
+    entity.setGenre("Fantasy");
+    entity.setIsbn("978-3-16-148410-0");
+    entity.setTotalPages(300);
+    entity.setNumberOfIllustrations(12);
+    entity.setBindingType("Hardcover");
+    entity.setSummary("Summary");
+    entity.setCommitteeApproval(new CommitteeApprovalVO(true, "approved"));
+
+    for (var i = 1; i <= chapters; i++) {
+      entity.getChapters().add(new ChapterEntity(entity.getId(), i, "chapter " + i, "content of chapter " + i));
+    }
+    for (var i = 1; i <= reviewers; i++) {
+      entity.getReviewers().add(new ReviewerEntity(entity.getId(), UUID.randomUUID(), "reviewer " + i));
+    }
+    var languages = new ArrayList<LanguageEntity>();
+    var translators = new ArrayList<TranslatorEntity>();
+    for (var i = 1; i <= 5; i++) {
+      var language = new LanguageEntity();
+      language.setId(UUID.randomUUID());
+      language.setName("language " + i);
+      var translator = new TranslatorEntity();
+      translator.setId(UUID.randomUUID());
+      translator.setName("translator " + i);
+
+      var translation = new TranslationVO(language.getId(), translator.getId());
+      translation.setLanguage(language);
+      translation.setTranslator(translator);
+      entity.getTranslations().add(translation);
+      languages.add(language);
+      translators.add(translator);
+    }
+    dictionary = new TranslationDictionary(() -> languages, () -> translators);
+    dictionary.refresh();
+    chapterContents = new InMemoryChapterContents(entity.getChapters());
+    for (var formatType : new String[]{"Hardcover", "Paperback", "E-book"}) {
+      entity.getFormats().add(new FormatEntity(entity.getId(), formatType, 1000, 1));
+    }
+
+    var found = Map.of(AuthorEntity.class, author, PublisherEntity.class, publisher);
+    entityManager = (EntityManager) Proxy.newProxyInstance(
+      EntityManager.class.getClassLoader(),
+      new Class<?>[]{EntityManager.class},
+      (proxy, method, args) -> {
+        if (!method.getName().equals("find") && !method.getName().equals("getReference"))
+          throw new UnsupportedOperationException(method.getName());
+
+        return found.get(args[0]);
+      }
+    );
+
+    mapping = new BookEntityMappingImpl(
+      factory, publishingHouse, dictionary, chapterContents, entityManager, BookSlice.WHOLE
+    );
+    book = mapping.toAggregate(entity);
+  }
+
+  @Benchmark
+  public Book toAggregate() {
+    return mapping.toAggregate(entity);
+  }
+
+  @Benchmark
+  public BookEntity toNewEntity() {
+    return mapping.toEntity(book, new BookEntity());
+  }
+
+  @Benchmark
+  public BookEntity roundTrip() {
+    var aggregate = mapping.toAggregate(entity);
+    return mapping.toEntity(aggregate, entity);
+  }
+
+  /**
+   * Serves chapter content from the detached entities, as the mapper loads it only when accessed.
+   */
+  private record InMemoryChapterContents(List<ChapterEntity> chapters) implements ChapterContentRepository {
+    @Override
+    public boolean read(BookId bookId, ChapterNumber chapterNumber, Writer output) {
+      try {
+        output.write(chapters.get(chapterNumber.value() - 1).getContent());
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return true;
+    }
+
+    @Override
+    public boolean write(BookId bookId, ChapterNumber chapterNumber, Reader input) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void append(BookId bookId, List<Chapter> chapters) {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package io.eventdriven.slimdownaggregates.original.persistence.core.outbox.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.*;
+import io.eventdriven.slimdownaggregates.original.domain.books.events.BookPublishedEvent;
+import io.eventdriven.slimdownaggregates.original.domain.books.events.ChapterAddedEvent;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the JSON and Smile outbox payloads. Payload sizes are reported as the payloadBytes secondary result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventSerializerBenchmark {
+  @Param({"100", "10000"})
+  public int contentLength;
+
+  private EventSerializer json;
+  private EventSerializer smile;
+  private ChapterAddedEvent chapterAdded;
+  private BookPublishedEvent bookPublished;
+
+  @Setup
+  public void setup() {
+    json = JacksonEventSerializer.json(new ObjectMapper());
+    smile = JacksonEventSerializer.smile();
+
+    var bookId = new BookId(UUID.randomUUID());
+    chapterAdded = new ChapterAddedEvent(
+      bookId,
+      new Chapter(
+        new ChapterNumber(1),
+        new ChapterTitle("Chapter 1"),
+        new ChapterContent("a".repeat(contentLength))
+      )
+    );
+    bookPublished = new BookPublishedEvent(
+      bookId,
+      new ISBN("978-3-16-148410-0"),
+      new Title("Slim down your aggregates"),
+      new Author(new AuthorId(UUID.randomUUID()), new AuthorFirstName("Oskar"), new AuthorLastName("Dudycz"))
+    );
+  }
+
+  /**
+   * Holds the size of the last payload. Event counters are reported as they are at the end
+   * of the iteration, and every payload of a benchmark has the same size.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class PayloadSize {
+    public long payloadBytes;
+
+    byte[] record(byte[] payload) {
+      payloadBytes = payload.length;
+      return payload;
+    }
+  }
+
+  @Benchmark
+  public byte[] jsonChapterAdded(PayloadSize size) {
+    return size.record(json.serialize(chapterAdded));
+  }
+
+  @Benchmark
+  public byte[] smileChapterAdded(PayloadSize size) {
+    return size.record(smile.serialize(chapterAdded));
+  }
+
+  @Benchmark
+  public byte[] jsonBookPublished(PayloadSize size) {
+    return size.record(json.serialize(bookPublished));
+  }
+
+  @Benchmark
+  public byte[] smileBookPublished(PayloadSize size) {
+    return size.record(smile.serialize(bookPublished));
+  }
+}
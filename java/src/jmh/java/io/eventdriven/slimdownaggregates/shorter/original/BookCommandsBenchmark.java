@@ -0,0 +1,173 @@
+package io.eventdriven.slimdownaggregates.shorter.original;
+
+import io.eventdriven.slimdownaggregates.shorter.original.entities.*;
+import io.eventdriven.slimdownaggregates.shorter.original.services.PublishingHouse;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Command methods of the shorter mutable book across book sizes.
+ * The book can only be built through its commands, so a pool of fresh books is driven to the
+ * needed state before each invocation, which runs the command once on every book of the pool.
+ * Timing a whole pool keeps the timer overhead and the setup out of the per command result.
+ * Run with -prof gc to see the allocation per command.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class BookCommandsBenchmark {
+  private static final int POOL_SIZE = 100;
+
+  private static final PublishingHouse publishingHouse = genre -> true;
+
+  @State(Scope.Thread)
+  public static class Writing {
+    @Param({"10", "100", "1000"})
+    public int chapters;
+
+    private ChapterTitle nextTitle;
+    private final Book[] books = new Book[POOL_SIZE];
+
+    @Setup(Level.Trial)
+    public void prepare() {
+      nextTitle = new ChapterTitle("chapter " + (chapters + 1));
+    }
+
+    @Setup(Level.Invocation)
+    public void setup() {
+      for (var i = 0; i < POOL_SIZE; i++) {
+        books[i] = book(List.of(), chapters);
+      }
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Editing {
+    @Param({"2", "20"})
+    public int formats;
+
+    @Param({"3", "30"})
+    public int reviewers;
+
+    private List<Reviewer> existingReviewers;
+    private Format newFormat;
+    private Format lastFormat;
+    private CommitteeApproval approval;
+
+    private final Book[] books = new Book[POOL_SIZE];
+    private final Book[] approved = new Book[POOL_SIZE];
+    private final Book[] published = new Book[POOL_SIZE];
+
+    @Setup(Level.Trial)
+    public void prepare() {
+      existingReviewers = new ArrayList<>(reviewers);
+      for (var i = 1; i <= reviewers; i++) {
+        existingReviewers.add(new Reviewer("reviewer " + i));
+      }
+      newFormat = format("format " + (formats + 1));
+      lastFormat = format("format " + formats);
+      approval = new CommitteeApproval(true, "approved");
+    }
+
+    @Setup(Level.Invocation)
+    public void setup() {
+      for (var i = 0; i < POOL_SIZE; i++) {
+        books[i] = inEditing();
+
+        approved[i] = inEditing();
+        approved[i].approve(approval);
+
+        published[i] = inEditing();
+        for (var j = 1; j <= 5; j++) {
+          published[i].addTranslation(new Translation(new Language("language " + j), new Translator("translator " + j)));
+        }
+        published[i].approve(approval);
+        published[i].moveToPrinting();
+        published[i].moveToPublished();
+      }
+    }
+
+    private Book inEditing() {
+      var book = book(existingReviewers, 1);
+      book.moveToEditing();
+      for (var i = 1; i <= formats; i++) {
+        book.addFormat(format("format " + i));
+      }
+      return book;
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(POOL_SIZE)
+  public void addChapter(Writing writing, Blackhole blackhole) {
+    for (var book : writing.books) {
+      book.addChapter(writing.nextTitle, new ChapterContent("content"));
+      blackhole.consume(book);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(POOL_SIZE)
+  public void addFormat(Editing editing, Blackhole blackhole) {
+    for (var book : editing.books) {
+      book.addFormat(editing.newFormat);
+      blackhole.consume(book);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(POOL_SIZE)
+  public void removeFormat(Editing editing, Blackhole blackhole) {
+    for (var book : editing.books) {
+      book.removeFormat(editing.lastFormat);
+      blackhole.consume(book);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(POOL_SIZE)
+  public void moveToPrinting(Editing editing, Blackhole blackhole) {
+    for (var book : editing.approved) {
+      book.moveToPrinting();
+      blackhole.consume(book);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(POOL_SIZE)
+  public void moveToOutOfPrint(Editing editing, Blackhole blackhole) {
+    for (var book : editing.published) {
+      book.moveToOutOfPrint();
+      blackhole.consume(book);
+    }
+  }
+
+  private static Book book(List<Reviewer> reviewers, int chapters) {
+    var book = new Book(
+      new BookId(UUID.randomUUID()),
+      new Title("Title"),
+      new Author("Author"),
+      new Genre("Fantasy"),
+      reviewers,
+      publishingHouse,
+      new Publisher("Publisher"),
+      new ISBN("978-3-16-148410-0"),
+      null, 1, 0, 0, null, null
+    );
+    for (var i = 1; i <= chapters; i++) {
+      book.addChapter(new ChapterTitle("chapter " + i), new ChapterContent("content"));
+    }
+    return book;
+  }
+
+  private static Format format(String formatType) {
+    return new Format(formatType, 1000, 1);
+  }
+}
@@ -0,0 +1,47 @@
+package io.eventdriven.slimdownaggregates.shorter.slimmed;
+
+import io.eventdriven.slimdownaggregates.shorter.slimmed.entities.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static io.eventdriven.slimdownaggregates.shorter.slimmed.BookService.BookCommand.AddChapter;
+
+/**
+ * Deciding on adding the next chapter to a book that already has thousands of them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class AddChapterBenchmark {
+  @Param({"5000"})
+  public int chapters;
+
+  private Book state;
+  private AddChapter command;
+
+  @Setup
+  public void setup() {
+    var bookId = new BookId(UUID.randomUUID());
+
+    state = Book.evolve(new Book.Initial(), new BookEvent.WritingStarted(
+      bookId, new Genre("Fantasy"), new Title("Title"), new Author("Author"), new ISBN("978-3-16-148410-0")
+    ));
+    for (var i = 1; i <= chapters; i++) {
+      state = Book.evolve(state, new BookEvent.ChapterAdded(
+        bookId, new Chapter(new ChapterTitle("chapter " + i), new ChapterContent("content"))
+      ));
+    }
+
+    command = new AddChapter(bookId, new ChapterTitle("chapter " + (chapters + 1)), new ChapterContent("content"));
+  }
+
+  @Benchmark
+  public BookEvent addChapter() {
+    return BookService.decide(null, command, state);
+  }
+}
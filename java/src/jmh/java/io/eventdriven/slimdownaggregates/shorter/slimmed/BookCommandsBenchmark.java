@@ -0,0 +1,133 @@
+package io.eventdriven.slimdownaggregates.shorter.slimmed;
+
+import io.eventdriven.slimdownaggregates.shorter.slimmed.core.PersistentHashSet;
+import io.eventdriven.slimdownaggregates.shorter.slimmed.core.PersistentVector;
+import io.eventdriven.slimdownaggregates.shorter.slimmed.entities.*;
+import io.eventdriven.slimdownaggregates.shorter.slimmed.services.PublishingHouse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static io.eventdriven.slimdownaggregates.shorter.slimmed.BookService.BookCommand.*;
+
+/**
+ * Deciding on a command and evolving the state with its event, across book sizes.
+ * States are immutable, so they're prepared once and every invocation starts from the same one.
+ * Run with -prof gc to see the allocation per command.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class BookCommandsBenchmark {
+  private static final PublishingHouse publishingHouse = genre -> true;
+
+  @State(Scope.Benchmark)
+  public static class Writing {
+    @Param({"10", "100", "1000"})
+    public int chapters;
+
+    private Book state;
+    private AddChapter addChapter;
+
+    @Setup
+    public void setup() {
+      var bookId = new BookId(UUID.randomUUID());
+      var chapterTitles = PersistentHashSet.<String>empty();
+      for (var i = 1; i <= chapters; i++) {
+        chapterTitles = chapterTitles.with("chapter " + i);
+      }
+
+      state = new Book.InWriting(
+        bookId, new Genre("Fantasy"), new Title("Title"), new Author("Author"), new ISBN("978-3-16-148410-0"),
+        chapterTitles, "chapter " + chapters
+      );
+      addChapter = new AddChapter(bookId, new ChapterTitle("chapter " + (chapters + 1)), new ChapterContent("content"));
+    }
+  }
+
+  @State(Scope.Benchmark)
+  public static class Editing {
+    @Param({"2", "20"})
+    public int formats;
+
+    @Param({"3", "30"})
+    public int reviewers;
+
+    private Book state;
+    private Book approved;
+    private Book published;
+    private AddFormat addFormat;
+    private RemoveFormat removeFormat;
+    private Print print;
+    private MoveToOutOfPrint moveToOutOfPrint;
+    private RecordCopiesSold recordCopiesSold;
+
+    @Setup
+    public void setup() {
+      var bookId = new BookId(UUID.randomUUID());
+      var existingFormats = PersistentVector.<Format>empty();
+      for (var i = 1; i <= formats; i++) {
+        existingFormats = existingFormats.append(format("format " + i));
+      }
+      long totalCopies = 1000L * formats;
+      long soldCopies = formats;
+
+      state = new Book.InEditing(
+        bookId, new Genre("Fantasy"), new Title("Title"), new Author("Author"), new ISBN("978-3-16-148410-0"),
+        existingFormats, totalCopies, soldCopies, 0, reviewers, false
+      );
+      approved = new Book.InEditing(
+        bookId, new Genre("Fantasy"), new Title("Title"), new Author("Author"), new ISBN("978-3-16-148410-0"),
+        existingFormats, totalCopies, soldCopies, 5, reviewers, true
+      );
+      published = new Book.InPublishing(bookId, existingFormats, totalCopies, soldCopies);
+
+      addFormat = new AddFormat(bookId, format("format " + (formats + 1)));
+      removeFormat = new RemoveFormat(bookId, format("format " + formats));
+      print = new Print(bookId);
+      moveToOutOfPrint = new MoveToOutOfPrint(bookId);
+      recordCopiesSold = new RecordCopiesSold(bookId, "format " + formats, 1);
+    }
+  }
+
+  @Benchmark
+  public Book addChapter(Writing writing) {
+    return handle(writing.addChapter, writing.state);
+  }
+
+  @Benchmark
+  public Book addFormat(Editing editing) {
+    return handle(editing.addFormat, editing.state);
+  }
+
+  @Benchmark
+  public Book removeFormat(Editing editing) {
+    return handle(editing.removeFormat, editing.state);
+  }
+
+  @Benchmark
+  public Book moveToPrinting(Editing editing) {
+    return handle(editing.print, editing.approved);
+  }
+
+  @Benchmark
+  public Book moveToOutOfPrint(Editing editing) {
+    return handle(editing.moveToOutOfPrint, editing.published);
+  }
+
+  @Benchmark
+  public Book recordCopiesSold(Editing editing) {
+    return handle(editing.recordCopiesSold, editing.published);
+  }
+
+  private static Book handle(BookService.BookCommand command, Book state) {
+    return Book.evolve(state, BookService.decide(publishingHouse, command, state));
+  }
+
+  private static Format format(String formatType) {
+    return new Format(formatType, 1000, 1);
+  }
+}
@@ -0,0 +1,52 @@
+package io.eventdriven.slimdownaggregates.shorter.slimmed;
+
+import io.eventdriven.slimdownaggregates.shorter.slimmed.core.InMemoryEventStore;
+import io.eventdriven.slimdownaggregates.shorter.slimmed.core.InMemorySnapshotStore;
+import io.eventdriven.slimdownaggregates.shorter.slimmed.core.SnapshotPolicy;
+import io.eventdriven.slimdownaggregates.shorter.slimmed.entities.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load time of a book in writing by the length of its stream, with and without snapshots.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class BookLoadBenchmark {
+  @Param({"10", "100", "1000"})
+  public int chapters;
+
+  @Param({"0", "100"})
+  public int snapshotEvery;
+
+  private BookRepository repository;
+  private BookId bookId;
+
+  @Setup
+  public void setup() {
+    var policy = snapshotEvery > 0 ? SnapshotPolicy.everyEvents(snapshotEvery) : SnapshotPolicy.never();
+    repository = new EventStoreBookRepository(new InMemoryEventStore<>(), new InMemorySnapshotStore<>(), policy);
+    bookId = new BookId(UUID.randomUUID());
+
+    repository.save(new BookEvent.WritingStarted(
+      bookId, new Genre("Fantasy"), new Title("Title"), new Author("Author"), new ISBN("978-3-16-148410-0")
+    ));
+    for (var i = 0; i < chapters; i++) {
+      repository.save(new BookEvent.ChapterAdded(
+        bookId, new Chapter(new ChapterTitle("chapter " + (i + 1)), new ChapterContent("content"))
+      ));
+    }
+    // Snapshots were taken while appending, so the measured loads read only the tail after the last one
+  }
+
+  @Benchmark
+  public Book find() {
+    return repository.find(bookId);
+  }
+}
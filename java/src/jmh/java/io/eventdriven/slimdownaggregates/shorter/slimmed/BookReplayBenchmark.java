@@ -0,0 +1,67 @@
+package io.eventdriven.slimdownaggregates.shorter.slimmed;
+
+import io.eventdriven.slimdownaggregates.shorter.slimmed.entities.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a stream of 10k events through Book.evolve.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class BookReplayBenchmark {
+  @Param({"10000"})
+  public int events;
+
+  private List<BookEvent> chapterEvents;
+  private List<BookEvent> formatEvents;
+
+  @Setup
+  public void setup() {
+    var bookId = new BookId(UUID.randomUUID());
+    var writingStarted = new BookEvent.WritingStarted(
+      bookId, new Genre("Fantasy"), new Title("Title"), new Author("Author"), new ISBN("978-3-16-148410-0")
+    );
+
+    chapterEvents = new ArrayList<>();
+    chapterEvents.add(writingStarted);
+    for (var i = 0; i < events; i++) {
+      chapterEvents.add(new BookEvent.ChapterAdded(
+        bookId, new Chapter(new ChapterTitle("chapter " + (i + 1)), new ChapterContent("content"))
+      ));
+    }
+
+    formatEvents = new ArrayList<>();
+    formatEvents.add(writingStarted);
+    formatEvents.add(new BookEvent.MovedToEditing(bookId));
+    for (var i = 0; i < events; i++) {
+      formatEvents.add(new BookEvent.FormatAdded(bookId, new Format("format " + i, 100, 0)));
+    }
+  }
+
+  @Benchmark
+  public Book replayChapters() {
+    return replay(chapterEvents);
+  }
+
+  @Benchmark
+  public Book replayFormats() {
+    return replay(formatEvents);
+  }
+
+  private static Book replay(List<BookEvent> events) {
+    Book state = new Book.Initial();
+    for (var event : events) {
+      state = Book.evolve(state, event);
+    }
+    return state;
+  }
+}
@@ -4,33 +4,69 @@ import io.eventdriven.slimdownaggregates.original.application.books.BooksQuerySe
 import io.eventdriven.slimdownaggregates.original.application.books.BooksQueryServiceImpl;
 import io.eventdriven.slimdownaggregates.original.application.books.BooksService;
 import io.eventdriven.slimdownaggregates.original.application.books.BooksServiceImpl;
+import io.eventdriven.slimdownaggregates.original.application.books.SoldCopiesIngestion;
 import io.eventdriven.slimdownaggregates.original.domain.books.Book;
 import io.eventdriven.slimdownaggregates.original.domain.books.authors.AuthorProvider;
 import io.eventdriven.slimdownaggregates.original.domain.books.entities.*;
+import io.eventdriven.slimdownaggregates.original.domain.books.events.BookMovedToEditingEvent;
+import io.eventdriven.slimdownaggregates.original.domain.books.events.BookPublishedEvent;
+import io.eventdriven.slimdownaggregates.original.domain.books.events.ChapterAddedEvent;
+import io.eventdriven.slimdownaggregates.original.domain.books.events.CopiesSoldEvent;
 import io.eventdriven.slimdownaggregates.original.domain.books.factories.BookFactory;
 import io.eventdriven.slimdownaggregates.original.domain.books.publishers.PublisherProvider;
 import io.eventdriven.slimdownaggregates.original.domain.books.repositories.BooksQueryRepository;
 import io.eventdriven.slimdownaggregates.original.domain.books.repositories.BooksRepository;
+import io.eventdriven.slimdownaggregates.original.domain.books.repositories.ChapterContentRepository;
+import io.eventdriven.slimdownaggregates.original.domain.books.repositories.SoldCopiesRepository;
 import io.eventdriven.slimdownaggregates.original.domain.books.services.PublishingHouse;
 import io.eventdriven.slimdownaggregates.original.persistence.authors.AuthorEntity;
 import io.eventdriven.slimdownaggregates.original.persistence.authors.AuthorRepository;
 import io.eventdriven.slimdownaggregates.original.persistence.authors.AuthorService;
 import io.eventdriven.slimdownaggregates.original.persistence.books.BookEntity;
+import io.eventdriven.slimdownaggregates.original.persistence.books.details.BookDetailsCache;
+import io.eventdriven.slimdownaggregates.original.persistence.books.details.BookDetailsEntity;
+import io.eventdriven.slimdownaggregates.original.persistence.books.details.BookDetailsJpaRepository;
+import io.eventdriven.slimdownaggregates.original.persistence.books.repositories.BookDetailsRepository;
 import io.eventdriven.slimdownaggregates.original.persistence.books.repositories.BooksEntityRepository;
 import io.eventdriven.slimdownaggregates.original.persistence.books.repositories.BooksJpaRepository;
+import io.eventdriven.slimdownaggregates.original.persistence.books.repositories.ChapterContentJdbcRepository;
+import io.eventdriven.slimdownaggregates.original.persistence.books.repositories.SoldCopiesJdbcRepository;
+import io.eventdriven.slimdownaggregates.original.persistence.core.outbox.*;
+import io.eventdriven.slimdownaggregates.original.persistence.core.outbox.serialization.EventSerializer;
+import io.eventdriven.slimdownaggregates.original.persistence.core.outbox.serialization.EventTypeRegistry;
+import io.eventdriven.slimdownaggregates.original.persistence.core.outbox.serialization.JacksonEventSerializer;
+import io.eventdriven.slimdownaggregates.original.persistence.languages.LanguageEntity;
+import io.eventdriven.slimdownaggregates.original.persistence.languages.LanguageRepository;
+import io.eventdriven.slimdownaggregates.original.persistence.publishers.PublisherCache;
 import io.eventdriven.slimdownaggregates.original.persistence.publishers.PublisherEntity;
 import io.eventdriven.slimdownaggregates.original.persistence.publishers.PublisherRepository;
 import io.eventdriven.slimdownaggregates.original.persistence.publishers.PublisherService;
+import io.eventdriven.slimdownaggregates.original.persistence.translations.TranslationDictionary;
+import io.eventdriven.slimdownaggregates.original.persistence.translators.TranslatorEntity;
+import io.eventdriven.slimdownaggregates.original.persistence.translators.TranslatorRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.jpa.repository.support.JpaRepositoryFactoryBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Optional;
 import java.util.UUID;
 
 @Configuration
+@EnableScheduling
+// Entities live outside of the application package, which is scanned by default
+@EntityScan("io.eventdriven.slimdownaggregates.original.persistence")
 public class Config {
 
   @Bean
@@ -38,26 +74,49 @@ public class Config {
     BooksRepository repository,
     AuthorProvider authorProvider,
     PublisherProvider publisherProvider,
-    PublishingHouse publishingHouse
+    PublishingHouse publishingHouse,
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize
   ) {
     return new BooksServiceImpl(
       repository,
       authorProvider,
       publisherProvider,
-      publishingHouse
+      publishingHouse,
+      batchSize
     );
   }
 
   @Bean
   BooksQueryService booksQueryService(
-    BooksQueryRepository repository
+    BooksQueryRepository repository,
+    ChapterContentRepository chapterContentRepository
   ) {
-    return new BooksQueryServiceImpl(repository);
+    return new BooksQueryServiceImpl(repository, chapterContentRepository);
   }
 
   @Bean
-  BooksRepository booksRepository(BooksJpaRepository jpaRepository, BookFactory bookFactory) {
-    return new BooksEntityRepository(jpaRepository, bookFactory);
+  BooksRepository booksRepository(
+    BooksJpaRepository jpaRepository,
+    BookFactory bookFactory,
+    PublishingHouse publishingHouse,
+    BookDetailsRepository bookDetailsRepository,
+    TranslationDictionary translationDictionary,
+    ChapterContentRepository chapterContentRepository,
+    Outbox outbox,
+    ApplicationEventPublisher eventPublisher,
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize
+  ) {
+    return new BooksEntityRepository(
+      jpaRepository,
+      bookFactory,
+      publishingHouse,
+      bookDetailsRepository,
+      translationDictionary,
+      chapterContentRepository,
+      outbox,
+      eventPublisher,
+      batchSize
+    );
   }
 
   @Bean
@@ -66,19 +125,49 @@ public class Config {
     return new JpaRepositoryFactoryBean<>(BooksJpaRepository.class);
   }
 
+  @Bean
+  ChapterContentRepository chapterContentRepository(JdbcTemplate jdbcTemplate) {
+    return new ChapterContentJdbcRepository(jdbcTemplate);
+  }
+
   @Bean
   BookFactory bookFactory() {
     return new Book.Factory();
   }
 
   @Bean
-  BooksQueryRepository booksQueryRepository() {
-    return bookId -> Optional.empty();
+  BookDetailsRepository bookDetailsRepository(
+    BookDetailsJpaRepository jpaRepository,
+    JdbcTemplate jdbcTemplate,
+    ObjectMapper objectMapper,
+    ApplicationEventPublisher eventPublisher
+  ) {
+    return new BookDetailsRepository(jpaRepository, jdbcTemplate, objectMapper, eventPublisher);
   }
 
   @Bean
-  AuthorProvider authorProvider(AuthorRepository authorRepository) {
-    return new AuthorService(authorRepository);
+  @Primary
+  BookDetailsCache booksQueryRepository(
+    BookDetailsRepository bookDetailsRepository,
+    @Value("${books.details.cache.maximum-size:10000}") long maximumSize,
+    @Value("${books.details.cache.time-to-live:PT10M}") Duration timeToLive,
+    MeterRegistry meterRegistry
+  ) {
+    return new BookDetailsCache(bookDetailsRepository, maximumSize, timeToLive, meterRegistry);
+  }
+
+  @Bean
+  public JpaRepositoryFactoryBean<BookDetailsJpaRepository, BookDetailsEntity, UUID> bookDetailsJpaRepository() {
+    return new JpaRepositoryFactoryBean<>(BookDetailsJpaRepository.class);
+  }
+
+  @Bean
+  AuthorProvider authorProvider(
+    AuthorRepository authorRepository,
+    JdbcTemplate jdbcTemplate,
+    @Value("${authors.creation.wait-timeout:PT5S}") Duration waitTimeout
+  ) {
+    return new AuthorService(authorRepository, jdbcTemplate, waitTimeout);
   }
 
   @Bean
@@ -88,16 +177,116 @@ public class Config {
   }
 
   @Bean
-  PublisherProvider publisherProvider(PublisherRepository publisherRepository) {
+  PublisherService publisherService(PublisherRepository publisherRepository) {
     return new PublisherService(publisherRepository);
   }
 
+  @Bean
+  @Primary
+  PublisherCache publisherProvider(
+    PublisherService publisherService,
+    @Value("${publishers.cache.maximum-size:1000}") int maximumSize,
+    @Value("${publishers.cache.time-to-live:PT1H}") Duration timeToLive,
+    @Value("${publishers.cache.preload:false}") boolean preload,
+    MeterRegistry meterRegistry
+  ) {
+    return new PublisherCache(publisherService, maximumSize, timeToLive, preload, meterRegistry);
+  }
+
   @Bean
   // assuming userId is String
   public JpaRepositoryFactoryBean<PublisherRepository, PublisherEntity, UUID> publisherRepository() {
     return new JpaRepositoryFactoryBean<>(PublisherRepository.class);
   }
 
+  @Bean
+  TranslationDictionary translationDictionary(
+    LanguageRepository languageRepository,
+    TranslatorRepository translatorRepository
+  ) {
+    return new TranslationDictionary(languageRepository::findAll, translatorRepository::findAll);
+  }
+
+  @Bean
+  public JpaRepositoryFactoryBean<LanguageRepository, LanguageEntity, UUID> languageRepository() {
+    return new JpaRepositoryFactoryBean<>(LanguageRepository.class);
+  }
+
+  @Bean
+  public JpaRepositoryFactoryBean<TranslatorRepository, TranslatorEntity, UUID> translatorRepository() {
+    return new JpaRepositoryFactoryBean<>(TranslatorRepository.class);
+  }
+
+  @Bean
+  Outbox outbox(
+    OutboxMessageRepository outboxMessageRepository,
+    EventSerializer eventSerializer,
+    EventTypeRegistry eventTypeRegistry
+  ) {
+    return new Outbox(outboxMessageRepository, eventSerializer, eventTypeRegistry);
+  }
+
+  @Bean
+  EventSerializer eventSerializer() {
+    return JacksonEventSerializer.smile();
+  }
+
+  @Bean
+  EventTypeRegistry eventTypeRegistry() {
+    return new EventTypeRegistry()
+      .register(ChapterAddedEvent.class, "book.chapter-added")
+      .register(BookMovedToEditingEvent.class, "book.moved-to-editing")
+      .register(BookPublishedEvent.class, "book.published")
+      .register(CopiesSoldEvent.class, "book.copies-sold");
+  }
+
+  @Bean
+  public JpaRepositoryFactoryBean<OutboxMessageRepository, OutboxMessageEntity, Long> outboxMessageRepository() {
+    return new JpaRepositoryFactoryBean<>(OutboxMessageRepository.class);
+  }
+
+  @Bean
+  OutboxSink outboxSink() {
+    return new LoggingOutboxSink();
+  }
+
+  @Bean
+  SoldCopiesRepository soldCopiesRepository(
+    JdbcTemplate jdbcTemplate,
+    PlatformTransactionManager transactionManager,
+    Outbox outbox,
+    ApplicationEventPublisher eventPublisher
+  ) {
+    return new SoldCopiesJdbcRepository(jdbcTemplate, new TransactionTemplate(transactionManager), outbox, eventPublisher);
+  }
+
+  @Bean
+  SoldCopiesIngestion soldCopiesIngestion(
+    SoldCopiesRepository soldCopiesRepository,
+    @Value("${books.sales.max-pending:10000}") int maxPending,
+    @Value("${books.sales.offer-timeout:PT0.1S}") Duration offerTimeout,
+    MeterRegistry meterRegistry
+  ) {
+    return new SoldCopiesIngestion(soldCopiesRepository, maxPending, offerTimeout, meterRegistry);
+  }
+
+  @Bean
+  OutboxRelay outboxRelay(
+    JdbcTemplate jdbcTemplate,
+    PlatformTransactionManager transactionManager,
+    OutboxSink outboxSink,
+    @Value("${outbox.relay.batch-size:100}") int batchSize,
+    MeterRegistry meterRegistry
+  ) {
+    return new OutboxRelay(
+      jdbcTemplate,
+      new TransactionTemplate(transactionManager),
+      outboxSink,
+      batchSize,
+      meterRegistry
+    );
+  }
+
   @Bean
   PublishingHouse publishingHouse() {
     return genre -> false;
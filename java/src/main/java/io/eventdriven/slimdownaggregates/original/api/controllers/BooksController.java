@@ -1,20 +1,37 @@
 package io.eventdriven.slimdownaggregates.original.api.controllers;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import io.eventdriven.slimdownaggregates.original.api.requests.AddChapterRequest;
 import io.eventdriven.slimdownaggregates.original.api.requests.CreateDraftRequest;
+import io.eventdriven.slimdownaggregates.original.api.requests.RecordSaleRequest;
 import io.eventdriven.slimdownaggregates.original.application.books.BooksQueryService;
 import io.eventdriven.slimdownaggregates.original.application.books.BooksService;
+import io.eventdriven.slimdownaggregates.original.application.books.SoldCopiesIngestion;
 import io.eventdriven.slimdownaggregates.original.application.books.commands.AddChapterCommand;
+import io.eventdriven.slimdownaggregates.original.application.books.commands.AddChaptersCommand;
+import io.eventdriven.slimdownaggregates.original.application.books.commands.AddChaptersCommand.NewChapter;
 import io.eventdriven.slimdownaggregates.original.application.books.commands.CreateDraftCommand;
 import io.eventdriven.slimdownaggregates.original.application.books.commands.MoveToEditingCommand;
+import io.eventdriven.slimdownaggregates.original.application.books.commands.RecordCopiesSoldCommand;
 import io.eventdriven.slimdownaggregates.original.domain.books.authors.AuthorIdOrData;
 import io.eventdriven.slimdownaggregates.original.domain.books.entities.*;
 import io.eventdriven.slimdownaggregates.original.infrastructure.valueobjects.PositiveInt;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -23,38 +40,51 @@ public class BooksController {
 
   private final BooksService booksService;
   private final BooksQueryService booksQueryService;
-
-  public BooksController(BooksService booksService, BooksQueryService booksQueryService) {
+  private final SoldCopiesIngestion soldCopiesIngestion;
+  private final ObjectReader chapterReader;
+
+  public BooksController(
+    BooksService booksService,
+    BooksQueryService booksQueryService,
+    SoldCopiesIngestion soldCopiesIngestion,
+    ObjectMapper objectMapper
+  ) {
     this.booksService = booksService;
     this.booksQueryService = booksQueryService;
+    this.soldCopiesIngestion = soldCopiesIngestion;
+    this.chapterReader = objectMapper.readerFor(AddChapterRequest.class);
   }
 
   @PostMapping
   public ResponseEntity<UUID> createDraft(@RequestBody CreateDraftRequest request) throws URISyntaxException {
     var bookId = UUID.randomUUID();
 
-    var author = request.author();
-
-    booksService.createDraft(
-      new CreateDraftCommand(
-        new BookId(bookId),
-        new Title(request.title()),
-        new AuthorIdOrData(
-          author.authorId() != null ? new AuthorId(author.authorId()) : null,
-          author.firstName() != null ? new AuthorFirstName(author.firstName()) : null,
-          author.lastName() != null ? new AuthorLastName(author.lastName()) : null
-        ),
-        new PublisherId(request.publisherId()),
-        new PositiveInt(request.edition()),
-        request.genre() != null ? new Genre(request.genre()) : null
-      )
-    );
+    booksService.createDraft(toCommand(bookId, request));
 
     return ResponseEntity
       .created(new URI("api/books/%s".formatted(bookId)))
       .build();
   }
 
+  /**
+   * Creates drafts for the whole list in one transaction, returning their ids in the same order.
+   * Every request is validated before anything is stored.
+   */
+  @PostMapping("/bulk")
+  public ResponseEntity<List<UUID>> createDrafts(@RequestBody List<CreateDraftRequest> requests) {
+    var bookIds = new ArrayList<UUID>(requests.size());
+    var commands = new ArrayList<CreateDraftCommand>(requests.size());
+    for (var request : requests) {
+      var bookId = UUID.randomUUID();
+      bookIds.add(bookId);
+      commands.add(toCommand(bookId, request));
+    }
+
+    booksService.createDrafts(commands);
+
+    return ResponseEntity.status(HttpStatus.CREATED).body(bookIds);
+  }
+
   @PostMapping("/{id}/chapters")
   public ResponseEntity<Void> addChapter(@PathVariable UUID id, @RequestBody AddChapterRequest request) {
     booksService.addChapter(
@@ -68,6 +98,36 @@ public class BooksController {
     return ResponseEntity.noContent().build();
   }
 
+  /**
+   * Adds chapters sent as newline-delimited JSON, one AddChapterRequest per line.
+   * Lines are parsed while they're added, so the body is never held in memory as a whole.
+   * Either all chapters are added or none.
+   */
+  @PostMapping(value = "/{id}/chapters", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<Void> addChapters(@PathVariable UUID id, HttpServletRequest request) throws IOException {
+    try (MappingIterator<AddChapterRequest> requests = chapterReader.readValues(request.getInputStream())) {
+      var chapters = new Iterator<NewChapter>() {
+        @Override
+        public boolean hasNext() {
+          return requests.hasNext();
+        }
+
+        @Override
+        public NewChapter next() {
+          var chapter = requests.next();
+          return new NewChapter(
+            new ChapterTitle(chapter.title()),
+            chapter.content() != null ? new ChapterContent(chapter.content()) : ChapterContent.empty
+          );
+        }
+      };
+
+      booksService.addChapters(new AddChaptersCommand(new BookId(id), chapters));
+    }
+
+    return ResponseEntity.noContent().build();
+  }
+
   @PostMapping("/{id}/move-to-editing")
   public ResponseEntity<Void> moveToEditing(@PathVariable UUID id) {
     booksService.moveToEditing(
@@ -77,6 +137,47 @@ public class BooksController {
     return ResponseEntity.noContent().build();
   }
 
+  @PostMapping("/{id}/formats/{formatType}/sales")
+  public ResponseEntity<Void> recordSale(
+    @PathVariable UUID id,
+    @PathVariable String formatType,
+    @RequestBody RecordSaleRequest request
+  ) {
+    var accepted = soldCopiesIngestion.offer(
+      new RecordCopiesSoldCommand(
+        new BookId(id),
+        new FormatType(formatType),
+        new PositiveInt(request.copies())
+      )
+    );
+
+    if (!accepted)
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .build();
+
+    return ResponseEntity.accepted().build();
+  }
+
+  @GetMapping("/{id}/chapters/{number}/content")
+  public void readChapterContent(
+    @PathVariable UUID id,
+    @PathVariable int number,
+    HttpServletResponse response
+  ) throws IOException {
+    response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+    response.setCharacterEncoding("UTF-8");
+
+    var found = booksQueryService.readChapterContent(
+      new BookId(id),
+      new ChapterNumber(number),
+      response.getWriter()
+    );
+
+    if (!found)
+      response.sendError(HttpServletResponse.SC_NOT_FOUND);
+  }
+
   @GetMapping("/{id}")
   public ResponseEntity<?> findDetailsById(@PathVariable UUID id) {
     var result = booksQueryService.findDetailsById(new BookId(id));
@@ -84,5 +185,21 @@ public class BooksController {
     return result.map(ResponseEntity::ok)
       .orElse(ResponseEntity.notFound().build());
   }
-}
 
+  private static CreateDraftCommand toCommand(UUID bookId, CreateDraftRequest request) {
+    var author = request.author();
+
+    return new CreateDraftCommand(
+      new BookId(bookId),
+      new Title(request.title()),
+      new AuthorIdOrData(
+        author.authorId() != null ? new AuthorId(author.authorId()) : null,
+        author.firstName() != null ? new AuthorFirstName(author.firstName()) : null,
+        author.lastName() != null ? new AuthorLastName(author.lastName()) : null
+      ),
+      new PublisherId(request.publisherId()),
+      new PositiveInt(request.edition()),
+      request.genre() != null ? new Genre(request.genre()) : null
+    );
+  }
+}
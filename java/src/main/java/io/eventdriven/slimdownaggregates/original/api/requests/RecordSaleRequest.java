@@ -0,0 +1,5 @@
+package io.eventdriven.slimdownaggregates.original.api.requests;
+
+
+public record RecordSaleRequest(int copies) {
+}
@@ -2,9 +2,13 @@ package io.eventdriven.slimdownaggregates.original.application.books;
 
 import io.eventdriven.slimdownaggregates.original.domain.books.dtos.BookDetails;
 import io.eventdriven.slimdownaggregates.original.domain.books.entities.BookId;
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.ChapterNumber;
 
+import java.io.Writer;
 import java.util.Optional;
 
 public interface BooksQueryService {
   Optional<BookDetails> findDetailsById(BookId bookId);
+
+  boolean readChapterContent(BookId bookId, ChapterNumber chapterNumber, Writer output);
 }
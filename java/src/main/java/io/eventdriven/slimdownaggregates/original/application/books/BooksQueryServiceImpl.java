@@ -2,8 +2,11 @@ package io.eventdriven.slimdownaggregates.original.application.books;
 
 import io.eventdriven.slimdownaggregates.original.domain.books.dtos.BookDetails;
 import io.eventdriven.slimdownaggregates.original.domain.books.entities.BookId;
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.ChapterNumber;
 import io.eventdriven.slimdownaggregates.original.domain.books.repositories.BooksQueryRepository;
+import io.eventdriven.slimdownaggregates.original.domain.books.repositories.ChapterContentRepository;
 
+import java.io.Writer;
 import java.util.Optional;
 
 public class BooksQueryServiceImpl implements BooksQueryService{
@@ -12,9 +15,16 @@ public class BooksQueryServiceImpl implements BooksQueryService{
     return repository.findDetailsById(bookId);
   }
 
-  public BooksQueryServiceImpl(BooksQueryRepository repository) {
+  @Override
+  public boolean readChapterContent(BookId bookId, ChapterNumber chapterNumber, Writer output) {
+    return chapterContentRepository.read(bookId, chapterNumber, output);
+  }
+
+  public BooksQueryServiceImpl(BooksQueryRepository repository, ChapterContentRepository chapterContentRepository) {
     this.repository = repository;
+    this.chapterContentRepository = chapterContentRepository;
   }
 
   private final BooksQueryRepository repository;
+  private final ChapterContentRepository chapterContentRepository;
 }
@@ -2,9 +2,13 @@ package io.eventdriven.slimdownaggregates.original.application.books;
 
 import io.eventdriven.slimdownaggregates.original.application.books.commands.*;
 
+import java.util.List;
+
 public interface BooksService {
   void createDraft(CreateDraftCommand command);
+  void createDrafts(List<CreateDraftCommand> commands);
   void addChapter(AddChapterCommand command);
+  void addChapters(AddChaptersCommand command);
   void moveToEditing(MoveToEditingCommand command);
 
   void addTranslation(AddTranslationCommand command);
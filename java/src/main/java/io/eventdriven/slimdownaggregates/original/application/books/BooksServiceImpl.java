@@ -2,11 +2,21 @@ package io.eventdriven.slimdownaggregates.original.application.books;
 
 import io.eventdriven.slimdownaggregates.original.application.books.commands.*;
 import io.eventdriven.slimdownaggregates.original.domain.books.Book;
+import io.eventdriven.slimdownaggregates.original.domain.books.authors.AuthorIdOrData;
 import io.eventdriven.slimdownaggregates.original.domain.books.authors.AuthorProvider;
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.Publisher;
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.PublisherId;
 import io.eventdriven.slimdownaggregates.original.domain.books.publishers.PublisherProvider;
+import io.eventdriven.slimdownaggregates.original.domain.books.repositories.BookSlice;
 import io.eventdriven.slimdownaggregates.original.domain.books.repositories.BooksRepository;
 import io.eventdriven.slimdownaggregates.original.domain.books.services.PublishingHouse;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+@Transactional
 public class BooksServiceImpl implements BooksService {
   @Override
   public void createDraft(CreateDraftCommand command) {
@@ -23,9 +33,36 @@ public class BooksServiceImpl implements BooksService {
     repository.add(book);
   }
 
+  @Override
+  public void createDrafts(List<CreateDraftCommand> commands) {
+    // Authors are resolved in one batch and each publisher once, instead of per book
+    var authorsData = new ArrayList<AuthorIdOrData>(commands.size());
+    for (var command : commands) {
+      authorsData.add(command.author());
+    }
+    var authors = authorProvider.getOrCreateAll(authorsData);
+    var publishers = new HashMap<PublisherId, Publisher>();
+
+    var books = new ArrayList<Book>(commands.size());
+    for (var i = 0; i < commands.size(); i++) {
+      var command = commands.get(i);
+      books.add(Book.createDraft(
+        command.bookId(),
+        command.title(),
+        authors.get(i),
+        publishingHouse,
+        publishers.computeIfAbsent(command.publisherId(), publisherProvider::getById),
+        command.edition(),
+        command.genre()
+      ));
+    }
+
+    repository.addAll(books);
+  }
+
   @Override
   public void addChapter(AddChapterCommand command) {
-    var book = repository.findById(command.bookId())
+    var book = repository.findById(command.bookId(), BookSlice.CHAPTERS)
       .orElseThrow(() -> new IllegalStateException("Book doesn't exist"));
 
     book.addChapter(command.title(), command.content());
@@ -33,9 +70,29 @@ public class BooksServiceImpl implements BooksService {
     repository.update(book);
   }
 
+  @Override
+  public void addChapters(AddChaptersCommand command) {
+    var book = repository.findById(command.bookId(), BookSlice.CHAPTERS)
+      .orElseThrow(() -> new IllegalStateException("Book doesn't exist"));
+
+    // Chapters are checked in order against the same book and stored in parts of the batch size
+    var added = 0;
+    var chapters = command.chapters();
+    while (chapters.hasNext()) {
+      var chapter = chapters.next();
+      book.addChapter(chapter.title(), chapter.content());
+
+      if (++added % batchSize == 0)
+        repository.appendChapters(book);
+    }
+
+    repository.appendChapters(book);
+    repository.finishAppendingChapters(book);
+  }
+
   @Override
   public void moveToEditing(MoveToEditingCommand command) {
-    var book = repository.findById(command.bookId())
+    var book = repository.findById(command.bookId(), BookSlice.CHAPTERS)
       .orElseThrow(() -> new IllegalStateException("Book doesn't exist"));
 
     book.moveToEditing();
@@ -45,7 +102,7 @@ public class BooksServiceImpl implements BooksService {
 
   @Override
   public void addTranslation(AddTranslationCommand command) {
-    var book = repository.findById(command.bookId())
+    var book = repository.findById(command.bookId(), BookSlice.TRANSLATIONS)
       .orElseThrow(() -> new IllegalStateException("Book doesn't exist"));
 
     book.addTranslation(command.translation());
@@ -55,7 +112,7 @@ public class BooksServiceImpl implements BooksService {
 
   @Override
   public void addFormat(AddFormatCommand command) {
-    var book = repository.findById(command.bookId())
+    var book = repository.findById(command.bookId(), BookSlice.FORMATS)
       .orElseThrow(() -> new IllegalStateException("Book doesn't exist"));
 
     book.addFormat(command.format());
@@ -65,7 +122,7 @@ public class BooksServiceImpl implements BooksService {
 
   @Override
   public void removeFormat(RemoveFormatCommand command) {
-    var book = repository.findById(command.bookId())
+    var book = repository.findById(command.bookId(), BookSlice.FORMATS)
       .orElseThrow(() -> new IllegalStateException("Book doesn't exist"));
 
     book.removeFormat(command.format());
@@ -75,7 +132,7 @@ public class BooksServiceImpl implements BooksService {
 
   @Override
   public void addReviewer(AddReviewerCommand command) {
-    var book = repository.findById(command.bookId())
+    var book = repository.findById(command.bookId(), BookSlice.REVIEWERS)
       .orElseThrow(() -> new IllegalStateException("Book doesn't exist"));
 
     book.addReviewer(command.reviewer());
@@ -85,7 +142,7 @@ public class BooksServiceImpl implements BooksService {
 
   @Override
   public void approve(ApproveCommand command) {
-    var book = repository.findById(command.bookId())
+    var book = repository.findById(command.bookId(), BookSlice.COUNTS)
       .orElseThrow(() -> new IllegalStateException("Book doesn't exist"));
 
     book.approve(command.committeeApproval());
@@ -95,7 +152,7 @@ public class BooksServiceImpl implements BooksService {
 
   @Override
   public void setISBN(SetISBNCommand command) {
-    var book = repository.findById(command.bookId())
+    var book = repository.findById(command.bookId(), BookSlice.HEADER)
       .orElseThrow(() -> new IllegalStateException("Book doesn't exist"));
 
     book.setISBN(command.isbn());
@@ -105,7 +162,7 @@ public class BooksServiceImpl implements BooksService {
 
   @Override
   public void moveToPublished(MoveToPublishedCommand command) {
-    var book = repository.findById(command.bookId())
+    var book = repository.findById(command.bookId(), BookSlice.COUNTS)
       .orElseThrow(() -> new IllegalStateException("Book doesn't exist"));
 
     book.moveToPublished();
@@ -115,7 +172,7 @@ public class BooksServiceImpl implements BooksService {
 
   @Override
   public void moveToPrinting(MoveToPrintingCommand command) {
-    var book = repository.findById(command.bookId())
+    var book = repository.findById(command.bookId(), BookSlice.PRINTING)
       .orElseThrow(() -> new IllegalStateException("Book doesn't exist"));
 
     book.moveToPrinting();
@@ -125,7 +182,7 @@ public class BooksServiceImpl implements BooksService {
 
   @Override
   public void moveToOutOfPrint(MoveToOutOfPrintCommand command) {
-    var book = repository.findById(command.bookId())
+    var book = repository.findById(command.bookId(), BookSlice.FORMATS)
       .orElseThrow(() -> new IllegalStateException("Book doesn't exist"));
 
     book.moveToOutOfPrint();
@@ -138,16 +195,19 @@ public class BooksServiceImpl implements BooksService {
     BooksRepository repository,
     AuthorProvider authorProvider,
     PublisherProvider publisherProvider,
-    PublishingHouse publishingHouse
+    PublishingHouse publishingHouse,
+    int batchSize
   ) {
     this.repository = repository;
     this.authorProvider = authorProvider;
     this.publisherProvider = publisherProvider;
     this.publishingHouse = publishingHouse;
+    this.batchSize = batchSize;
   }
 
   private final BooksRepository repository;
   private final AuthorProvider authorProvider;
   private final PublisherProvider publisherProvider;
   private final PublishingHouse publishingHouse;
+  private final int batchSize;
 }
@@ -0,0 +1,160 @@
+package io.eventdriven.slimdownaggregates.original.application.books;
+
+import io.eventdriven.slimdownaggregates.original.application.books.commands.RecordCopiesSoldCommand;
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.BookId;
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.FormatType;
+import io.eventdriven.slimdownaggregates.original.domain.books.repositories.SoldCopiesRepository;
+import io.eventdriven.slimdownaggregates.original.domain.books.repositories.SoldCopiesRepository.SoldCopies;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Collects sold copies reported by points of sale and flushes them periodically,
+ * summed per format, without loading the books. The repository checks the book invariants,
+ * so sales of books that aren't published or exceed the printed copies are dropped.
+ * <p>
+ * The buffer holds at most maxPending unflushed reports. When it's full, callers wait
+ * up to the offer timeout and are then rejected, so they can back off. A failed flush
+ * keeps its reports buffered, so the capacity stays taken until the database recovers.
+ */
+public class SoldCopiesIngestion implements AutoCloseable {
+  private static final Logger logger = LogManager.getLogger(SoldCopiesIngestion.class);
+
+  private final SoldCopiesRepository repository;
+  private final Duration offerTimeout;
+  private final Semaphore capacity;
+  // Writers share the lock to add to the current batch, the flush takes it exclusively to swap the batch
+  private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+  private final Object flushLock = new Object();
+  private Batch current = new Batch();
+
+  private final Counter accepted;
+  private final Counter rejected;
+  private final Counter unmatched;
+  private final Timer flushDuration;
+
+  public SoldCopiesIngestion(
+    SoldCopiesRepository repository,
+    int maxPending,
+    Duration offerTimeout,
+    MeterRegistry meterRegistry
+  ) {
+    if (maxPending <= 0)
+      throw new IllegalArgumentException("Max pending reports must be positive");
+
+    this.repository = repository;
+    this.offerTimeout = offerTimeout;
+    this.capacity = new Semaphore(maxPending);
+
+    this.accepted = meterRegistry.counter("books.sales.accepted");
+    this.rejected = meterRegistry.counter("books.sales.rejected");
+    this.unmatched = meterRegistry.counter("books.sales.unmatched");
+    this.flushDuration = meterRegistry.timer("books.sales.flush");
+    meterRegistry.gauge("books.sales.pending", capacity, c -> maxPending - c.availablePermits());
+  }
+
+  /**
+   * Buffers the sold copies, returns false if the buffer stayed full for the whole offer timeout.
+   */
+  public boolean offer(RecordCopiesSoldCommand command) {
+    try {
+      if (!capacity.tryAcquire(offerTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+        rejected.increment();
+        return false;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      rejected.increment();
+      return false;
+    }
+
+    swapLock.readLock().lock();
+    try {
+      current.add(new FormatKey(command.bookId(), command.formatType()), command.copies().value(), 1);
+    } finally {
+      swapLock.readLock().unlock();
+    }
+    accepted.increment();
+
+    return true;
+  }
+
+  @Scheduled(fixedDelayString = "${books.sales.flush-interval:PT0.5S}")
+  public void flush() {
+    synchronized (flushLock) {
+      Batch batch;
+      swapLock.writeLock().lock();
+      try {
+        batch = current;
+        current = new Batch();
+      } finally {
+        swapLock.writeLock().unlock();
+      }
+
+      if (batch.reports.get() == 0)
+        return;
+
+      var increments = batch.copies.entrySet().stream()
+        .map(e -> new SoldCopies(e.getKey().bookId(), e.getKey().formatType(), e.getValue().sum()))
+        .toList();
+
+      try {
+        var notFound = flushDuration.record(() -> repository.add(increments));
+
+        notFound.forEach(i ->
+          logger.warn("Rejected {} sold copies of format {} of book {}", i.copies(), i.formatType().value(), i.bookId().value())
+        );
+        unmatched.increment(notFound.size());
+      } catch (RuntimeException e) {
+        requeue(batch);
+        throw e;
+      }
+
+      capacity.release(batch.reports.get());
+    }
+  }
+
+  @Override
+  public void close() {
+    flush();
+  }
+
+  private void requeue(Batch batch) {
+    swapLock.readLock().lock();
+    try {
+      for (var entry : batch.copies.entrySet()) {
+        current.add(entry.getKey(), entry.getValue().sum(), 0);
+      }
+      current.reports.addAndGet(batch.reports.get());
+    } finally {
+      swapLock.readLock().unlock();
+    }
+  }
+
+  private record FormatKey(BookId bookId, FormatType formatType) {
+  }
+
+  private static final class Batch {
+    private final Map<FormatKey, LongAdder> copies = new ConcurrentHashMap<>();
+    private final AtomicInteger reports = new AtomicInteger();
+
+    void add(FormatKey key, long soldCopies, int reportCount) {
+      copies.computeIfAbsent(key, k -> new LongAdder()).add(soldCopies);
+      reports.addAndGet(reportCount);
+    }
+  }
+}
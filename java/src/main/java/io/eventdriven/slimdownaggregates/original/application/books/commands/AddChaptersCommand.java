@@ -0,0 +1,16 @@
+package io.eventdriven.slimdownaggregates.original.application.books.commands;
+
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.*;
+
+import java.util.Iterator;
+
+/**
+ * Chapters are consumed one by one, so they don't have to be read upfront.
+ */
+public record AddChaptersCommand(
+  BookId bookId,
+  Iterator<NewChapter> chapters
+) {
+  public record NewChapter(ChapterTitle title, ChapterContent content) {
+  }
+}
@@ -0,0 +1,7 @@
+package io.eventdriven.slimdownaggregates.original.application.books.commands;
+
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.*;
+import io.eventdriven.slimdownaggregates.original.infrastructure.valueobjects.PositiveInt;
+
+public record RecordCopiesSoldCommand(BookId bookId, FormatType formatType, PositiveInt copies) {
+}
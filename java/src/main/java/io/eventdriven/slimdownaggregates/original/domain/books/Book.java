@@ -13,7 +13,11 @@ import io.eventdriven.slimdownaggregates.original.infrastructure.valueobjects.Po
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static io.eventdriven.slimdownaggregates.original.infrastructure.validation.Validation.assertNotNull;
 
@@ -37,6 +41,13 @@ public class Book extends Aggregate<BookId> {
   private final List<Reviewer> reviewers;
   private final List<Translation> translations;
   private final List<Format> formats;
+  // Indexes of the lists above, so invariants are checked without scanning them
+  private final Set<ChapterTitle> chapterTitles = new HashSet<>();
+  private final Set<ReviewerId> reviewerIds = new HashSet<>();
+  private final Map<FormatType, Format> formatsByType = new HashMap<>();
+  // Running totals over formats, kept in step with every format change
+  private long totalCopies;
+  private long soldCopies;
 
   private Book(
     BookId bookId,
@@ -80,10 +91,22 @@ public class Book extends Aggregate<BookId> {
     this.bindingType = bindingType;
     this.summary = summary;
     this.committeeApproval = committeeApproval;
-    this.reviewers = reviewers;
+    this.reviewers = reviewers != null ? reviewers : new ArrayList<>();
     this.chapters = chapters != null ? chapters : new ArrayList<>();
     this.translations = translations != null ? translations : new ArrayList<>();
     this.formats = formats != null ? formats : new ArrayList<>();
+
+    for (var chapter : this.chapters) {
+      chapterTitles.add(chapter.title());
+    }
+    for (var reviewer : this.reviewers) {
+      reviewerIds.add(reviewer.id());
+    }
+    for (var format : this.formats) {
+      formatsByType.put(format.formatType(), format);
+      totalCopies += format.totalCopies().value();
+      soldCopies += format.soldCopies().value();
+    }
   }
 
   public static Book createDraft(
@@ -103,7 +126,7 @@ public class Book extends Aggregate<BookId> {
   }
 
   public void addChapter(ChapterTitle title, ChapterContent content) {
-    if (chapters.stream().anyMatch(chap -> chap.title().equals(title))) {
+    if (chapterTitles.contains(title)) {
       throw new IllegalStateException("chapter with the same title already exists.");
     }
 
@@ -114,6 +137,7 @@ public class Book extends Aggregate<BookId> {
 
     var chapter = new Chapter(new ChapterNumber(chapters.size() + 1), title, content);
     chapters.add(chapter);
+    chapterTitles.add(title);
 
     addDomainEvent(new ChapterAddedEvent(this.id, chapter));
   }
@@ -147,30 +171,37 @@ public class Book extends Aggregate<BookId> {
     if (currentState != State.EDITING)
       throw new IllegalStateException("Cannot add format of a book that is not in the Editing state.");
 
-    if (formats.stream().anyMatch(f -> f.formatType().equals(format.formatType())))
+    if (formatsByType.containsKey(format.formatType()))
       throw new IllegalStateException("format " + format.formatType() + " already exists.");
 
     formats.add(format);
+    formatsByType.put(format.formatType(), format);
+    totalCopies += format.totalCopies().value();
+    soldCopies += format.soldCopies().value();
   }
 
   public void removeFormat(Format format) {
     if (currentState != State.EDITING)
       throw new IllegalStateException("Cannot remove format of a book that is not in the Editing state.");
 
-    if (formats.stream().noneMatch(f -> f.formatType().equals(format.formatType())))
+    var existing = formatsByType.remove(format.formatType());
+    if (existing == null)
       throw new IllegalStateException("format " + format.formatType() + " does not exist.");
 
-    formats.removeIf(f -> f.formatType().equals(format.formatType()));
+    formats.remove(existing);
+    totalCopies -= existing.totalCopies().value();
+    soldCopies -= existing.soldCopies().value();
   }
 
   public void addReviewer(Reviewer reviewer) {
     if (currentState != State.EDITING)
       throw new IllegalStateException("Cannot add format of a book that is not in the Editing state.");
 
-    if (reviewers.stream().anyMatch(f -> f.id().equals(reviewer.id())))
+    if (reviewerIds.contains(reviewer.id()))
       throw new IllegalStateException(reviewer.name() + "  is already a reviewer..");
 
     reviewers.add(reviewer);
+    reviewerIds.add(reviewer.id());
   }
 
   public void approve(CommitteeApproval committeeApproval) {
@@ -244,9 +275,7 @@ public class Book extends Aggregate<BookId> {
     if (currentState != State.PUBLISHED)
       throw new IllegalStateException("Cannot move to Out of Print state from the current state.");
 
-    double totalCopies = formats.stream().mapToDouble(d -> d.totalCopies().value()).sum();
-    double totalSoldCopies = formats.stream().mapToDouble(d -> d.soldCopies().value()).sum();
-    if ((totalSoldCopies / totalCopies) > 0.1)
+    if (((double) soldCopies / totalCopies) > 0.1)
       throw new IllegalStateException(
         "Cannot move to Out of Print state if more than 10% of total copies are unsold.");
 
@@ -325,6 +354,14 @@ public class Book extends Aggregate<BookId> {
     return Collections.unmodifiableList(formats);
   }
 
+  public long totalCopies() {
+    return totalCopies;
+  }
+
+  public long soldCopies() {
+    return soldCopies;
+  }
+
   public enum State {WRITING, EDITING, PRINTING, PUBLISHED, OUT_OF_PRINT}
 
   public static class Factory implements BookFactory {
@@ -2,6 +2,13 @@ package io.eventdriven.slimdownaggregates.original.domain.books.authors;
 
 import io.eventdriven.slimdownaggregates.original.domain.books.entities.Author;
 
+import java.util.List;
+
 public interface AuthorProvider {
   Author getOrCreate(AuthorIdOrData authorIdOrData);
+
+  /**
+   * Resolves many authors at once, e.g. for catalogue imports, returning them in the same order.
+   */
+  List<Author> getOrCreateAll(List<AuthorIdOrData> authors);
 }
@@ -31,7 +31,7 @@ public record BookDetails(
   public record CommitteeApprovalDetails(boolean isApproved, String feedback) {
   }
 
-  public record ChapterDetails(String title, String content) {
+  public record ChapterDetails(int number, String title) {
   }
 
   public record TranslationDetails(String language, String translator) {
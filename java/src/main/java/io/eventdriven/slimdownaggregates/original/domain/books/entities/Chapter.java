@@ -1,9 +1,12 @@
 package io.eventdriven.slimdownaggregates.original.domain.books.entities;
 
+import java.util.function.Supplier;
+
 public class Chapter {
   private final ChapterNumber chapterNumber;
   private ChapterTitle title;
   private ChapterContent content;
+  private transient Supplier<ChapterContent> contentLoader;
 
   public Chapter(
     ChapterNumber chapterNumber,
@@ -15,6 +18,19 @@ public class Chapter {
     this.content = content;
   }
 
+  /**
+   * Creates chapter which content is loaded only when it's accessed for the first time.
+   */
+  public Chapter(
+    ChapterNumber chapterNumber,
+    ChapterTitle title,
+    Supplier<ChapterContent> contentLoader
+  ) {
+    this.chapterNumber = chapterNumber;
+    this.title = title;
+    this.contentLoader = contentLoader;
+  }
+
   public ChapterNumber chapterNumber() {
     return chapterNumber;
   }
@@ -24,14 +40,31 @@ public class Chapter {
   }
 
   public ChapterContent content() {
+    if (content == null) {
+      content = contentLoader.get();
+      contentLoader = null;
+    }
     return content;
   }
 
+  public boolean isContentLoaded() {
+    return content != null;
+  }
+
   public void changeTitle(ChapterTitle title) {
     this.title = title;
   }
 
+  /**
+   * Drops the content once it's stored, it's loaded again only if it's accessed.
+   */
+  public void unloadContent(Supplier<ChapterContent> contentLoader) {
+    this.content = null;
+    this.contentLoader = contentLoader;
+  }
+
   public void changeContent(ChapterContent content) {
     this.content = content;
+    this.contentLoader = null;
   }
 }
@@ -4,8 +4,8 @@ import io.eventdriven.slimdownaggregates.original.infrastructure.valueobjects.Po
 
 public class Format {
   private final FormatType formatType;
-  private PositiveInt totalCopies;
-  private PositiveInt soldCopies;
+  private final PositiveInt totalCopies;
+  private final PositiveInt soldCopies;
 
   public Format(FormatType formatType, PositiveInt totalCopies, PositiveInt soldCopies)
   {
@@ -25,12 +25,4 @@ public class Format {
   public PositiveInt soldCopies() {
     return soldCopies;
   }
-
-  public void setTotalCopies(PositiveInt totalCopies) {
-    this.totalCopies = totalCopies;
-  }
-
-  public void setSoldCopies(PositiveInt soldCopies) {
-    this.soldCopies = soldCopies;
-  }
 }
@@ -0,0 +1,8 @@
+package io.eventdriven.slimdownaggregates.original.domain.books.events;
+
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.*;
+import io.eventdriven.slimdownaggregates.original.infrastructure.events.DomainEvent;
+import io.eventdriven.slimdownaggregates.original.infrastructure.valueobjects.PositiveInt;
+
+public record CopiesSoldEvent(BookId bookId, FormatType formatType, PositiveInt copies) implements DomainEvent {
+}
@@ -0,0 +1,33 @@
+package io.eventdriven.slimdownaggregates.original.domain.books.repositories;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Part of the book needed to run a command.
+ * Collections outside the slice are not loaded, the book sees them as empty,
+ * and they're left untouched when the book is updated.
+ */
+public enum BookSlice {
+  WHOLE(Part.REVIEWERS, Part.CHAPTERS, Part.TRANSLATIONS, Part.FORMATS),
+  HEADER(),
+  CHAPTERS(Part.CHAPTERS),
+  FORMATS(Part.FORMATS),
+  REVIEWERS(Part.REVIEWERS),
+  TRANSLATIONS(Part.TRANSLATIONS),
+  COUNTS(Part.REVIEWERS, Part.TRANSLATIONS),
+  PRINTING(Part.CHAPTERS, Part.REVIEWERS);
+
+  public enum Part {REVIEWERS, CHAPTERS, TRANSLATIONS, FORMATS}
+
+  private final Set<Part> parts;
+
+  BookSlice(Part... parts) {
+    this.parts = EnumSet.noneOf(Part.class);
+    this.parts.addAll(Set.of(parts));
+  }
+
+  public boolean includes(Part part) {
+    return parts.contains(part);
+  }
+}
@@ -3,12 +3,33 @@ package io.eventdriven.slimdownaggregates.original.domain.books.repositories;
 import io.eventdriven.slimdownaggregates.original.domain.books.Book;
 import io.eventdriven.slimdownaggregates.original.domain.books.entities.BookId;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface BooksRepository {
   Optional<Book> findById(BookId bookId);
 
+  Optional<Book> findById(BookId bookId, BookSlice slice);
+
   void add(Book book);
 
+  /**
+   * Adds many new books at once, e.g. when importing a back catalogue.
+   */
+  void addAll(List<Book> books);
+
   void update(Book book);
+
+  /**
+   * Stores the chapters added since the book was loaded or since the previous call,
+   * releasing their content from memory. Meant for importing a manuscript in parts
+   * within a single transaction. The book can't be updated afterwards.
+   */
+  void appendChapters(Book book);
+
+  /**
+   * Refreshes the book details once all chapters were appended,
+   * so they're written once per import instead of once per part.
+   */
+  void finishAppendingChapters(Book book);
 }
@@ -0,0 +1,41 @@
+package io.eventdriven.slimdownaggregates.original.domain.books.repositories;
+
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.BookId;
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.Chapter;
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.ChapterContent;
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.ChapterNumber;
+
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Streams chapter content without materialising the whole manuscript in memory.
+ */
+public interface ChapterContentRepository {
+  /**
+   * Copies the chapter content to the output, returns false if chapter doesn't exist.
+   */
+  boolean read(BookId bookId, ChapterNumber chapterNumber, Writer output);
+
+  /**
+   * Reads the whole chapter content, e.g. when the aggregate accesses a chapter loaded without it.
+   * Returns empty content if the chapter doesn't exist or has none.
+   */
+  default ChapterContent read(BookId bookId, ChapterNumber chapterNumber) {
+    var content = new StringWriter();
+    read(bookId, chapterNumber, content);
+    return new ChapterContent(content.toString());
+  }
+
+  /**
+   * Replaces the chapter content with the input, returns false if chapter doesn't exist.
+   */
+  boolean write(BookId bookId, ChapterNumber chapterNumber, Reader input);
+
+  /**
+   * Inserts new chapters together with their content in a single batch.
+   */
+  void append(BookId bookId, List<Chapter> chapters);
+}
@@ -0,0 +1,21 @@
+package io.eventdriven.slimdownaggregates.original.domain.books.repositories;
+
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.BookId;
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.FormatType;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Adds sold copies to stored formats without loading their books.
+ */
+public interface SoldCopiesRepository {
+  /**
+   * Atomically adds all increments, returns the ones that didn't match any stored format.
+   * Increments of the same format are added together, so they either all match or none does.
+   */
+  List<SoldCopies> add(Collection<SoldCopies> increments);
+
+  record SoldCopies(BookId bookId, FormatType formatType, long copies) {
+  }
+}
@@ -0,0 +1,61 @@
+package io.eventdriven.slimdownaggregates.original.infrastructure.tracking;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+public final class ListUpdater {
+  /**
+   * Reconciles the tracked list with the current state, matching items by key.
+   * Items missing from the current state are removed, matching ones are updated in place
+   * and the new ones are appended, so the ORM only sees the rows that actually changed.
+   * Lists are usually unchanged or only appended to, so the common prefix is matched by
+   * position and only the rest needs the lookup by key.
+   */
+  public static <TTo, TFrom, TKey> void update(
+    List<TTo> to,
+    List<TFrom> from,
+    Function<TTo, TKey> toKey,
+    Function<TFrom, TKey> fromKey,
+    BiConsumer<TTo, TFrom> onUpdate,
+    Function<TFrom, TTo> onAdd
+  ) {
+    var matched = 0;
+    var common = Math.min(to.size(), from.size());
+    while (matched < common && Objects.equals(toKey.apply(to.get(matched)), fromKey.apply(from.get(matched)))) {
+      onUpdate.accept(to.get(matched), from.get(matched));
+      matched++;
+    }
+
+    if (matched == to.size()) {
+      for (var i = matched; i < from.size(); i++) {
+        to.add(onAdd.apply(from.get(i)));
+      }
+      return;
+    }
+
+    var pending = new LinkedHashMap<TKey, TFrom>((from.size() - matched) * 2);
+    for (var i = matched; i < from.size(); i++) {
+      var item = from.get(i);
+      pending.put(fromKey.apply(item), item);
+    }
+
+    var iterator = to.listIterator(matched);
+    while (iterator.hasNext()) {
+      var current = iterator.next();
+      var updated = pending.remove(toKey.apply(current));
+
+      if (updated == null) {
+        iterator.remove();
+        continue;
+      }
+      onUpdate.accept(current, updated);
+    }
+
+    for (var added : pending.values()) {
+      to.add(onAdd.apply(added));
+    }
+  }
+}
@@ -5,7 +5,7 @@ import jakarta.persistence.*;
 import java.util.UUID;
 
 @Entity
-@Table(name = "authors")
+@Table(name = "authors", indexes = @Index(name = "authors_normalized_name_idx", columnList = "normalized_name", unique = true))
 public class AuthorEntity {
 
   @Id
@@ -16,6 +16,10 @@ public class AuthorEntity {
 
   private String lastName;
 
+  // Lowercased name with collapsed whitespace, used to find the same author written differently
+  @Column(name = "normalized_name")
+  private String normalizedName;
+
   public AuthorEntity() {
     // Default constructor for JPA
   }
@@ -45,4 +49,12 @@ public class AuthorEntity {
   public void setLastName(String lastName) {
     this.lastName = lastName;
   }
+
+  public String getNormalizedName() {
+    return normalizedName;
+  }
+
+  public void setNormalizedName(String normalizedName) {
+    this.normalizedName = normalizedName;
+  }
 }
@@ -5,6 +5,8 @@ import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -12,5 +14,7 @@ import java.util.UUID;
 public interface AuthorRepository extends JpaRepository<AuthorEntity, UUID> {
   @NonNull
   Optional<AuthorEntity> findById(@NonNull UUID id);
+
+  List<AuthorEntity> findAllByNormalizedNameIn(Collection<String> normalizedNames);
 }
 
@@ -6,16 +6,65 @@ import io.eventdriven.slimdownaggregates.original.domain.books.entities.Author;
 import io.eventdriven.slimdownaggregates.original.domain.books.entities.AuthorFirstName;
 import io.eventdriven.slimdownaggregates.original.domain.books.entities.AuthorId;
 import io.eventdriven.slimdownaggregates.original.domain.books.entities.AuthorLastName;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Authors given by name are matched by their normalized name, so the same person isn't
+ * created again for every draft. Concurrent requests for the same new author wait for
+ * the first one instead of inserting it too, and get the author once its transaction
+ * commits, so they never reference a row that isn't visible yet. Instances not sharing
+ * the in-flight map are kept apart by the unique index on the normalized name.
+ * <p>
+ * Waiting is bounded by the wait timeout, after which the insert is tried anyway: the unique
+ * index makes it wait for the creating transaction, then the committed author is read.
+ * Authors created earlier in the same transaction are returned without waiting for its commit.
+ */
 @Service
 public class AuthorService implements AuthorProvider {
+  private static final int CHUNK_SIZE = 1000;
+
+  // Returns the inserted rows, so the outcome doesn't depend on batch update counts
+  private static final String INSERT_IF_ABSENT = """
+    INSERT INTO authors (id, first_name, last_name, normalized_name)
+    VALUES %s
+    ON CONFLICT (normalized_name) DO NOTHING
+    RETURNING normalized_name
+    """;
 
   private final AuthorRepository authorRepository;
+  private final JdbcTemplate jdbcTemplate;
+  private final Duration waitTimeout;
+  // Completed with null when the creating transaction rolled back, so waiters retry on their own
+  private final ConcurrentMap<String, CompletableFuture<Author>> inFlight = new ConcurrentHashMap<>();
 
-  public AuthorService(AuthorRepository authorRepository) {
+  public AuthorService(AuthorRepository authorRepository, JdbcTemplate jdbcTemplate, Duration waitTimeout) {
     this.authorRepository = authorRepository;
+    this.jdbcTemplate = jdbcTemplate;
+    this.waitTimeout = waitTimeout;
   }
 
   @Transactional
@@ -24,21 +73,199 @@ public class AuthorService implements AuthorProvider {
       var entity = authorRepository.findById(authorIdOrData.authorId().value())
         .orElseThrow(() -> new IllegalArgumentException("Author not found"));
 
-      return new Author(
-        new AuthorId(entity.getId()),
-        new AuthorFirstName(entity.getFirstName()),
-        new AuthorLastName(entity.getLastName())
-      );
+      return map(entity);
+    }
+
+    var normalizedName = normalizedName(authorIdOrData.firstName().value(), authorIdOrData.lastName().value());
+
+    var createdInTransaction = createdInTransaction();
+    var own = createdInTransaction.get(normalizedName);
+    if (own != null)
+      return own;
+
+    while (true) {
+      var created = new CompletableFuture<Author>();
+      var pending = inFlight.putIfAbsent(normalizedName, created);
+
+      if (pending != null) {
+        Author author;
+        try {
+          // A copy times out, so the creator and the other waiters aren't affected
+          author = pending.copy().orTimeout(waitTimeout.toNanos(), TimeUnit.NANOSECONDS).join();
+        } catch (CompletionException e) {
+          if (!(e.getCause() instanceof TimeoutException))
+            throw e;
+
+          return upsert(List.of(authorIdOrData)).get(normalizedName);
+        }
+
+        if (author != null)
+          return author;
+
+        continue;
+      }
+
+      Author author;
+      try {
+        author = upsert(List.of(authorIdOrData)).get(normalizedName);
+      } catch (RuntimeException e) {
+        release(normalizedName, created, null);
+        throw e;
+      }
+
+      if (TransactionSynchronizationManager.isSynchronizationActive()) {
+        createdInTransaction.put(normalizedName, author);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+          @Override
+          public void afterCompletion(int status) {
+            release(normalizedName, created, status == STATUS_COMMITTED ? author : null);
+          }
+        });
+      } else {
+        release(normalizedName, created, author);
+      }
+
+      return author;
+    }
+  }
+
+  @Override
+  @Transactional
+  public List<Author> getOrCreateAll(List<AuthorIdOrData> authors) {
+    var ids = new ArrayList<UUID>();
+    var named = new ArrayList<AuthorIdOrData>();
+    for (var author : authors) {
+      if (author.authorId() != null)
+        ids.add(author.authorId().value());
+      else
+        named.add(author);
+    }
+
+    var byId = new HashMap<UUID, Author>(ids.size() * 2);
+    for (var entity : authorRepository.findAllById(ids)) {
+      byId.put(entity.getId(), map(entity));
+    }
+    var byName = upsert(named);
+
+    var result = new ArrayList<Author>(authors.size());
+    for (var author : authors) {
+      var resolved = author.authorId() != null
+        ? byId.get(author.authorId().value())
+        : byName.get(normalizedName(author.firstName().value(), author.lastName().value()));
+
+      if (resolved == null)
+        throw new IllegalArgumentException("Author not found");
+
+      result.add(resolved);
     }
+    return result;
+  }
 
-    var entity = new AuthorEntity();
-    entity.setFirstName(authorIdOrData.firstName().value());
-    entity.setLastName(authorIdOrData.lastName().value());
+  /**
+   * Authors created by the current transaction. Waiting for them would wait for its own commit.
+   */
+  @SuppressWarnings("unchecked")
+  private Map<String, Author> createdInTransaction() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive())
+      return new HashMap<>();
 
-    var result = authorRepository.save(entity);
+    var created = (Map<String, Author>) TransactionSynchronizationManager.getResource(this);
+    if (created == null) {
+      created = new HashMap<>();
+      TransactionSynchronizationManager.bindResource(this, created);
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          TransactionSynchronizationManager.unbindResourceIfPossible(AuthorService.this);
+        }
+      });
+    }
+    return created;
+  }
+
+  static String normalizedName(String firstName, String lastName) {
+    return normalize(firstName) + "|" + normalize(lastName);
+  }
+
+  /**
+   * Returns the authors by normalized name, inserting the missing ones in batches.
+   * Names inserted concurrently by another transaction are read back after it commits.
+   */
+  private Map<String, Author> upsert(List<AuthorIdOrData> authors) {
+    var requested = new LinkedHashMap<String, AuthorIdOrData>(authors.size() * 2);
+    for (var author : authors) {
+      requested.putIfAbsent(normalizedName(author.firstName().value(), author.lastName().value()), author);
+    }
+
+    var found = findByNormalizedNames(new ArrayList<>(requested.keySet()));
+
+    var missing = new ArrayList<Object[]>();
+    requested.forEach((name, author) -> {
+      if (!found.containsKey(name))
+        missing.add(new Object[]{UUID.randomUUID(), author.firstName().value(), author.lastName().value(), name});
+    });
+    if (missing.isEmpty())
+      return found;
+
+    var conflicting = new ArrayList<String>();
+    for (var from = 0; from < missing.size(); from += CHUNK_SIZE) {
+      var chunk = missing.subList(from, Math.min(from + CHUNK_SIZE, missing.size()));
+      var inserted = insertIfAbsent(chunk);
+
+      for (var row : chunk) {
+        if (inserted.contains((String) row[3])) {
+          found.put((String) row[3], new Author(
+            new AuthorId((UUID) row[0]),
+            new AuthorFirstName((String) row[1]),
+            new AuthorLastName((String) row[2])
+          ));
+        } else {
+          conflicting.add((String) row[3]);
+        }
+      }
+    }
+    found.putAll(findByNormalizedNames(conflicting));
+
+    return found;
+  }
+
+  private Set<String> insertIfAbsent(List<Object[]> rows) {
+    var args = new ArrayList<Object>(rows.size() * 4);
+    rows.forEach(row -> args.addAll(Arrays.asList(row)));
+
+    return new HashSet<>(jdbcTemplate.query(
+      INSERT_IF_ABSENT.formatted(String.join(", ", Collections.nCopies(rows.size(), "(?, ?, ?, ?)"))),
+      (rs, rowNum) -> rs.getString("normalized_name"),
+      args.toArray()
+    ));
+  }
+
+  private Map<String, Author> findByNormalizedNames(List<String> normalizedNames) {
+    var found = new HashMap<String, Author>(normalizedNames.size() * 2);
+    for (var from = 0; from < normalizedNames.size(); from += CHUNK_SIZE) {
+      var chunk = normalizedNames.subList(from, Math.min(from + CHUNK_SIZE, normalizedNames.size()));
+      for (var entity : authorRepository.findAllByNormalizedNameIn(chunk)) {
+        found.put(entity.getNormalizedName(), map(entity));
+      }
+    }
+    return found;
+  }
+
+  private void release(String normalizedName, CompletableFuture<Author> created, Author author) {
+    inFlight.remove(normalizedName, created);
+    created.complete(author);
+  }
+
+  private static String normalize(String value) {
+    return Normalizer.normalize(value, Normalizer.Form.NFKC)
+      .strip()
+      .replaceAll("\\s+", " ")
+      .toLowerCase(Locale.ROOT);
+  }
 
+  private static Author map(AuthorEntity entity) {
     return new Author(
-      new AuthorId(result.getId()),
+      new AuthorId(entity.getId()),
       new AuthorFirstName(entity.getFirstName()),
       new AuthorLastName(entity.getLastName())
     );
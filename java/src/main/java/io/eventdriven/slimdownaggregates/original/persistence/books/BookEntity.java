@@ -8,6 +8,9 @@ import io.eventdriven.slimdownaggregates.original.persistence.books.valueobjects
 import io.eventdriven.slimdownaggregates.original.persistence.publishers.PublisherEntity;
 import io.eventdriven.slimdownaggregates.original.persistence.reviewers.ReviewerEntity;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -15,12 +18,39 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "books")
+@NamedEntityGraph(name = BookEntity.WITH_CHAPTERS, attributeNodes = {
+  @NamedAttributeNode("author"),
+  @NamedAttributeNode("publisher"),
+  @NamedAttributeNode("chapters")
+})
+@NamedEntityGraph(name = BookEntity.WITH_FORMATS, attributeNodes = {
+  @NamedAttributeNode("author"),
+  @NamedAttributeNode("publisher"),
+  @NamedAttributeNode("formats")
+})
+@NamedEntityGraph(name = BookEntity.WITH_REVIEWERS, attributeNodes = {
+  @NamedAttributeNode("author"),
+  @NamedAttributeNode("publisher"),
+  @NamedAttributeNode("reviewers")
+})
+@NamedEntityGraph(name = BookEntity.WITH_TRANSLATIONS, attributeNodes = {
+  @NamedAttributeNode("author"),
+  @NamedAttributeNode("publisher"),
+  @NamedAttributeNode("translations")
+})
 public class BookEntity {
 
+  // Each graph joins a single bag, Hibernate cannot fetch more than one in the same query.
+  // The remaining collections are loaded with one subselect each when accessed.
+  public static final String WITH_CHAPTERS = "Book.withChapters";
+  public static final String WITH_FORMATS = "Book.withFormats";
+  public static final String WITH_REVIEWERS = "Book.withReviewers";
+  public static final String WITH_TRANSLATIONS = "Book.withTranslations";
+
   public enum State { Writing, Editing, Printing, Published, OutOfPrint }
 
+  // Assigned from the book id, so new books can be persisted and batched without a select
   @Id
-  @GeneratedValue(strategy = GenerationType.AUTO)
   private UUID id;
 
   @Enumerated(EnumType.STRING)
@@ -45,22 +75,27 @@ public class BookEntity {
   private String bindingType;
 
   @Lob
+  @Basic(fetch = FetchType.LAZY)
   private String summary;
 
   @Embedded
   private CommitteeApprovalVO committeeApproval;
 
   @OneToMany(mappedBy = "book", cascade = CascadeType.ALL, orphanRemoval = true)
+  @Fetch(FetchMode.SUBSELECT)
   private List<ReviewerEntity> reviewers = new ArrayList<>();
 
   @OneToMany(mappedBy = "book", cascade = CascadeType.ALL, orphanRemoval = true)
+  @Fetch(FetchMode.SUBSELECT)
   private List<ChapterEntity> chapters = new ArrayList<>();
 
   @ElementCollection
+  @Fetch(FetchMode.SUBSELECT)
   @CollectionTable(name = "book_translations", joinColumns = @JoinColumn(name = "book_id"))
   private List<TranslationVO> translations = new ArrayList<>();
 
   @OneToMany(mappedBy = "book", cascade = CascadeType.ALL, orphanRemoval = true)
+  @Fetch(FetchMode.SUBSELECT)
   private List<FormatEntity> formats = new ArrayList<>();
 
   @Version
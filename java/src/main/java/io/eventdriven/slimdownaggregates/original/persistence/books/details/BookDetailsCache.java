@@ -0,0 +1,86 @@
+package io.eventdriven.slimdownaggregates.original.persistence.books.details;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.eventdriven.slimdownaggregates.original.domain.books.dtos.BookDetails;
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.BookId;
+import io.eventdriven.slimdownaggregates.original.domain.books.repositories.BooksQueryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps recently read book details in memory, bounded by size and time to live.
+ * Entries are invalidated after the transaction that changed the book commits,
+ * so readers can't cache the details again before the change is visible.
+ * A reader that started before the invalidation may still hold the old details,
+ * so each invalidation bumps a counter that readers compare before keeping what they read.
+ */
+public class BookDetailsCache implements BooksQueryRepository {
+  private final BooksQueryRepository repository;
+  private static final int STRIPES = 64;
+
+  private final Cache<BookId, BookDetails> cache;
+  private final AtomicLongArray invalidations = new AtomicLongArray(STRIPES);
+
+  public BookDetailsCache(
+    BooksQueryRepository repository,
+    long maximumSize,
+    Duration timeToLive,
+    MeterRegistry meterRegistry
+  ) {
+    this.repository = repository;
+    this.cache = CaffeineCacheMetrics.monitor(
+      meterRegistry,
+      Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(timeToLive)
+        .recordStats()
+        .build(),
+      "book_details"
+    );
+  }
+
+  @Override
+  public Optional<BookDetails> findDetailsById(BookId bookId) {
+    var cached = cache.getIfPresent(bookId);
+    if (cached != null)
+      return Optional.of(cached);
+
+    var stripe = stripe(bookId);
+    var seen = invalidations.get(stripe);
+
+    // Missing books aren't cached, as they may be created right after
+    var details = repository.findDetailsById(bookId);
+    details.ifPresent(d -> {
+      cache.put(bookId, d);
+      // Invalidated while reading, so what was read may be older than the change.
+      // Checking after the put means an invalidation can't slip in between.
+      if (invalidations.get(stripe) != seen)
+        cache.invalidate(bookId);
+    });
+
+    return details;
+  }
+
+  public void invalidate(BookId bookId) {
+    invalidations.incrementAndGet(stripe(bookId));
+    cache.invalidate(bookId);
+  }
+
+  private static int stripe(BookId bookId) {
+    return Math.floorMod(bookId.hashCode(), STRIPES);
+  }
+
+  /**
+   * Every write of the details publishes this, so it's the only invalidation source.
+   */
+  @TransactionalEventListener
+  public void on(BookDetailsRefreshed event) {
+    invalidate(event.bookId());
+  }
+}
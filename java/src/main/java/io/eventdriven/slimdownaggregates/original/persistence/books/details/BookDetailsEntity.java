@@ -0,0 +1,48 @@
+package io.eventdriven.slimdownaggregates.original.persistence.books.details;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnTransformer;
+
+import java.util.UUID;
+
+/**
+ * Denormalised book details stored as a single JSON document,
+ * so reading them doesn't touch the tables of the write model.
+ */
+@Entity
+@Table(name = "book_details")
+public class BookDetailsEntity {
+
+  @Id
+  private UUID id;
+
+  @Column(nullable = false, columnDefinition = "jsonb")
+  @ColumnTransformer(write = "?::jsonb")
+  private String data;
+
+  // Default constructor for JPA
+  public BookDetailsEntity() {}
+
+  public BookDetailsEntity(UUID id, String data) {
+    this.id = id;
+    this.data = data;
+  }
+
+  // Getters and setters
+
+  public UUID getId() {
+    return id;
+  }
+
+  public void setId(UUID id) {
+    this.id = id;
+  }
+
+  public String getData() {
+    return data;
+  }
+
+  public void setData(String data) {
+    this.data = data;
+  }
+}
@@ -0,0 +1,10 @@
+package io.eventdriven.slimdownaggregates.original.persistence.books.details;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface BookDetailsJpaRepository extends JpaRepository<BookDetailsEntity, UUID> {
+}
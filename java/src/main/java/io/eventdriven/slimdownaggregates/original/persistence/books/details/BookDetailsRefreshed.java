@@ -0,0 +1,10 @@
+package io.eventdriven.slimdownaggregates.original.persistence.books.details;
+
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.BookId;
+
+/**
+ * Published when the stored details of the book were refreshed.
+ * Also covers commands that don't raise any domain event.
+ */
+public record BookDetailsRefreshed(BookId bookId) {
+}
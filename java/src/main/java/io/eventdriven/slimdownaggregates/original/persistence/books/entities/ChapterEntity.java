@@ -3,6 +3,7 @@ package io.eventdriven.slimdownaggregates.original.persistence.books.entities;
 import io.eventdriven.slimdownaggregates.original.domain.books.entities.Chapter;
 import io.eventdriven.slimdownaggregates.original.persistence.books.BookEntity;
 import jakarta.persistence.*;
+import java.util.Objects;
 import java.util.UUID;
 
 @Entity
@@ -20,7 +21,9 @@ public class ChapterEntity {
   @Column(nullable = false)
   private String title;
 
-  @Column(nullable = true)
+  // Loaded only when accessed, requires Hibernate bytecode enhancement
+  @Basic(fetch = FetchType.LAZY)
+  @Column(nullable = true, columnDefinition = "text")
   private String content = "";
 
   @ManyToOne
@@ -28,6 +31,8 @@ public class ChapterEntity {
   private BookEntity book;
 
   // Default constructor for JPA
+  public ChapterEntity() {}
+
   public ChapterEntity(UUID bookId, int chapterNumber, String title, String content) {
     this.bookId = bookId;
     this.number = chapterNumber;
@@ -81,7 +86,7 @@ public class ChapterEntity {
     if (!title.equals(chapter.title().value())) {
       title = chapter.title().value();
     }
-    if (!content.equals(chapter.content().value())) {
+    if (chapter.isContentLoaded() && !Objects.equals(content, chapter.content().value())) {
       content = chapter.content().value();
     }
     return this;
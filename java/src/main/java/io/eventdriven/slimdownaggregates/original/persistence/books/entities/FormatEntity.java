@@ -1,11 +1,15 @@
 package io.eventdriven.slimdownaggregates.original.persistence.books.entities;
 
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.Format;
 import io.eventdriven.slimdownaggregates.original.persistence.books.BookEntity;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.UUID;
 
+// Sold copies are incremented with SQL, so updates must only write the columns that changed
 @Entity
+@DynamicUpdate
 @Table(name = "formats")
 @IdClass(FormatId.class)
 public class FormatEntity {
@@ -80,4 +84,14 @@ public class FormatEntity {
   public void setBook(BookEntity book) {
     this.book = book;
   }
+
+  public FormatEntity update(Format format) {
+    if (totalCopies != format.totalCopies().value()) {
+      totalCopies = format.totalCopies().value();
+    }
+    if (soldCopies != format.soldCopies().value()) {
+      soldCopies = format.soldCopies().value();
+    }
+    return this;
+  }
 }
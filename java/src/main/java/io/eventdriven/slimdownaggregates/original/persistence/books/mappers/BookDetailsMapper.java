@@ -0,0 +1,110 @@
+package io.eventdriven.slimdownaggregates.original.persistence.books.mappers;
+
+import io.eventdriven.slimdownaggregates.original.domain.books.Book;
+import io.eventdriven.slimdownaggregates.original.domain.books.dtos.BookDetails;
+import io.eventdriven.slimdownaggregates.original.domain.books.dtos.BookDetails.*;
+import io.eventdriven.slimdownaggregates.original.domain.books.repositories.BookSlice;
+import io.eventdriven.slimdownaggregates.original.domain.books.repositories.BookSlice.Part;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class BookDetailsMapper {
+
+  /**
+   * Maps the whole book to its details. Chapters are listed without their content,
+   * which is read through the chapter content endpoint instead.
+   */
+  public static BookDetails mapToDetails(Book book) {
+    return new BookDetails(
+      book.id().value(),
+      BookEntityMapping.toEntityState(book.currentState()).name(),
+      book.title().value(),
+      mapAuthor(book),
+      book.publisher().name().value(),
+      book.getEdition().value(),
+      book.genre() != null ? book.genre().value() : null,
+      book.isbn() != null ? book.isbn().value() : null,
+      book.publicationDate(),
+      book.getTotalPages() != null ? book.getTotalPages().value() : null,
+      book.getNumberOfIllustrations() != null ? book.getNumberOfIllustrations().value() : null,
+      book.getBindingType() != null ? book.getBindingType().value() : null,
+      book.getSummary() != null ? book.getSummary().value() : null,
+      mapCommitteeApproval(book),
+      mapReviewers(book),
+      mapChapters(book),
+      mapTranslations(book),
+      mapFormats(book)
+    );
+  }
+
+  /**
+   * Maps the top-level fields of the details that a command loading the slice could have changed,
+   * keyed as in the stored document. Collections and the summary outside of the slice weren't
+   * loaded, so they're left out and keep their stored values.
+   */
+  public static Map<String, Object> mapToPatch(Book book, BookSlice slice) {
+    var patch = new LinkedHashMap<String, Object>();
+    patch.put("currentState", BookEntityMapping.toEntityState(book.currentState()).name());
+    patch.put("title", book.title().value());
+    patch.put("author", mapAuthor(book));
+    patch.put("publisherName", book.publisher().name().value());
+    patch.put("edition", book.getEdition().value());
+    patch.put("genre", book.genre() != null ? book.genre().value() : null);
+    patch.put("isbn", book.isbn() != null ? book.isbn().value() : null);
+    patch.put("publicationDate", book.publicationDate());
+    patch.put("totalPages", book.getTotalPages() != null ? book.getTotalPages().value() : null);
+    patch.put("numberOfIllustrations", book.getNumberOfIllustrations() != null ? book.getNumberOfIllustrations().value() : null);
+    patch.put("bindingType", book.getBindingType() != null ? book.getBindingType().value() : null);
+    patch.put("committeeApproval", mapCommitteeApproval(book));
+
+    if (slice == BookSlice.WHOLE)
+      patch.put("summary", book.getSummary() != null ? book.getSummary().value() : null);
+    if (slice.includes(Part.REVIEWERS))
+      patch.put("reviewers", mapReviewers(book));
+    if (slice.includes(Part.CHAPTERS))
+      patch.put("chapters", mapChapters(book));
+    if (slice.includes(Part.TRANSLATIONS))
+      patch.put("translations", mapTranslations(book));
+    if (slice.includes(Part.FORMATS))
+      patch.put("formats", mapFormats(book));
+
+    return patch;
+  }
+
+  private static AuthorDetails mapAuthor(Book book) {
+    return new AuthorDetails(book.author().firstName().value(), book.author().lastName().value());
+  }
+
+  private static CommitteeApprovalDetails mapCommitteeApproval(Book book) {
+    return book.getCommitteeApproval() != null
+      ? new CommitteeApprovalDetails(
+      book.getCommitteeApproval().isApproved(),
+      book.getCommitteeApproval().feedback().value()
+    ) : null;
+  }
+
+  private static String[] mapReviewers(Book book) {
+    return book.reviewers().stream()
+      .map(r -> r.name().value())
+      .toArray(String[]::new);
+  }
+
+  private static ChapterDetails[] mapChapters(Book book) {
+    return book.getChapters().stream()
+      .map(c -> new ChapterDetails(c.chapterNumber().value(), c.title().value()))
+      .toArray(ChapterDetails[]::new);
+  }
+
+  private static TranslationDetails[] mapTranslations(Book book) {
+    return book.getTranslations().stream()
+      .map(t -> new TranslationDetails(t.language().name().value(), t.translator().name().value()))
+      .toArray(TranslationDetails[]::new);
+  }
+
+  private static FormatDetails[] mapFormats(Book book) {
+    return book.getFormats().stream()
+      .map(f -> new FormatDetails(f.formatType().value(), f.totalCopies().value(), f.soldCopies().value()))
+      .toArray(FormatDetails[]::new);
+  }
+}
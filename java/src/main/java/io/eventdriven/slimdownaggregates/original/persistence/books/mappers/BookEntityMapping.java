@@ -0,0 +1,280 @@
+package io.eventdriven.slimdownaggregates.original.persistence.books.mappers;
+
+import io.eventdriven.slimdownaggregates.mapping.GenerateMapper;
+import io.eventdriven.slimdownaggregates.original.domain.books.Book;
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.*;
+import io.eventdriven.slimdownaggregates.original.domain.books.factories.BookFactory;
+import io.eventdriven.slimdownaggregates.original.domain.books.repositories.BookSlice;
+import io.eventdriven.slimdownaggregates.original.domain.books.repositories.BookSlice.Part;
+import io.eventdriven.slimdownaggregates.original.domain.books.repositories.ChapterContentRepository;
+import io.eventdriven.slimdownaggregates.original.domain.books.services.PublishingHouse;
+import io.eventdriven.slimdownaggregates.original.infrastructure.tracking.ListUpdater;
+import io.eventdriven.slimdownaggregates.original.infrastructure.valueobjects.NonEmptyString;
+import io.eventdriven.slimdownaggregates.original.infrastructure.valueobjects.PositiveInt;
+import io.eventdriven.slimdownaggregates.original.persistence.authors.AuthorEntity;
+import io.eventdriven.slimdownaggregates.original.persistence.books.BookEntity;
+import io.eventdriven.slimdownaggregates.original.persistence.books.entities.ChapterEntity;
+import io.eventdriven.slimdownaggregates.original.persistence.books.entities.FormatEntity;
+import io.eventdriven.slimdownaggregates.original.persistence.books.valueobjects.CommitteeApprovalVO;
+import io.eventdriven.slimdownaggregates.original.persistence.books.valueobjects.TranslationVO;
+import io.eventdriven.slimdownaggregates.original.persistence.publishers.PublisherEntity;
+import io.eventdriven.slimdownaggregates.original.persistence.reviewers.ReviewerEntity;
+import io.eventdriven.slimdownaggregates.original.persistence.translations.TranslationDictionary;
+import jakarta.persistence.EntityManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Mapping of the book entity to the aggregate and back. BookEntityMappingImpl is generated from it
+ * at compile time, so properties added to the entity or factory fail the build until they're mapped.
+ * It maps a single slice of the book, so it's created for each mapping.
+ */
+@GenerateMapper(
+  entity = BookEntity.class,
+  aggregate = Book.class,
+  factory = BookFactory.class,
+  renames = {"bookId=id", "state=currentState"},
+  ignore = {"version"}
+)
+public abstract class BookEntityMapping {
+  private final BookFactory bookFactory;
+  private final PublishingHouse publishingHouse;
+  private final TranslationDictionary dictionary;
+  private final ChapterContentRepository chapterContents;
+  private final EntityManager entityManager;
+  private final BookSlice slice;
+
+  protected BookEntityMapping(
+    BookFactory bookFactory,
+    PublishingHouse publishingHouse,
+    TranslationDictionary dictionary,
+    ChapterContentRepository chapterContents,
+    EntityManager entityManager,
+    BookSlice slice
+  ) {
+    this.bookFactory = bookFactory;
+    this.publishingHouse = publishingHouse;
+    this.dictionary = dictionary;
+    this.chapterContents = chapterContents;
+    this.entityManager = entityManager;
+    this.slice = slice;
+  }
+
+  protected BookFactory factory() {
+    return bookFactory;
+  }
+
+  // Summary isn't used by any of the book behaviours, it's loaded only with the whole book
+  protected boolean summaryLoaded() {
+    return slice == BookSlice.WHOLE;
+  }
+
+  protected boolean reviewersLoaded() {
+    return slice.includes(Part.REVIEWERS);
+  }
+
+  protected boolean chaptersLoaded() {
+    return slice.includes(Part.CHAPTERS);
+  }
+
+  protected boolean translationsLoaded() {
+    return slice.includes(Part.TRANSLATIONS);
+  }
+
+  protected boolean formatsLoaded() {
+    return slice.includes(Part.FORMATS);
+  }
+
+  protected PublishingHouse publishingHouse(BookEntity entity) {
+    return publishingHouse;
+  }
+
+  // Content is read by the book id and chapter number, not through the entity, so it can still
+  // be loaded after the transaction that loaded the book has ended
+  protected List<Chapter> chapters(BookEntity entity) {
+    var bookId = new BookId(entity.getId());
+    var entities = entity.getChapters();
+    var chapters = new ArrayList<Chapter>(entities.size());
+    for (var i = 0; i < entities.size(); i++) {
+      var c = entities.get(i);
+      var number = new ChapterNumber(c.getNumber());
+      chapters.add(new Chapter(
+        number,
+        new ChapterTitle(c.getTitle()),
+        () -> chapterContents.read(bookId, number)
+      ));
+    }
+    return chapters;
+  }
+
+  protected static BookId toBookId(UUID id) {
+    return new BookId(id);
+  }
+
+  protected static Title toTitle(String title) {
+    return new Title(title);
+  }
+
+  protected static Genre toGenre(String genre) {
+    return new Genre(genre);
+  }
+
+  protected static ISBN toIsbn(String isbn) {
+    return new ISBN(isbn);
+  }
+
+  protected static NonEmptyString toNonEmptyString(String value) {
+    return new NonEmptyString(value);
+  }
+
+  protected static PositiveInt toPositiveInt(int value) {
+    return new PositiveInt(value);
+  }
+
+  protected static Author toAuthor(AuthorEntity author) {
+    return new Author(
+      new AuthorId(author.getId()),
+      new AuthorFirstName(author.getFirstName()),
+      new AuthorLastName(author.getLastName())
+    );
+  }
+
+  protected static Publisher toPublisher(PublisherEntity publisher) {
+    return new Publisher(new PublisherId(publisher.getId()), new PublisherName(publisher.getName()));
+  }
+
+  protected static CommitteeApproval toCommitteeApproval(CommitteeApprovalVO approval) {
+    return new CommitteeApproval(approval.isApproved(), new NonEmptyString(approval.getFeedback()));
+  }
+
+  protected static Reviewer toReviewer(ReviewerEntity reviewer) {
+    return new Reviewer(new ReviewerId(reviewer.getId()), new ReviewerName(reviewer.getName()));
+  }
+
+  // Languages and translators come from the dictionary, so their lazy associations aren't initialized
+  protected Translation toTranslation(TranslationVO translation) {
+    return new Translation(dictionary.language(translation), dictionary.translator(translation));
+  }
+
+  protected static Format toFormat(FormatEntity format) {
+    return new Format(
+      new FormatType(format.getFormatType()),
+      new PositiveInt(format.getTotalCopies()),
+      new PositiveInt(format.getSoldCopies())
+    );
+  }
+
+  public static Book.State toState(BookEntity.State state) {
+    return switch (state) {
+      case Writing -> Book.State.WRITING;
+      case Editing -> Book.State.EDITING;
+      case Printing -> Book.State.PRINTING;
+      case Published -> Book.State.PUBLISHED;
+      case OutOfPrint -> Book.State.OUT_OF_PRINT;
+    };
+  }
+
+  public static BookEntity.State toEntityState(Book.State state) {
+    return switch (state) {
+      case WRITING -> BookEntity.State.Writing;
+      case EDITING -> BookEntity.State.Editing;
+      case PRINTING -> BookEntity.State.Printing;
+      case PUBLISHED -> BookEntity.State.Published;
+      case OUT_OF_PRINT -> BookEntity.State.OutOfPrint;
+    };
+  }
+
+  protected static UUID toValue(BookId id) {
+    return id.value();
+  }
+
+  protected static String toValue(Title title) {
+    return title.value();
+  }
+
+  protected static String toValue(Genre genre) {
+    return genre.value();
+  }
+
+  protected static String toValue(ISBN isbn) {
+    return isbn.value();
+  }
+
+  protected static String toValue(NonEmptyString value) {
+    return value.value();
+  }
+
+  protected static int toValue(PositiveInt value) {
+    return value.value();
+  }
+
+  protected static CommitteeApprovalVO toCommitteeApprovalVO(CommitteeApproval approval) {
+    return new CommitteeApprovalVO(approval.isApproved(), approval.feedback().value());
+  }
+
+  // Author and publisher were already resolved by their providers, so only references are needed.
+  // Loaded books already reference the right ones, so they're replaced only when changed
+
+  protected void author(Book book, BookEntity entity) {
+    var authorId = book.author().id().value();
+    if (entity.getAuthor() == null || !authorId.equals(entity.getAuthor().getId())) {
+      entity.setAuthor(entityManager.getReference(AuthorEntity.class, authorId));
+    }
+  }
+
+  protected void publisher(Book book, BookEntity entity) {
+    var publisherId = book.publisher().id().value();
+    if (entity.getPublisher() == null || !publisherId.equals(entity.getPublisher().getId())) {
+      entity.setPublisher(entityManager.getReference(PublisherEntity.class, publisherId));
+    }
+  }
+
+  protected void reviewers(Book book, BookEntity entity) {
+    ListUpdater.update(
+      entity.getReviewers(),
+      book.reviewers(),
+      ReviewerEntity::getId,
+      r -> r.id().value(),
+      (e, r) -> {},
+      r -> new ReviewerEntity(entity.getId(), r.id().value(), r.name().value())
+    );
+  }
+
+  protected void chapters(Book book, BookEntity entity) {
+    ListUpdater.update(
+      entity.getChapters(),
+      book.getChapters(),
+      ChapterEntity::getNumber,
+      c -> c.chapterNumber().value(),
+      ChapterEntity::update,
+      c -> new ChapterEntity(entity.getId(), c.chapterNumber().value(), c.title().value(), c.content().value())
+    );
+  }
+
+  protected void translations(Book book, BookEntity entity) {
+    ListUpdater.update(
+      entity.getTranslations(),
+      book.getTranslations(),
+      t -> new TranslationKey(t.getLanguageId(), t.getTranslatorId()),
+      t -> new TranslationKey(t.language().id().value(), t.translator().id().value()),
+      (e, t) -> {},
+      t -> new TranslationVO(t.language().id().value(), t.translator().id().value())
+    );
+  }
+
+  protected void formats(Book book, BookEntity entity) {
+    ListUpdater.update(
+      entity.getFormats(),
+      book.getFormats(),
+      FormatEntity::getFormatType,
+      f -> f.formatType().value(),
+      FormatEntity::update,
+      f -> new FormatEntity(entity.getId(), f.formatType().value(), f.totalCopies().value(), f.soldCopies().value())
+    );
+  }
+
+  private record TranslationKey(UUID languageId, UUID translatorId) {
+  }
+}
@@ -0,0 +1,118 @@
+package io.eventdriven.slimdownaggregates.original.persistence.books.repositories;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.eventdriven.slimdownaggregates.original.domain.books.Book;
+import io.eventdriven.slimdownaggregates.original.domain.books.dtos.BookDetails;
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.BookId;
+import io.eventdriven.slimdownaggregates.original.domain.books.repositories.BookSlice;
+import io.eventdriven.slimdownaggregates.original.domain.books.repositories.BooksQueryRepository;
+import io.eventdriven.slimdownaggregates.original.persistence.books.details.BookDetailsJpaRepository;
+import io.eventdriven.slimdownaggregates.original.persistence.books.details.BookDetailsRefreshed;
+import io.eventdriven.slimdownaggregates.original.persistence.books.mappers.BookDetailsMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Details are written with JDBC, replacing only the top-level keys of the document a command
+ * could have changed, so storing them doesn't read the document or rewrite untouched parts.
+ */
+@Repository
+public class BookDetailsRepository implements BooksQueryRepository {
+  private static final String PATCH = "UPDATE book_details SET data = data || ?::jsonb WHERE id = ?";
+
+  private static final String UPSERT = """
+    INSERT INTO book_details (id, data) VALUES (?, ?::jsonb)
+    ON CONFLICT (id) DO UPDATE SET data = EXCLUDED.data
+    """;
+
+  private final BookDetailsJpaRepository jpaRepository;
+  private final JdbcTemplate jdbcTemplate;
+  private final ObjectMapper objectMapper;
+  private final ApplicationEventPublisher eventPublisher;
+
+  public BookDetailsRepository(
+    BookDetailsJpaRepository jpaRepository,
+    JdbcTemplate jdbcTemplate,
+    ObjectMapper objectMapper,
+    ApplicationEventPublisher eventPublisher
+  ) {
+    this.jpaRepository = jpaRepository;
+    this.jdbcTemplate = jdbcTemplate;
+    this.eventPublisher = eventPublisher;
+    // Jackson drops the "is" prefix of boolean record components, which breaks reading them back
+    this.objectMapper = objectMapper.copy()
+      .addMixIn(BookDetails.CommitteeApprovalDetails.class, CommitteeApprovalDetailsMixIn.class);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Optional<BookDetails> findDetailsById(BookId bookId) {
+    return jpaRepository.findById(bookId.value())
+      .map(entity -> deserialize(entity.getData()));
+  }
+
+  /**
+   * Refreshes the details with the parts of the book loaded with the slice.
+   * Books that have no details yet, e.g. stored before the details were introduced,
+   * get them built from the whole book, as the slice alone would leave collections empty.
+   */
+  public void store(Book book, BookSlice slice, Supplier<Book> wholeBook) {
+    var patched = jdbcTemplate.update(
+      PATCH,
+      serialize(BookDetailsMapper.mapToPatch(book, slice)),
+      book.id().value()
+    );
+
+    if (patched == 0) {
+      var whole = slice == BookSlice.WHOLE ? book : wholeBook.get();
+      jdbcTemplate.update(UPSERT, whole.id().value(), serialize(BookDetailsMapper.mapToDetails(whole)));
+    }
+
+    eventPublisher.publishEvent(new BookDetailsRefreshed(book.id()));
+  }
+
+  /**
+   * Stores the details of books that are new in a single batch.
+   */
+  public void addAll(List<Book> books) {
+    var rows = new ArrayList<Object[]>(books.size());
+    for (var book : books) {
+      rows.add(new Object[]{book.id().value(), serialize(BookDetailsMapper.mapToDetails(book))});
+    }
+    jdbcTemplate.batchUpdate(UPSERT, rows);
+
+    for (var book : books) {
+      eventPublisher.publishEvent(new BookDetailsRefreshed(book.id()));
+    }
+  }
+
+  private String serialize(Object details) {
+    try {
+      return objectMapper.writeValueAsString(details);
+    } catch (JsonProcessingException ex) {
+      throw new RuntimeException("Error serializing book details", ex);
+    }
+  }
+
+  private BookDetails deserialize(String data) {
+    try {
+      return objectMapper.readValue(data, BookDetails.class);
+    } catch (JsonProcessingException ex) {
+      throw new RuntimeException("Error deserializing book details", ex);
+    }
+  }
+
+  private abstract static class CommitteeApprovalDetailsMixIn {
+    @JsonProperty("isApproved")
+    abstract boolean isApproved();
+  }
+}
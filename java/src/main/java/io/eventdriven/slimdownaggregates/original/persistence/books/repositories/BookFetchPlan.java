@@ -0,0 +1,63 @@
+package io.eventdriven.slimdownaggregates.original.persistence.books.repositories;
+
+import io.eventdriven.slimdownaggregates.original.domain.books.repositories.BookSlice;
+import io.eventdriven.slimdownaggregates.original.domain.books.repositories.BookSlice.Part;
+import io.eventdriven.slimdownaggregates.original.persistence.books.BookEntity;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+/**
+ * Selects which collection is joined into the query loading the book.
+ * Author and publisher are always joined, the other collections are loaded
+ * with one subselect each, so the number of queries doesn't depend on the book size.
+ */
+public enum BookFetchPlan {
+  /**
+   * Used by setISBN, joins only author and publisher.
+   */
+  HEADER(BooksJpaRepository::findById),
+  /**
+   * Used by addChapter, moveToEditing and moveToPrinting.
+   */
+  CHAPTERS(BooksJpaRepository::findWithChaptersById),
+  /**
+   * Used by addFormat, removeFormat and moveToOutOfPrint.
+   */
+  FORMATS(BooksJpaRepository::findWithFormatsById),
+  /**
+   * Used by addReviewer and approve.
+   */
+  REVIEWERS(BooksJpaRepository::findWithReviewersById),
+  /**
+   * Used by addTranslation and moveToPublished.
+   */
+  TRANSLATIONS(BooksJpaRepository::findWithTranslationsById);
+
+  private final BiFunction<BooksJpaRepository, UUID, Optional<BookEntity>> finder;
+
+  BookFetchPlan(BiFunction<BooksJpaRepository, UUID, Optional<BookEntity>> finder) {
+    this.finder = finder;
+  }
+
+  Optional<BookEntity> find(BooksJpaRepository repository, UUID id) {
+    return finder.apply(repository, id);
+  }
+
+  /**
+   * Joins the largest collection included in the slice.
+   */
+  static BookFetchPlan of(BookSlice slice) {
+    if (slice.includes(Part.CHAPTERS))
+      return CHAPTERS;
+    if (slice.includes(Part.FORMATS))
+      return FORMATS;
+    if (slice.includes(Part.REVIEWERS))
+      return REVIEWERS;
+    if (slice.includes(Part.TRANSLATIONS))
+      return TRANSLATIONS;
+
+    return HEADER;
+  }
+}
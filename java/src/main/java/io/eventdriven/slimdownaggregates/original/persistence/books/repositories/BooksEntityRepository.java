@@ -2,60 +2,203 @@ package io.eventdriven.slimdownaggregates.original.persistence.books.repositorie
 
 import io.eventdriven.slimdownaggregates.original.domain.books.Book;
 import io.eventdriven.slimdownaggregates.original.domain.books.entities.BookId;
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.Chapter;
+import io.eventdriven.slimdownaggregates.original.domain.books.events.ChapterAddedEvent;
+import io.eventdriven.slimdownaggregates.original.domain.books.repositories.ChapterContentRepository;
 import io.eventdriven.slimdownaggregates.original.domain.books.factories.BookFactory;
+import io.eventdriven.slimdownaggregates.original.domain.books.repositories.BookSlice;
 import io.eventdriven.slimdownaggregates.original.domain.books.repositories.BooksRepository;
+import io.eventdriven.slimdownaggregates.original.domain.books.services.PublishingHouse;
 import io.eventdriven.slimdownaggregates.original.persistence.books.BookEntity;
-import io.eventdriven.slimdownaggregates.original.persistence.books.mappers.BookEntityMapper;
+import io.eventdriven.slimdownaggregates.original.persistence.books.mappers.BookEntityMappingImpl;
+import io.eventdriven.slimdownaggregates.original.persistence.core.outbox.Outbox;
 import io.eventdriven.slimdownaggregates.original.persistence.core.repositories.JpaEntityRepository;
+import io.eventdriven.slimdownaggregates.original.persistence.translations.TranslationDictionary;
 import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Repository;
-import org.springframework.data.jpa.repository.EntityGraph;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public class BooksEntityRepository extends JpaEntityRepository<Book, UUID, BookEntity> implements BooksRepository {
+public class BooksEntityRepository extends JpaEntityRepository<Book, UUID, BookEntity, BookSlice> implements BooksRepository {
 
   @PersistenceContext
   private EntityManager entityManager;
 
+  private final BooksJpaRepository booksJpaRepository;
   private final BookFactory bookFactory;
+  private final PublishingHouse publishingHouse;
+  private final BookDetailsRepository bookDetailsRepository;
+  private final TranslationDictionary translationDictionary;
+  private final ChapterContentRepository chapterContentRepository;
+  private final int batchSize;
 
   @Autowired
-  public BooksEntityRepository(BooksJpaRepository jpaRepository, BookFactory bookFactory) {
-      super(jpaRepository);
+  public BooksEntityRepository(
+    BooksJpaRepository jpaRepository,
+    BookFactory bookFactory,
+    PublishingHouse publishingHouse,
+    BookDetailsRepository bookDetailsRepository,
+    TranslationDictionary translationDictionary,
+    ChapterContentRepository chapterContentRepository,
+    Outbox outbox,
+    ApplicationEventPublisher eventPublisher,
+    int batchSize
+  ) {
+      super(jpaRepository, BookSlice.WHOLE, outbox, eventPublisher);
+      this.booksJpaRepository = jpaRepository;
       this.bookFactory = bookFactory;
+      this.publishingHouse = publishingHouse;
+      this.bookDetailsRepository = bookDetailsRepository;
+      this.translationDictionary = translationDictionary;
+      this.chapterContentRepository = chapterContentRepository;
+      this.batchSize = batchSize;
   }
 
   @Override
-  @EntityGraph(attributePaths = {
-    "author",
-    "publisher",
-    "reviewers",
-    "chapters",
-    "translations",
-    "formats"
-  })
   public Optional<Book> findById(BookId id) {
-    return super.findById(id.value());
+    return findById(id, BookSlice.WHOLE);
+  }
+
+  @Override
+  public Optional<Book> findById(BookId id, BookSlice slice) {
+    return BookFetchPlan.of(slice).find(booksJpaRepository, id.value())
+      .map(entity -> track(
+        entity,
+        mapping(slice).toAggregate(entity),
+        slice
+      ));
+  }
+
+  /**
+   * Persists the books in chunks of the JDBC batch size, flushing and clearing
+   * the persistence context after each, so memory doesn't grow with the import.
+   */
+  @Override
+  public void addAll(List<Book> books) {
+    for (var from = 0; from < books.size(); from += batchSize) {
+      var chunk = books.subList(from, Math.min(from + batchSize, books.size()));
+
+      for (var book : chunk) {
+        entityManager.persist(mapToEntity(book));
+        scheduleOutbox(book);
+      }
+      bookDetailsRepository.addAll(chunk);
+
+      entityManager.flush();
+      entityManager.clear();
+
+      for (var book : chunk) {
+        publishDomainEvents(book.getDomainEvents());
+        book.clearEvents();
+      }
+    }
+  }
+
+  /**
+   * Inserts the added chapters with JDBC instead of through the book entity, so the persistence
+   * context can be cleared after each part. The first call increments the version of the loaded
+   * book, which keeps the row locked until commit and fails if the book was changed meanwhile.
+   * The book stops being tracked, so it can't be updated with entities detached by the clear,
+   * and the unloaded chapters read their content by key rather than through an entity.
+   */
+  @Override
+  public void appendChapters(Book book) {
+    var chapters = new ArrayList<Chapter>();
+    for (var event : book.getDomainEvents()) {
+      if (!(event instanceof ChapterAddedEvent chapterAdded))
+        throw new IllegalStateException("Only added chapters can be appended");
+
+      chapters.add(chapterAdded.chapter());
+    }
+    if (chapters.isEmpty())
+      return;
+
+    var loaded = untrack(book);
+    if (loaded != null)
+      entityManager.lock(loaded.entity(), LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+
+    chapterContentRepository.append(book.id(), chapters);
+    scheduleOutbox(book);
+
+    entityManager.flush();
+    entityManager.clear();
+
+    publishDomainEvents(book.getDomainEvents());
+    book.clearEvents();
+
+    for (var chapter : chapters) {
+      chapter.unloadContent(() -> chapterContentRepository.read(book.id(), chapter.chapterNumber()));
+    }
+  }
+
+  @Override
+  public void finishAppendingChapters(Book book) {
+    // Chapter details have no content, so this doesn't load the appended chapters back
+    bookDetailsRepository.store(book, BookSlice.CHAPTERS, () -> loadWhole(book.id()));
+  }
+
+  private Book loadWhole(BookId id) {
+    return BookFetchPlan.of(BookSlice.WHOLE).find(booksJpaRepository, id.value())
+      .map(this::mapToAggregate)
+      .orElseThrow(() -> new IllegalStateException("Book with ID %s doesn't exist".formatted(id.value())));
   }
 
   @Override
   protected Book mapToAggregate(BookEntity entity) {
-    return BookEntityMapper.mapToAggregate(entity, bookFactory);
+    return mapping(BookSlice.WHOLE).toAggregate(entity);
   }
 
   @Override
   protected BookEntity mapToEntity(Book aggregate) {
-    return BookEntityMapper.mapToEntity(aggregate, new BookEntity(), entityManager);
+    return mapping(BookSlice.WHOLE).toEntity(aggregate, new BookEntity());
+  }
+
+  @Override
+  protected void updateEntity(BookEntity entity, Book aggregate, BookSlice slice) {
+    // Sales increment sold copies and the book version with SQL. Taking the row lock with a version
+    // check fails on formats read before a sale and keeps sales from interleaving until commit.
+    // Commands only reading the formats write no format rows, so they don't need it.
+    if (slice.includes(BookSlice.Part.FORMATS) && formatsChanged(entity, aggregate))
+      entityManager.lock(entity, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+
+    mapping(slice).toEntity(aggregate, entity);
+  }
+
+  private static boolean formatsChanged(BookEntity entity, Book aggregate) {
+    var stored = entity.getFormats();
+    var current = aggregate.getFormats();
+    if (stored.size() != current.size())
+      return true;
+
+    for (var i = 0; i < stored.size(); i++) {
+      var storedFormat = stored.get(i);
+      var format = current.get(i);
+      if (!storedFormat.getFormatType().equals(format.formatType().value())
+        || storedFormat.getTotalCopies() != format.totalCopies().value()
+        || storedFormat.getSoldCopies() != format.soldCopies().value())
+        return true;
+    }
+    return false;
+  }
+
+  private BookEntityMappingImpl mapping(BookSlice slice) {
+    return new BookEntityMappingImpl(
+      bookFactory, publishingHouse, translationDictionary, chapterContentRepository, entityManager, slice
+    );
   }
 
   @Override
-  protected void updateEntity(BookEntity entity, Book aggregate) {
-      BookEntityMapper.mapToEntity(aggregate, entity, entityManager);
+  protected void afterSave(Book aggregate, BookEntity entity, BookSlice slice) {
+    // The entity is still managed, so mapping it whole loads the collections outside of the slice
+    bookDetailsRepository.store(aggregate, slice, () -> mapToAggregate(entity));
   }
 
   @Override
@@ -1,12 +1,24 @@
 package io.eventdriven.slimdownaggregates.original.persistence.books.repositories;
 
 import io.eventdriven.slimdownaggregates.original.persistence.books.BookEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface BooksJpaRepository extends JpaRepository<BookEntity, UUID> {
+  @EntityGraph(BookEntity.WITH_CHAPTERS)
+  Optional<BookEntity> findWithChaptersById(UUID id);
+
+  @EntityGraph(BookEntity.WITH_FORMATS)
+  Optional<BookEntity> findWithFormatsById(UUID id);
+
+  @EntityGraph(BookEntity.WITH_REVIEWERS)
+  Optional<BookEntity> findWithReviewersById(UUID id);
+
+  @EntityGraph(BookEntity.WITH_TRANSLATIONS)
+  Optional<BookEntity> findWithTranslationsById(UUID id);
 }
@@ -0,0 +1,79 @@
+package io.eventdriven.slimdownaggregates.original.persistence.books.repositories;
+
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.BookId;
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.Chapter;
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.ChapterNumber;
+import io.eventdriven.slimdownaggregates.original.domain.books.repositories.ChapterContentRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+public class ChapterContentJdbcRepository implements ChapterContentRepository {
+  private final JdbcTemplate jdbcTemplate;
+
+  public ChapterContentJdbcRepository(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public boolean read(BookId bookId, ChapterNumber chapterNumber, Writer output) {
+    Boolean found = jdbcTemplate.query(
+      "SELECT content FROM chapters WHERE book_id = ? AND number = ?",
+      rs -> {
+        if (!rs.next())
+          return false;
+
+        try (var content = rs.getCharacterStream(1)) {
+          if (content != null)
+            content.transferTo(output);
+        } catch (IOException e) {
+          throw new UncheckedIOException("Error streaming chapter content", e);
+        }
+        return true;
+      },
+      bookId.value(),
+      chapterNumber.value()
+    );
+
+    return Boolean.TRUE.equals(found);
+  }
+
+  @Override
+  public boolean write(BookId bookId, ChapterNumber chapterNumber, Reader input) {
+    var updated = jdbcTemplate.update(
+      "UPDATE chapters SET content = ? WHERE book_id = ? AND number = ?",
+      ps -> {
+        ps.setCharacterStream(1, input);
+        ps.setObject(2, bookId.value());
+        ps.setInt(3, chapterNumber.value());
+      }
+    );
+
+    return updated > 0;
+  }
+
+  @Override
+  public void append(BookId bookId, List<Chapter> chapters) {
+    var rows = new ArrayList<Object[]>(chapters.size());
+    for (var chapter : chapters) {
+      rows.add(new Object[]{
+        bookId.value(),
+        chapter.chapterNumber().value(),
+        chapter.title().value(),
+        chapter.content().value()
+      });
+    }
+
+    jdbcTemplate.batchUpdate(
+      "INSERT INTO chapters (book_id, number, title, content) VALUES (?, ?, ?, ?)",
+      rows
+    );
+  }
+}
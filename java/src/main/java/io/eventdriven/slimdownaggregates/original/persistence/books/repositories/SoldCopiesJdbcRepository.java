@@ -0,0 +1,190 @@
+package io.eventdriven.slimdownaggregates.original.persistence.books.repositories;
+
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.BookId;
+import io.eventdriven.slimdownaggregates.original.domain.books.events.CopiesSoldEvent;
+import io.eventdriven.slimdownaggregates.original.domain.books.repositories.SoldCopiesRepository;
+import io.eventdriven.slimdownaggregates.original.infrastructure.events.DomainEvent;
+import io.eventdriven.slimdownaggregates.original.infrastructure.valueobjects.NonEmptyString;
+import io.eventdriven.slimdownaggregates.original.infrastructure.valueobjects.PositiveInt;
+import io.eventdriven.slimdownaggregates.original.persistence.books.BookEntity;
+import io.eventdriven.slimdownaggregates.original.persistence.books.details.BookDetailsRefreshed;
+import io.eventdriven.slimdownaggregates.original.persistence.core.outbox.Outbox;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Adds sold copies with relative updates, so concurrent increments don't need the book
+ * to be loaded and can't overwrite each other. The formats of the stored book details
+ * are patched in the same transaction to keep the read model in step.
+ * <p>
+ * Book has no command for sales, so their invariants are checked in the statements: only published
+ * books sell copies, and not more than were printed. Increments breaking them are returned as unmatched.
+ * The books are locked and their version incremented first, so commands that loaded them
+ * before the sale fail instead of writing back the formats they read.
+ */
+public class SoldCopiesJdbcRepository implements SoldCopiesRepository {
+  // Keeps the number of bind parameters of a statement well below the driver limit
+  private static final int CHUNK_SIZE = 1000;
+
+  private static final String LOCK_PUBLISHED = """
+    UPDATE books SET version = version + 1
+    WHERE id IN (
+      SELECT id FROM books WHERE id IN (%s) AND current_state = ? ORDER BY id FOR UPDATE
+    )
+    RETURNING id
+    """;
+
+  private static final String ADD_TO_FORMATS = """
+    UPDATE formats SET sold_copies = formats.sold_copies + sold.copies
+    FROM (VALUES %s) AS sold(book_id, format_type, copies)
+    WHERE formats.book_id = sold.book_id AND formats.format_type = sold.format_type
+      AND formats.sold_copies + sold.copies <= formats.total_copies
+    RETURNING formats.book_id, formats.format_type
+    """;
+
+  private static final String ADD_TO_DETAILS = """
+    UPDATE book_details
+    SET data = jsonb_set(data, '{formats}', (
+      SELECT jsonb_agg(
+        CASE WHEN format ->> 'formatType' = ?
+          THEN jsonb_set(format, '{soldCopies}', to_jsonb((format ->> 'soldCopies')::bigint + ?))
+          ELSE format
+        END
+        ORDER BY position)
+      FROM jsonb_array_elements(data -> 'formats') WITH ORDINALITY AS formats(format, position)
+    ))
+    WHERE id = ? AND jsonb_array_length(data -> 'formats') > 0
+    """;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final Outbox outbox;
+  private final ApplicationEventPublisher eventPublisher;
+
+  public SoldCopiesJdbcRepository(
+    JdbcTemplate jdbcTemplate,
+    TransactionTemplate transactionTemplate,
+    Outbox outbox,
+    ApplicationEventPublisher eventPublisher
+  ) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = transactionTemplate;
+    this.outbox = outbox;
+    this.eventPublisher = eventPublisher;
+  }
+
+  @Override
+  public List<SoldCopies> add(Collection<SoldCopies> increments) {
+    if (increments.isEmpty())
+      return List.of();
+
+    return transactionTemplate.execute(status -> {
+      var all = List.copyOf(increments);
+      var unmatched = new ArrayList<SoldCopies>();
+
+      for (var from = 0; from < all.size(); from += CHUNK_SIZE) {
+        unmatched.addAll(addChunk(all.subList(from, Math.min(from + CHUNK_SIZE, all.size()))));
+      }
+
+      return unmatched;
+    });
+  }
+
+  private List<SoldCopies> addChunk(List<SoldCopies> increments) {
+    var published = lockPublished(increments);
+
+    // A row is updated once per statement, so increments of the same format are summed first
+    var summed = new LinkedHashMap<FormatKey, Long>();
+    for (var increment : increments) {
+      if (published.contains(increment.bookId().value()))
+        summed.merge(FormatKey.of(increment), increment.copies(), Long::sum);
+    }
+    // More copies than fit in the column can't have been printed
+    summed.values().removeIf(copies -> copies > Integer.MAX_VALUE);
+
+    var applied = addToFormats(summed);
+
+    var matched = new ArrayList<SoldCopies>(applied.size());
+    var unmatched = new ArrayList<SoldCopies>();
+    for (var increment : increments) {
+      (applied.contains(FormatKey.of(increment)) ? matched : unmatched).add(increment);
+    }
+
+    if (matched.isEmpty())
+      return unmatched;
+
+    // Update counts aren't used, the rows to patch are the ones returned above
+    jdbcTemplate.batchUpdate(
+      ADD_TO_DETAILS,
+      matched.stream()
+        .map(i -> new Object[]{i.formatType().value(), i.copies(), i.bookId().value()})
+        .toList()
+    );
+
+    var events = new LinkedHashMap<BookId, List<DomainEvent>>();
+    for (var increment : matched) {
+      events.computeIfAbsent(increment.bookId(), id -> new ArrayList<>()).add(new CopiesSoldEvent(
+        increment.bookId(),
+        increment.formatType(),
+        new PositiveInt(Math.toIntExact(increment.copies()))
+      ));
+    }
+    events.forEach((bookId, bookEvents) -> {
+      outbox.schedule(new NonEmptyString(bookId.value().toString()), bookEvents);
+      eventPublisher.publishEvent(new BookDetailsRefreshed(bookId));
+    });
+
+    return unmatched;
+  }
+
+  private HashSet<UUID> lockPublished(List<SoldCopies> increments) {
+    var bookIds = increments.stream().map(i -> i.bookId().value()).distinct().toList();
+
+    var args = new ArrayList<Object>(bookIds);
+    args.add(BookEntity.State.Published.name());
+
+    return new HashSet<>(jdbcTemplate.query(
+      LOCK_PUBLISHED.formatted(placeholders(bookIds.size(), "?")),
+      (rs, rowNum) -> rs.getObject("id", UUID.class),
+      args.toArray()
+    ));
+  }
+
+  private HashSet<FormatKey> addToFormats(Map<FormatKey, Long> increments) {
+    if (increments.isEmpty())
+      return new HashSet<>();
+
+    var args = new ArrayList<Object>(increments.size() * 3);
+    increments.forEach((key, copies) -> {
+      args.add(key.bookId());
+      args.add(key.formatType());
+      args.add(copies);
+    });
+
+    return new HashSet<>(jdbcTemplate.query(
+      ADD_TO_FORMATS.formatted(placeholders(increments.size(), "(?::uuid, ?, ?::int)")),
+      (rs, rowNum) -> new FormatKey(rs.getObject("book_id", UUID.class), rs.getString("format_type")),
+      args.toArray()
+    ));
+  }
+
+  private static String placeholders(int count, String placeholder) {
+    return String.join(", ", Collections.nCopies(count, placeholder));
+  }
+
+  private record FormatKey(UUID bookId, String formatType) {
+    static FormatKey of(SoldCopies increment) {
+      return new FormatKey(increment.bookId().value(), increment.formatType().value());
+    }
+  }
+}
@@ -5,7 +5,8 @@ import jakarta.persistence.Embeddable;
 @Embeddable
 public class CommitteeApprovalVO {
 
-  private boolean isApproved;
+  // Boxed, so the column stays nullable for books that weren't approved by the committee yet
+  private Boolean isApproved;
   private String feedback;
 
   // Default constructor for JPA
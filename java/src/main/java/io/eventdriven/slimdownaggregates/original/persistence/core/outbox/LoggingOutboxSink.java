@@ -0,0 +1,20 @@
+package io.eventdriven.slimdownaggregates.original.persistence.core.outbox;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+
+/**
+ * Default sink used until a message broker is plugged in.
+ */
+public class LoggingOutboxSink implements OutboxSink {
+  private static final Logger logger = LogManager.getLogger(LoggingOutboxSink.class);
+
+  @Override
+  public void publish(List<OutboxMessage> messages) {
+    messages.forEach(message ->
+      logger.debug("Published {} at position {}", message.messageType(), message.position())
+    );
+  }
+}
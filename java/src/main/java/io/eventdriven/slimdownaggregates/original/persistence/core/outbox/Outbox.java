@@ -0,0 +1,45 @@
+package io.eventdriven.slimdownaggregates.original.persistence.core.outbox;
+
+import io.eventdriven.slimdownaggregates.original.infrastructure.events.DomainEvent;
+import io.eventdriven.slimdownaggregates.original.infrastructure.events.EventEnvelope.EventMetadata;
+import io.eventdriven.slimdownaggregates.original.infrastructure.events.TypedEventEnvelope;
+import io.eventdriven.slimdownaggregates.original.infrastructure.valueobjects.NonEmptyString;
+import io.eventdriven.slimdownaggregates.original.persistence.core.outbox.serialization.EventSerializer;
+import io.eventdriven.slimdownaggregates.original.persistence.core.outbox.serialization.EventTypeRegistry;
+
+import java.util.List;
+
+/**
+ * Appends domain events to the outbox table. Must be called in the transaction
+ * that stores the aggregate, so events are recorded only if the change is.
+ */
+public class Outbox {
+  private final OutboxMessageRepository repository;
+  private final EventSerializer serializer;
+  private final EventTypeRegistry eventTypes;
+
+  public Outbox(
+    OutboxMessageRepository repository,
+    EventSerializer serializer,
+    EventTypeRegistry eventTypes
+  ) {
+    this.repository = repository;
+    this.serializer = serializer;
+    this.eventTypes = eventTypes;
+  }
+
+  public void schedule(NonEmptyString recordId, List<DomainEvent> events) {
+    if (events.isEmpty())
+      return;
+
+    var messages = events.stream()
+      .map(event -> OutboxMessageEntity.from(
+        new TypedEventEnvelope<>(event, new EventMetadata(recordId)),
+        serializer,
+        eventTypes
+      ))
+      .toList();
+
+    repository.saveAll(messages);
+  }
+}
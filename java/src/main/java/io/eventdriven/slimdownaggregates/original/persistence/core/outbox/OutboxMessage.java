@@ -0,0 +1,12 @@
+package io.eventdriven.slimdownaggregates.original.persistence.core.outbox;
+
+import java.time.OffsetDateTime;
+
+public record OutboxMessage(
+  long position,
+  String messageId,
+  String messageType,
+  byte[] data,
+  OffsetDateTime scheduled
+) {
+}
@@ -1,11 +1,12 @@
 package io.eventdriven.slimdownaggregates.original.persistence.core.outbox;
 
 import io.eventdriven.slimdownaggregates.original.infrastructure.events.EventEnvelope;
+import io.eventdriven.slimdownaggregates.original.persistence.core.outbox.serialization.EventSerializer;
+import io.eventdriven.slimdownaggregates.original.persistence.core.outbox.serialization.EventTypeRegistry;
 import jakarta.persistence.*;
 
 import java.time.OffsetDateTime;
 import java.util.UUID;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 @Entity
 @Table(name = "outboxmessages")
@@ -20,8 +21,8 @@ public class OutboxMessageEntity {
   @Column(nullable = false)
   private String messageType;
 
-  @Column(nullable = false)
-  private String data;
+  @Column(nullable = false, columnDefinition = "bytea")
+  private byte[] data;
 
   @Column(nullable = false)
   private OffsetDateTime scheduled;
@@ -29,26 +30,24 @@ public class OutboxMessageEntity {
   // Default constructor required by JPA
   public OutboxMessageEntity() {}
 
-  public OutboxMessageEntity(String messageId, String messageType, String data, OffsetDateTime scheduled) {
+  public OutboxMessageEntity(String messageId, String messageType, byte[] data, OffsetDateTime scheduled) {
     this.messageId = messageId;
     this.messageType = messageType;
     this.data = data;
     this.scheduled = scheduled;
   }
 
-  public static OutboxMessageEntity from(EventEnvelope eventEnvelope, ObjectMapper objectMapper) {
-    try {
-      String serializedData = objectMapper.writeValueAsString(eventEnvelope.event());
-
-      return new OutboxMessageEntity(
-        UUID.randomUUID().toString(),
-        eventEnvelope.event().getClass().getName(),
-        serializedData,
-        OffsetDateTime.now()
-      );
-    } catch (Exception ex) {
-      throw new RuntimeException("Error serializing eventEnvelope", ex);
-    }
+  public static OutboxMessageEntity from(
+    EventEnvelope eventEnvelope,
+    EventSerializer serializer,
+    EventTypeRegistry eventTypes
+  ) {
+    return new OutboxMessageEntity(
+      UUID.randomUUID().toString(),
+      eventTypes.codeOf(eventEnvelope.event().getClass()),
+      serializer.serialize(eventEnvelope.event()),
+      OffsetDateTime.now()
+    );
   }
 }
 
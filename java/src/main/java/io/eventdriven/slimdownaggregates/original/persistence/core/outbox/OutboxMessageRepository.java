@@ -3,9 +3,7 @@ package io.eventdriven.slimdownaggregates.original.persistence.core.outbox;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.UUID;
-
 @Repository
-public interface OutboxMessageRepository extends JpaRepository<OutboxMessageEntity, UUID> {
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessageEntity, Long> {
 }
 
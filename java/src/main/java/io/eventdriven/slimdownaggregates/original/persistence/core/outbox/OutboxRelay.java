@@ -0,0 +1,102 @@
+package io.eventdriven.slimdownaggregates.original.persistence.core.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox in batches ordered by position and passes them to the sink.
+ * Rows are locked with SKIP LOCKED, so several instances can relay concurrently
+ * without publishing the same message twice, though then order is kept only within
+ * a batch. Messages are removed in the same transaction once the sink accepted them,
+ * so delivery is at least once.
+ */
+public class OutboxRelay {
+  private static final String SELECT_BATCH = """
+    SELECT position, message_id, message_type, data, scheduled
+    FROM outboxmessages
+    ORDER BY position
+    LIMIT ?
+    FOR UPDATE SKIP LOCKED
+    """;
+
+  private static final String DELETE_MESSAGE =
+    "DELETE FROM outboxmessages WHERE position = ?";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final OutboxSink sink;
+  private final int batchSize;
+
+  private final Counter publishedMessages;
+  private final Timer batchDuration;
+  private final AtomicLong lagInMillis = new AtomicLong();
+
+  public OutboxRelay(
+    JdbcTemplate jdbcTemplate,
+    TransactionTemplate transactionTemplate,
+    OutboxSink sink,
+    int batchSize,
+    MeterRegistry meterRegistry
+  ) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = transactionTemplate;
+    this.sink = sink;
+    this.batchSize = batchSize;
+
+    this.publishedMessages = meterRegistry.counter("outbox.relay.published");
+    this.batchDuration = meterRegistry.timer("outbox.relay.batch");
+    meterRegistry.gauge("outbox.relay.lag", lagInMillis, AtomicLong::get);
+  }
+
+  @Scheduled(fixedDelayString = "${outbox.relay.poll-interval:PT1S}")
+  public void poll() {
+    int relayed;
+    do {
+      relayed = batchDuration.record(() -> transactionTemplate.execute(status -> relayBatch()));
+    } while (relayed == batchSize);
+  }
+
+  /**
+   * Publishes the next batch and returns how many messages it had.
+   */
+  int relayBatch() {
+    var messages = jdbcTemplate.query(
+      SELECT_BATCH,
+      (rs, rowNum) -> new OutboxMessage(
+        rs.getLong("position"),
+        rs.getString("message_id"),
+        rs.getString("message_type"),
+        rs.getBytes("data"),
+        rs.getObject("scheduled", OffsetDateTime.class)
+      ),
+      batchSize
+    );
+
+    if (messages.isEmpty()) {
+      lagInMillis.set(0);
+      return 0;
+    }
+
+    lagInMillis.set(Duration.between(messages.get(0).scheduled(), OffsetDateTime.now()).toMillis());
+
+    sink.publish(messages);
+
+    // Deleted one by one, as rows locked by another relay may lie between the positions
+    jdbcTemplate.batchUpdate(
+      DELETE_MESSAGE,
+      messages.stream().map(m -> new Object[]{m.position()}).toList()
+    );
+    publishedMessages.increment(messages.size());
+
+    return messages.size();
+  }
+}
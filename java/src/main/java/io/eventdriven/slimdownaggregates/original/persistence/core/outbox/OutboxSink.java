@@ -0,0 +1,12 @@
+package io.eventdriven.slimdownaggregates.original.persistence.core.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of the messages relayed from the outbox, e.g. a message broker.
+ * Messages are passed in the order of their position. Throwing an exception
+ * leaves the whole batch in the outbox to be retried in the next poll.
+ */
+public interface OutboxSink {
+  void publish(List<OutboxMessage> messages);
+}
@@ -0,0 +1,8 @@
+package io.eventdriven.slimdownaggregates.original.persistence.core.outbox.serialization;
+
+/**
+ * Serialises event payloads stored in the outbox.
+ */
+public interface EventSerializer {
+  byte[] serialize(Object event);
+}
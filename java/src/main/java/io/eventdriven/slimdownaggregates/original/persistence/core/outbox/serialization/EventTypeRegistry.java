@@ -0,0 +1,40 @@
+package io.eventdriven.slimdownaggregates.original.persistence.core.outbox.serialization;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Short, stable codes stored as the message type instead of full class names.
+ * Codes must not be reused, as relayed messages are identified by them.
+ */
+public class EventTypeRegistry {
+  private final Map<Class<?>, String> codes = new HashMap<>();
+  private final Map<String, Class<?>> types = new HashMap<>();
+
+  public EventTypeRegistry register(Class<?> type, String code) {
+    if (types.containsKey(code))
+      throw new IllegalArgumentException("Event type code " + code + " is already registered for " + types.get(code).getName());
+    if (codes.containsKey(type))
+      throw new IllegalArgumentException("Event type " + type.getName() + " is already registered as " + codes.get(type));
+
+    codes.put(type, code);
+    types.put(code, type);
+    return this;
+  }
+
+  public String codeOf(Class<?> type) {
+    var code = codes.get(type);
+    if (code == null)
+      throw new IllegalArgumentException("Event type " + type.getName() + " is not registered");
+
+    return code;
+  }
+
+  public Class<?> typeOf(String code) {
+    var type = types.get(code);
+    if (type == null)
+      throw new IllegalArgumentException("Event type code " + code + " is not registered");
+
+    return type;
+  }
+}
@@ -0,0 +1,38 @@
+package io.eventdriven.slimdownaggregates.original.persistence.core.outbox.serialization;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Serialises events with Jackson, either as JSON or as Smile, its binary equivalent.
+ * Domain entities don't follow the bean convention, so their fields are serialised instead.
+ */
+public class JacksonEventSerializer implements EventSerializer {
+  private final ObjectMapper objectMapper;
+
+  private JacksonEventSerializer(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper
+      .setVisibility(PropertyAccessor.ALL, Visibility.NONE)
+      .setVisibility(PropertyAccessor.FIELD, Visibility.ANY);
+  }
+
+  public static JacksonEventSerializer json(ObjectMapper objectMapper) {
+    return new JacksonEventSerializer(objectMapper.copy());
+  }
+
+  public static JacksonEventSerializer smile() {
+    return new JacksonEventSerializer(new ObjectMapper(new SmileFactory()).findAndRegisterModules());
+  }
+
+  @Override
+  public byte[] serialize(Object event) {
+    try {
+      return objectMapper.writeValueAsBytes(event);
+    } catch (JsonProcessingException ex) {
+      throw new RuntimeException("Error serializing event " + event.getClass().getName(), ex);
+    }
+  }
+}
@@ -1,50 +1,113 @@
 package io.eventdriven.slimdownaggregates.original.persistence.core.repositories;
 
+import io.eventdriven.slimdownaggregates.original.infrastructure.aggregates.Aggregate;
 import io.eventdriven.slimdownaggregates.original.infrastructure.events.DomainEvent;
-import jakarta.persistence.EntityNotFoundException;
+import io.eventdriven.slimdownaggregates.original.infrastructure.valueobjects.NonEmptyString;
+import io.eventdriven.slimdownaggregates.original.persistence.core.outbox.Outbox;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.WeakHashMap;
 
 @Repository
-public abstract class JpaEntityRepository<TAggregate, TKey, TEntity> {
+public abstract class JpaEntityRepository<TAggregate extends Aggregate<?>, TKey, TEntity, TSlice> {
 
-  public JpaEntityRepository(JpaRepository<TEntity, TKey> jpaRepository) {
+  public JpaEntityRepository(
+    JpaRepository<TEntity, TKey> jpaRepository,
+    TSlice wholeSlice,
+    Outbox outbox,
+    ApplicationEventPublisher eventPublisher
+  ) {
     this.jpaRepository = jpaRepository;
+    this.wholeSlice = wholeSlice;
+    this.outbox = outbox;
+    this.eventPublisher = eventPublisher;
   }
 
   protected JpaRepository<TEntity, TKey> jpaRepository;
+  private final TSlice wholeSlice;
+  private final Outbox outbox;
+  private final ApplicationEventPublisher eventPublisher;
+
+  /**
+   * Entity an aggregate was mapped from, together with the slice of the aggregate that was loaded.
+   * Kept as one record, so an update can't pair the entity with a slice it wasn't loaded with.
+   */
+  protected record Loaded<TEntity, TSlice>(TEntity entity, TSlice slice) {
+  }
+
+  /**
+   * Entities loaded by findById or stored by add, keyed by the aggregate instance mapped from them.
+   * Lets updates reuse the already loaded entity instead of fetching it again, also when
+   * the same aggregate is updated more than once. Weak keys drop entries of aggregates
+   * that are no longer used.
+   */
+  private final Map<TAggregate, Loaded<TEntity, TSlice>> loadedEntities =
+    Collections.synchronizedMap(new WeakHashMap<>());
 
   /**
    * Find an aggregate by its ID.
    */
   public Optional<TAggregate> findById(TKey id) {
     Optional<TEntity> entity = jpaRepository.findById(id);
-    return entity.map(this::mapToAggregate);
+    return entity.map(this::track);
   }
 
   /**
    * Add a new aggregate.
    */
   public void add(TAggregate aggregate) {
-    TEntity entity = mapToEntity(aggregate);
-    jpaRepository.save(entity);
-    // Handle domain events if needed, e.g., publishDomainEvents(aggregate.getDomainEvents());
+    TEntity entity = jpaRepository.save(mapToEntity(aggregate));
+    loadedEntities.put(aggregate, new Loaded<>(entity, wholeSlice));
+    afterSave(aggregate, entity, wholeSlice);
+    scheduleOutbox(aggregate);
+    publishDomainEvents(aggregate.getDomainEvents());
+    aggregate.clearEvents();
   }
 
   /**
-   * Update an existing aggregate.
+   * Update an existing aggregate. It must have been loaded or added through this repository,
+   * as collections outside of the loaded slice would otherwise be taken as empty.
    */
   public void update(TAggregate aggregate) {
-    var entity = jpaRepository.findById(getId(aggregate));
-    if (entity.isEmpty()) {
-      throw new EntityNotFoundException("Entity with ID " + getId(aggregate) + " not found.");
-    }
-    updateEntity(entity.get(), aggregate);
-    jpaRepository.save(entity.get());
-    // Handle domain events if needed, e.g., publishDomainEvents(aggregate.getDomainEvents());
+    var loaded = loadedEntities.get(aggregate);
+    if (loaded == null)
+      throw new IllegalStateException(
+        "Aggregate with ID " + getId(aggregate) + " wasn't loaded by this repository, so its slice is unknown.");
+
+    updateEntity(loaded.entity(), aggregate, loaded.slice());
+    jpaRepository.save(loaded.entity());
+    afterSave(aggregate, loaded.entity(), loaded.slice());
+    scheduleOutbox(aggregate);
+    publishDomainEvents(aggregate.getDomainEvents());
+    aggregate.clearEvents();
+  }
+
+  /**
+   * Maps a loaded entity to the whole aggregate and remembers the entity for the following updates.
+   */
+  protected TAggregate track(TEntity entity) {
+    return track(entity, mapToAggregate(entity), wholeSlice);
+  }
+
+  /**
+   * Remembers the entity and the slice the aggregate was mapped from for the following updates.
+   */
+  protected TAggregate track(TEntity entity, TAggregate aggregate, TSlice slice) {
+    loadedEntities.put(aggregate, new Loaded<>(entity, slice));
+    return aggregate;
+  }
+
+  /**
+   * Forgets the entity the aggregate was mapped from, after which the aggregate can't be updated.
+   */
+  protected Loaded<TEntity, TSlice> untrack(TAggregate aggregate) {
+    return loadedEntities.remove(aggregate);
   }
 
   /**
@@ -58,9 +121,9 @@ public abstract class JpaEntityRepository<TAggregate, TKey, TEntity> {
   protected abstract TEntity mapToEntity(TAggregate aggregate);
 
   /**
-   * Updates the state of an entity using the state of an aggregate.
+   * Updates the state of an entity using the loaded slice of an aggregate.
    */
-  protected abstract void updateEntity(TEntity entity, TAggregate aggregate);
+  protected abstract void updateEntity(TEntity entity, TAggregate aggregate, TSlice slice);
 
   /**
    * Gets the ID of an aggregate.
@@ -68,10 +131,25 @@ public abstract class JpaEntityRepository<TAggregate, TKey, TEntity> {
   protected abstract TKey getId(TAggregate aggregate);
 
   /**
-   * (Optional) Handles the publishing of domain events.
+   * (Optional) Called in the same transaction after the entity was saved,
+   * e.g. to refresh read models.
+   */
+  protected void afterSave(TAggregate aggregate, TEntity entity, TSlice slice) {
+  }
+
+  /**
+   * Appends domain events to the outbox in the transaction that stores the aggregate.
+   */
+  protected void scheduleOutbox(TAggregate aggregate) {
+    outbox.schedule(new NonEmptyString(getId(aggregate).toString()), aggregate.getDomainEvents());
+  }
+
+  /**
+   * Publishes domain events to the listeners of the application.
+   * Transactional listeners get them once the transaction commits.
    */
   protected void publishDomainEvents(List<DomainEvent> events) {
-    // Implement event publishing logic here if you have any
+    events.forEach(eventPublisher::publishEvent);
   }
 }
 
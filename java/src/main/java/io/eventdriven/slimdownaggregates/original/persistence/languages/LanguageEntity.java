@@ -4,10 +4,12 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.UUID;
 
 @Entity
+@BatchSize(size = 16)
 public class LanguageEntity {
   @Id
   @GeneratedValue(strategy = GenerationType.AUTO)
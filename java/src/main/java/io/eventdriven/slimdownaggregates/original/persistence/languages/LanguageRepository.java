@@ -0,0 +1,7 @@
+package io.eventdriven.slimdownaggregates.original.persistence.languages;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+public interface LanguageRepository extends JpaRepository<LanguageEntity, UUID> {}
@@ -0,0 +1,72 @@
+package io.eventdriven.slimdownaggregates.original.persistence.publishers;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.Publisher;
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.PublisherId;
+import io.eventdriven.slimdownaggregates.original.domain.books.publishers.PublisherProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.time.Duration;
+
+/**
+ * Keeps publishers in memory, bounded by size and time to live, as they're referenced
+ * by every new book but almost never change. Can be filled upfront when the application
+ * starts. Publishers are only changed outside of the application, so the time to live bounds
+ * how long a changed publisher can be served stale, unless its entry is invalidated sooner.
+ */
+public class PublisherCache implements PublisherProvider {
+  private final PublisherService publisherService;
+  private final int maximumSize;
+  private final boolean preload;
+  private final Cache<PublisherId, Publisher> cache;
+
+  public PublisherCache(
+    PublisherService publisherService,
+    int maximumSize,
+    Duration timeToLive,
+    boolean preload,
+    MeterRegistry meterRegistry
+  ) {
+    this.publisherService = publisherService;
+    this.maximumSize = maximumSize;
+    this.preload = preload;
+    this.cache = CaffeineCacheMetrics.monitor(
+      meterRegistry,
+      Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(timeToLive)
+        .recordStats()
+        .build(),
+      "publishers"
+    );
+  }
+
+  @Override
+  public Publisher getById(PublisherId publisherId) {
+    // Concurrent misses of a publisher wait for a single load.
+    // Missing publishers throw, so they're never cached.
+    return cache.get(publisherId, publisherService::getById);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void preload() {
+    if (!preload)
+      return;
+
+    for (var publisher : publisherService.getAll(maximumSize)) {
+      cache.put(publisher.id(), publisher);
+    }
+  }
+
+  public void invalidate(PublisherId publisherId) {
+    cache.invalidate(publisherId);
+  }
+
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+}
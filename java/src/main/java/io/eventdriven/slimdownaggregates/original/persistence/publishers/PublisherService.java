@@ -4,9 +4,12 @@ import io.eventdriven.slimdownaggregates.original.domain.books.entities.Publishe
 import io.eventdriven.slimdownaggregates.original.domain.books.entities.PublisherId;
 import io.eventdriven.slimdownaggregates.original.domain.books.entities.PublisherName;
 import io.eventdriven.slimdownaggregates.original.domain.books.publishers.PublisherProvider;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @Transactional(readOnly = true)
 public class PublisherService implements PublisherProvider {
@@ -18,7 +21,17 @@ public class PublisherService implements PublisherProvider {
 
   public Publisher getById(PublisherId publisherId) {
     return publisherRepository.findById(publisherId.value())
-      .map(p -> new Publisher(new PublisherId(p.getId()), new PublisherName(p.getName())))
+      .map(PublisherService::map)
       .orElseThrow(() -> new IllegalStateException("Publisher not found"));
   }
+
+  public List<Publisher> getAll(int limit) {
+    return publisherRepository.findAll(PageRequest.of(0, limit)).stream()
+      .map(PublisherService::map)
+      .toList();
+  }
+
+  private static Publisher map(PublisherEntity entity) {
+    return new Publisher(new PublisherId(entity.getId()), new PublisherName(entity.getName()));
+  }
 }
@@ -1,23 +1,34 @@
 package io.eventdriven.slimdownaggregates.original.persistence.reviewers;
 
+import io.eventdriven.slimdownaggregates.original.persistence.books.BookEntity;
 import jakarta.persistence.*;
 
 import java.util.UUID;
 
+// Rows belong to the reviewed book, so the same reviewer can review many books
 @Entity
 @Table(name = "reviewers")
+@IdClass(ReviewerId.class)
 public class ReviewerEntity {
   @Id
-  @GeneratedValue(strategy = GenerationType.AUTO)
   private UUID id;
 
+  @Id
+  @Column(name = "book_id", nullable = false)
+  private UUID bookId;
+
   private String name;
 
+  @ManyToOne
+  @JoinColumn(name = "book_id", insertable = false, updatable = false)
+  private BookEntity book;
+
   public ReviewerEntity() {
     // Default constructor for JPA
   }
 
-  public ReviewerEntity(UUID id, String name) {
+  public ReviewerEntity(UUID bookId, UUID id, String name) {
+    this.bookId = bookId;
     this.id = id;
     this.name = name;
   }
@@ -32,6 +43,14 @@ public class ReviewerEntity {
     this.id = id;
   }
 
+  public UUID getBookId() {
+    return bookId;
+  }
+
+  public void setBookId(UUID bookId) {
+    this.bookId = bookId;
+  }
+
   public String getName() {
     return name;
   }
@@ -39,4 +58,12 @@ public class ReviewerEntity {
   public void setName(String lastName) {
     this.name = lastName;
   }
+
+  public BookEntity getBook() {
+    return book;
+  }
+
+  public void setBook(BookEntity book) {
+    this.book = book;
+  }
 }
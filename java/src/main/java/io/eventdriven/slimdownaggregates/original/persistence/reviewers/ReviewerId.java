@@ -0,0 +1,31 @@
+package io.eventdriven.slimdownaggregates.original.persistence.reviewers;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.UUID;
+
+public class ReviewerId implements Serializable {
+
+  private UUID id;
+  private UUID bookId;
+
+  public ReviewerId() {}
+
+  public ReviewerId(UUID id, UUID bookId) {
+    this.id = id;
+    this.bookId = bookId;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    ReviewerId reviewerId = (ReviewerId) o;
+    return Objects.equals(id, reviewerId.id) && Objects.equals(bookId, reviewerId.bookId);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(id, bookId);
+  }
+}
@@ -0,0 +1,89 @@
+package io.eventdriven.slimdownaggregates.original.persistence.translations;
+
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.Language;
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.LanguageId;
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.LanguageName;
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.Translator;
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.TranslatorId;
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.TranslatorName;
+import io.eventdriven.slimdownaggregates.original.persistence.books.valueobjects.TranslationVO;
+import io.eventdriven.slimdownaggregates.original.persistence.languages.LanguageEntity;
+import io.eventdriven.slimdownaggregates.original.persistence.translators.TranslatorEntity;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Languages and translators by id, loaded when the application starts and refreshed periodically.
+ * Both tables are small and read-mostly, so translations are mapped without selecting
+ * them for every loaded book. Ids added since the last refresh are read through
+ * the translation's lazy association once and kept until the next refresh.
+ */
+public class TranslationDictionary {
+  private final Supplier<List<LanguageEntity>> languagesLoader;
+  private final Supplier<List<TranslatorEntity>> translatorsLoader;
+  private volatile ConcurrentHashMap<UUID, Language> languages = new ConcurrentHashMap<>();
+  private volatile ConcurrentHashMap<UUID, Translator> translators = new ConcurrentHashMap<>();
+
+  public TranslationDictionary(
+    Supplier<List<LanguageEntity>> languagesLoader,
+    Supplier<List<TranslatorEntity>> translatorsLoader
+  ) {
+    this.languagesLoader = languagesLoader;
+    this.translatorsLoader = translatorsLoader;
+  }
+
+  public Language language(TranslationVO translation) {
+    var language = languages.get(translation.getLanguageId());
+    if (language != null)
+      return language;
+
+    language = map(translation.getLanguage());
+    languages.put(language.id().value(), language);
+
+    return language;
+  }
+
+  public Translator translator(TranslationVO translation) {
+    var translator = translators.get(translation.getTranslatorId());
+    if (translator != null)
+      return translator;
+
+    translator = map(translation.getTranslator());
+    translators.put(translator.id().value(), translator);
+
+    return translator;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(
+    initialDelayString = "${translations.dictionary.refresh-interval:PT5M}",
+    fixedDelayString = "${translations.dictionary.refresh-interval:PT5M}"
+  )
+  public void refresh() {
+    var loadedLanguages = new ConcurrentHashMap<UUID, Language>();
+    for (var entity : languagesLoader.get()) {
+      loadedLanguages.put(entity.getId(), map(entity));
+    }
+    var loadedTranslators = new ConcurrentHashMap<UUID, Translator>();
+    for (var entity : translatorsLoader.get()) {
+      loadedTranslators.put(entity.getId(), map(entity));
+    }
+
+    languages = loadedLanguages;
+    translators = loadedTranslators;
+  }
+
+  private static Language map(LanguageEntity entity) {
+    return new Language(new LanguageId(entity.getId()), new LanguageName(entity.getName()));
+  }
+
+  private static Translator map(TranslatorEntity entity) {
+    return new Translator(new TranslatorId(entity.getId()), new TranslatorName(entity.getName()));
+  }
+}
@@ -1,10 +1,12 @@
 package io.eventdriven.slimdownaggregates.original.persistence.translators;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.UUID;
 
 @Entity
+@BatchSize(size = 16)
 @Table(name = "translators")
 public class TranslatorEntity {
   @Id
@@ -0,0 +1,7 @@
+package io.eventdriven.slimdownaggregates.original.persistence.translators;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+public interface TranslatorRepository extends JpaRepository<TranslatorEntity, UUID> {}
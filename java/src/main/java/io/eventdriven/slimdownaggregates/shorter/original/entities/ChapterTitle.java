@@ -1,5 +1,7 @@
 package io.eventdriven.slimdownaggregates.shorter.original.entities;
 
+import java.util.Objects;
+
 public class ChapterTitle {
   private final String value;
 
@@ -10,4 +12,18 @@ public class ChapterTitle {
   public String getValue() {
     return value;
   }
+
+  // Book.addChapter compares titles to reject duplicates
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    ChapterTitle that = (ChapterTitle) o;
+    return Objects.equals(value, that.value);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(value);
+  }
 }
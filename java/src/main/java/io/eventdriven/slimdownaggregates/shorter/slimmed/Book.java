@@ -1,12 +1,15 @@
 package io.eventdriven.slimdownaggregates.shorter.slimmed;
 
+import io.eventdriven.slimdownaggregates.shorter.slimmed.core.PersistentHashSet;
+import io.eventdriven.slimdownaggregates.shorter.slimmed.core.PersistentVector;
 import io.eventdriven.slimdownaggregates.shorter.slimmed.entities.*;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import static io.eventdriven.slimdownaggregates.shorter.slimmed.BookEvent.*;
 import static io.eventdriven.slimdownaggregates.shorter.slimmed.core.ListExtensions.except;
+import static io.eventdriven.slimdownaggregates.shorter.slimmed.core.ListExtensions.replace;
 import static io.eventdriven.slimdownaggregates.shorter.slimmed.core.ListExtensions.union;
 
 public sealed interface Book {
@@ -20,7 +23,9 @@ public sealed interface Book {
     Title title,
     Author author,
     ISBN isbn,
-    List<String> chapterTitles
+    Set<String> chapterTitles,
+    // Null until the first chapter is added, the sequence rule only looks at the previous chapter
+    String lastChapterTitle
   ) implements Book {
   }
 
@@ -31,6 +36,8 @@ public sealed interface Book {
     Author author,
     ISBN isbn,
     List<Format> formats,
+    long totalCopies,
+    long soldCopies,
     int translationsCount,
     int reviewersCount,
     boolean isApproved
@@ -44,6 +51,8 @@ public sealed interface Book {
     Author author,
     ISBN isbn,
     List<Format> formats,
+    long totalCopies,
+    long soldCopies,
     int reviewersCount,
 
     int translationsCount
@@ -52,7 +61,9 @@ public sealed interface Book {
 
   record InPublishing(
     BookId bookId,
-    List<Format> formats
+    List<Format> formats,
+    long totalCopies,
+    long soldCopies
   ) implements Book {
   }
 
@@ -73,7 +84,8 @@ public sealed interface Book {
           writingStarted.title(),
           writingStarted.author(),
           writingStarted.isbn(),
-          new ArrayList<>()
+          PersistentHashSet.empty(),
+          null
         );
       }
       case ChapterAdded chapterAdded: {
@@ -87,7 +99,8 @@ public sealed interface Book {
           bookInWriting.title(),
           bookInWriting.author(),
           bookInWriting.isbn(),
-          union(bookInWriting.chapterTitles(), chapterAdded.chapter().getTitle().getValue())
+          PersistentHashSet.from(bookInWriting.chapterTitles()).with(chapterAdded.chapter().getTitle().getValue()),
+          chapterAdded.chapter().getTitle().getValue()
         );
       }
       case MovedToEditing ignore: {
@@ -100,7 +113,9 @@ public sealed interface Book {
           bookInWriting.title(),
           bookInWriting.author(),
           bookInWriting.isbn(),
-          new ArrayList<>(),
+          PersistentVector.empty(),
+          0,
+          0,
           0,
           0,
           false
@@ -117,6 +132,8 @@ public sealed interface Book {
           bookInEditing.author(),
           bookInEditing.isbn(),
           union(bookInEditing.formats(), formatAdded.format()),
+          bookInEditing.totalCopies() + formatAdded.format().getTotalCopies(),
+          bookInEditing.soldCopies() + formatAdded.format().getSoldCopies(),
           bookInEditing.translationsCount(),
           bookInEditing.reviewersCount(),
           bookInEditing.isApproved()
@@ -126,13 +143,20 @@ public sealed interface Book {
         if (!(state instanceof Book.InEditing bookInEditing)) {
           yield state;
         }
+        var formatType = formatRemoved.format().getFormatType();
+        // Counters are decreased by the stored format, as the event may carry different copies
+        var removed = bookInEditing.formats().stream()
+          .filter(f -> f.getFormatType().equals(formatType))
+          .findFirst();
         yield new Book.InEditing(
           bookInEditing.bookId(),
           bookInEditing.genre(),
           bookInEditing.title(),
           bookInEditing.author(),
           bookInEditing.isbn(),
-          except(bookInEditing.formats(), f -> f.getFormatType().equals(formatRemoved.format().getFormatType())),
+          except(bookInEditing.formats(), f -> f.getFormatType().equals(formatType)),
+          bookInEditing.totalCopies() - removed.map(Format::getTotalCopies).orElse(0),
+          bookInEditing.soldCopies() - removed.map(Format::getSoldCopies).orElse(0),
           bookInEditing.translationsCount(),
           bookInEditing.reviewersCount(),
           bookInEditing.isApproved()
@@ -149,6 +173,8 @@ public sealed interface Book {
           bookInEditing.author(),
           bookInEditing.isbn(),
           bookInEditing.formats(),
+          bookInEditing.totalCopies(),
+          bookInEditing.soldCopies(),
           bookInEditing.translationsCount() + 1,
           bookInEditing.reviewersCount(),
           bookInEditing.isApproved()
@@ -165,6 +191,8 @@ public sealed interface Book {
           bookInEditing.author(),
           bookInEditing.isbn(),
           bookInEditing.formats(),
+          bookInEditing.totalCopies(),
+          bookInEditing.soldCopies(),
           bookInEditing.translationsCount() + 1,
           bookInEditing.reviewersCount(),
           true
@@ -181,6 +209,8 @@ public sealed interface Book {
           bookInEditing.author(),
           bookInEditing.isbn(),
           bookInEditing.formats(),
+          bookInEditing.totalCopies(),
+          bookInEditing.soldCopies(),
           bookInEditing.reviewersCount,
           bookInEditing.translationsCount
         );
@@ -192,7 +222,25 @@ public sealed interface Book {
 
         yield new InPublishing(
           bookInPrinting.bookId,
-          bookInPrinting.formats()
+          bookInPrinting.formats(),
+          bookInPrinting.totalCopies(),
+          bookInPrinting.soldCopies()
+        );
+      }
+      case CopiesSold copiesSold: {
+        if (!(state instanceof InPublishing bookInPublishing)) {
+          yield state;
+        }
+
+        yield new InPublishing(
+          bookInPublishing.bookId(),
+          replace(
+            bookInPublishing.formats(),
+            f -> f.getFormatType().equals(copiesSold.formatType()),
+            f -> new Format(f.getFormatType(), f.getTotalCopies(), f.getSoldCopies() + copiesSold.copies())
+          ),
+          bookInPublishing.totalCopies(),
+          bookInPublishing.soldCopies() + copiesSold.copies()
         );
       }
       case MovedToOutOfPrint ignore: {
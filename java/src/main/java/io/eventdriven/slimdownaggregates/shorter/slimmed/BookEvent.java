@@ -65,4 +65,11 @@ public sealed interface BookEvent {
       BookId bookId
     ) implements BookEvent {
   }
+
+  record CopiesSold(
+    BookId bookId,
+    String formatType,
+    int copies
+  ) implements BookEvent {
+  }
 }
@@ -0,0 +1,190 @@
+package io.eventdriven.slimdownaggregates.shorter.slimmed;
+
+import io.eventdriven.slimdownaggregates.shorter.slimmed.core.Codec;
+import io.eventdriven.slimdownaggregates.shorter.slimmed.entities.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static io.eventdriven.slimdownaggregates.shorter.slimmed.BookEvent.*;
+
+/**
+ * Binary encoding of book events: a type tag followed by the fields in declaration order.
+ * Tags are persisted, so they must not be changed or reused.
+ */
+public final class BookEventCodec implements Codec<BookEvent> {
+  private static final byte WRITING_STARTED = 1;
+  private static final byte CHAPTER_ADDED = 2;
+  private static final byte MOVED_TO_EDITING = 3;
+  private static final byte FORMAT_ADDED = 4;
+  private static final byte FORMAT_REMOVED = 5;
+  private static final byte TRANSLATION_ADDED = 6;
+  private static final byte APPROVED = 7;
+  private static final byte MOVED_TO_PRINTING = 8;
+  private static final byte PUBLISHED = 9;
+  private static final byte MOVED_TO_OUT_OF_PRINT = 10;
+  private static final byte COPIES_SOLD = 11;
+
+  @Override
+  public byte[] encode(BookEvent event) {
+    var bytes = new ByteArrayOutputStream();
+    try (var out = new DataOutputStream(bytes)) {
+      switch (event) {
+        case WritingStarted e -> {
+          out.writeByte(WRITING_STARTED);
+          writeBookId(out, e.bookId());
+          writeString(out, e.genre() != null ? e.genre().getName() : null);
+          writeString(out, e.title().getValue());
+          writeString(out, e.author().getName());
+          writeString(out, e.isbn() != null ? e.isbn().getNumber() : null);
+        }
+        case ChapterAdded e -> {
+          out.writeByte(CHAPTER_ADDED);
+          writeBookId(out, e.bookId());
+          writeString(out, e.chapter().getTitle().getValue());
+          writeString(out, e.chapter().getContent().getValue());
+        }
+        case MovedToEditing e -> {
+          out.writeByte(MOVED_TO_EDITING);
+          writeBookId(out, e.bookId());
+        }
+        case FormatAdded e -> {
+          out.writeByte(FORMAT_ADDED);
+          writeBookId(out, e.bookId());
+          writeFormat(out, e.format());
+        }
+        case FormatRemoved e -> {
+          out.writeByte(FORMAT_REMOVED);
+          writeBookId(out, e.bookId());
+          writeFormat(out, e.format());
+        }
+        case TranslationAdded e -> {
+          out.writeByte(TRANSLATION_ADDED);
+          writeBookId(out, e.bookId());
+          writeString(out, e.translation().getLanguage().getName());
+          writeString(out, e.translation().getTranslator().getName());
+        }
+        case Approved e -> {
+          out.writeByte(APPROVED);
+          writeBookId(out, e.bookId());
+          out.writeBoolean(e.committeeApproval().isApproved());
+          writeString(out, e.committeeApproval().getFeedback());
+        }
+        case MovedToPrinting e -> {
+          out.writeByte(MOVED_TO_PRINTING);
+          writeBookId(out, e.bookId());
+        }
+        case Published e -> {
+          out.writeByte(PUBLISHED);
+          writeBookId(out, e.bookId());
+          writeString(out, e.isbn() != null ? e.isbn().getNumber() : null);
+          writeString(out, e.title().getValue());
+          writeString(out, e.author().getName());
+        }
+        case MovedToOutOfPrint e -> {
+          out.writeByte(MOVED_TO_OUT_OF_PRINT);
+          writeBookId(out, e.bookId());
+        }
+        case CopiesSold e -> {
+          out.writeByte(COPIES_SOLD);
+          writeBookId(out, e.bookId());
+          writeString(out, e.formatType());
+          out.writeInt(e.copies());
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  @Override
+  public BookEvent decode(ByteBuffer in) {
+    var tag = in.get();
+    var bookId = readBookId(in);
+
+    return switch (tag) {
+      case WRITING_STARTED -> new WritingStarted(
+        bookId,
+        readNullable(in, Genre::new),
+        new Title(readString(in)),
+        new Author(readString(in)),
+        readNullable(in, ISBN::new)
+      );
+      case CHAPTER_ADDED -> new ChapterAdded(
+        bookId,
+        new Chapter(new ChapterTitle(readString(in)), new ChapterContent(readString(in)))
+      );
+      case MOVED_TO_EDITING -> new MovedToEditing(bookId);
+      case FORMAT_ADDED -> new FormatAdded(bookId, readFormat(in));
+      case FORMAT_REMOVED -> new FormatRemoved(bookId, readFormat(in));
+      case TRANSLATION_ADDED -> new TranslationAdded(
+        bookId,
+        new Translation(new Language(readString(in)), new Translator(readString(in)))
+      );
+      case APPROVED -> new Approved(bookId, new CommitteeApproval(in.get() != 0, readString(in)));
+      case MOVED_TO_PRINTING -> new MovedToPrinting(bookId);
+      case PUBLISHED -> new Published(
+        bookId,
+        readNullable(in, ISBN::new),
+        new Title(readString(in)),
+        new Author(readString(in))
+      );
+      case MOVED_TO_OUT_OF_PRINT -> new MovedToOutOfPrint(bookId);
+      case COPIES_SOLD -> new CopiesSold(bookId, readString(in), in.getInt());
+      default -> throw new IllegalArgumentException("Unknown book event tag " + tag);
+    };
+  }
+
+  static void writeBookId(DataOutputStream out, BookId bookId) throws IOException {
+    out.writeLong(bookId.getValue().getMostSignificantBits());
+    out.writeLong(bookId.getValue().getLeastSignificantBits());
+  }
+
+  static BookId readBookId(ByteBuffer in) {
+    return new BookId(new UUID(in.getLong(), in.getLong()));
+  }
+
+  static void writeFormat(DataOutputStream out, Format format) throws IOException {
+    writeString(out, format.getFormatType());
+    out.writeInt(format.getTotalCopies());
+    out.writeInt(format.getSoldCopies());
+  }
+
+  static Format readFormat(ByteBuffer in) {
+    return new Format(readString(in), in.getInt(), in.getInt());
+  }
+
+  // Length-prefixed UTF-8, as writeUTF is limited to 64KB and chapters can be longer
+  static void writeString(DataOutputStream out, String value) throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+      return;
+    }
+    var bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  // Optional value objects, e.g. the genre or ISBN, are written as a null string when missing
+  static <T> T readNullable(ByteBuffer in, Function<String, T> create) {
+    var value = readString(in);
+    return value != null ? create.apply(value) : null;
+  }
+
+  static String readString(ByteBuffer in) {
+    var length = in.getInt();
+    if (length < 0)
+      return null;
+
+    var bytes = new byte[length];
+    in.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
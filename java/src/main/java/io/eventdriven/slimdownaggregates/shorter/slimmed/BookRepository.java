@@ -1,8 +1,17 @@
 package io.eventdriven.slimdownaggregates.shorter.slimmed;
 
+import io.eventdriven.slimdownaggregates.shorter.slimmed.core.Versioned;
 import io.eventdriven.slimdownaggregates.shorter.slimmed.entities.BookId;
 
 public interface BookRepository {
   Book find(BookId bookId);
   void save(BookEvent bookEvent);
+
+  Versioned<Book> findVersioned(BookId bookId);
+
+  /**
+   * Saves the event only if the book is still at the expected version, or at any with EventStore.ANY_VERSION.
+   * Repositories that don't version books accept only EventStore.ANY_VERSION.
+   */
+  void save(BookEvent bookEvent, long expectedVersion);
 }
@@ -72,6 +72,13 @@ public final class BookService {
         BookId bookId
       ) implements BookCommand {
     }
+
+    record RecordCopiesSold(
+      BookId bookId,
+      String formatType,
+      int copies
+    ) implements BookCommand {
+    }
   }
 
 
@@ -89,6 +96,7 @@ public final class BookService {
       case Print print -> handle(publishingHouse, print, ofType(state, Book.InEditing.class));
       case Publish publish -> handle(publish, ofType(state, Book.InPrinting.class));
       case MoveToOutOfPrint moveToOutOfPrint -> handle(moveToOutOfPrint, ofType(state, Book.InPublishing.class));
+      case RecordCopiesSold recordCopiesSold -> handle(recordCopiesSold, ofType(state, Book.InPublishing.class));
     };
   }
 
@@ -107,13 +115,16 @@ public final class BookService {
     var title = command.title();
     var content = command.content();
 
-    if (!state.chapterTitles().contains(title.getValue())) {
+    if (state.chapterTitles().contains(title.getValue())) {
       throw new IllegalStateException("chapter with the same title already exists.");
     }
 
-    if (!title.getValue().equals("chapter %s".formatted(state.chapterTitles().size()))) {
+    // Same rule as the original aggregate: the previous chapter must be titled after its position,
+    // the first chapter can have any title
+    var chapters = state.chapterTitles().size();
+    if (chapters > 0 && !state.lastChapterTitle().equals("chapter " + chapters)) {
       throw new IllegalStateException(
-        "chapter should be added in sequence. The title of the next chapter should be 'chapter " + (state.chapterTitles().size()) + "'.");
+        "chapter should be added in sequence. The title of the next chapter should be 'chapter " + (chapters + 1) + "'.");
     }
 
     var chapter = new Chapter(title, content);
@@ -189,13 +200,26 @@ public final class BookService {
   }
 
   public static MovedToOutOfPrint handle(MoveToOutOfPrint command, Book.InPublishing state) {
-    double totalCopies = state.formats().stream().mapToDouble(Format::getTotalCopies).sum();
-    double totalSoldCopies = state.formats().stream().mapToDouble(Format::getSoldCopies).sum();
-    if ((totalSoldCopies / totalCopies) > 0.1)
+    if (((double) state.soldCopies() / state.totalCopies()) > 0.1)
       throw new IllegalStateException(
         "Cannot move to Out of Print state if more than 10% of total copies are unsold.");
 
     return new MovedToOutOfPrint(state.bookId());
   }
+
+  public static CopiesSold handle(RecordCopiesSold command, Book.InPublishing state) {
+    if (command.copies() <= 0)
+      throw new IllegalArgumentException("Number of sold copies must be positive.");
+
+    var format = state.formats().stream()
+      .filter(f -> f.getFormatType().equals(command.formatType()))
+      .findFirst()
+      .orElseThrow(() -> new IllegalStateException("format " + command.formatType() + " does not exist."));
+
+    if (format.getSoldCopies() + command.copies() > format.getTotalCopies())
+      throw new IllegalStateException("Cannot sell more copies of format " + command.formatType() + " than were printed.");
+
+    return new CopiesSold(state.bookId(), command.formatType(), command.copies());
+  }
 }
 
@@ -0,0 +1,178 @@
+package io.eventdriven.slimdownaggregates.shorter.slimmed;
+
+import io.eventdriven.slimdownaggregates.shorter.slimmed.core.Codec;
+import io.eventdriven.slimdownaggregates.shorter.slimmed.core.PersistentHashSet;
+import io.eventdriven.slimdownaggregates.shorter.slimmed.core.PersistentVector;
+import io.eventdriven.slimdownaggregates.shorter.slimmed.entities.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Set;
+
+import static io.eventdriven.slimdownaggregates.shorter.slimmed.BookEventCodec.*;
+
+/**
+ * Binary encoding of book states for snapshots: a state tag followed by its fields.
+ * Tags are persisted, so they must not be changed or reused.
+ */
+public final class BookSnapshotCodec implements Codec<Book> {
+  private static final byte INITIAL = 1;
+  private static final byte IN_WRITING = 2;
+  private static final byte IN_EDITING = 3;
+  private static final byte IN_PRINTING = 4;
+  private static final byte IN_PUBLISHING = 5;
+  private static final byte OUT_OF_PRINT = 6;
+
+  @Override
+  public byte[] encode(Book book) {
+    var bytes = new ByteArrayOutputStream();
+    try (var out = new DataOutputStream(bytes)) {
+      switch (book) {
+        case Book.Initial ignore -> out.writeByte(INITIAL);
+        case Book.InWriting state -> {
+          out.writeByte(IN_WRITING);
+          writeBookId(out, state.bookId());
+          writeString(out, state.genre() != null ? state.genre().getName() : null);
+          writeString(out, state.title().getValue());
+          writeString(out, state.author().getName());
+          writeString(out, state.isbn() != null ? state.isbn().getNumber() : null);
+          out.writeInt(state.chapterTitles().size());
+          for (var chapterTitle : state.chapterTitles()) {
+            writeString(out, chapterTitle);
+          }
+          writeString(out, state.lastChapterTitle());
+        }
+        case Book.InEditing state -> {
+          out.writeByte(IN_EDITING);
+          writeBookId(out, state.bookId());
+          writeString(out, state.genre() != null ? state.genre().getName() : null);
+          writeString(out, state.title().getValue());
+          writeString(out, state.author().getName());
+          writeString(out, state.isbn() != null ? state.isbn().getNumber() : null);
+          writeFormats(out, state.formats());
+          out.writeInt(state.translationsCount());
+          out.writeInt(state.reviewersCount());
+          out.writeBoolean(state.isApproved());
+        }
+        case Book.InPrinting state -> {
+          out.writeByte(IN_PRINTING);
+          writeBookId(out, state.bookId());
+          writeString(out, state.title().getValue());
+          writeString(out, state.author().getName());
+          writeString(out, state.isbn() != null ? state.isbn().getNumber() : null);
+          writeFormats(out, state.formats());
+          out.writeInt(state.reviewersCount());
+          out.writeInt(state.translationsCount());
+        }
+        case Book.InPublishing state -> {
+          out.writeByte(IN_PUBLISHING);
+          writeBookId(out, state.bookId());
+          writeFormats(out, state.formats());
+        }
+        case Book.OutOfPrint ignore -> out.writeByte(OUT_OF_PRINT);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  @Override
+  public Book decode(ByteBuffer in) {
+    var tag = in.get();
+
+    return switch (tag) {
+      case INITIAL -> new Book.Initial();
+      case IN_WRITING -> new Book.InWriting(
+        readBookId(in),
+        readNullable(in, Genre::new),
+        new Title(readString(in)),
+        new Author(readString(in)),
+        readNullable(in, ISBN::new),
+        readChapterTitles(in),
+        readString(in)
+      );
+      case IN_EDITING -> {
+        var bookId = readBookId(in);
+        var genre = readNullable(in, Genre::new);
+        var title = new Title(readString(in));
+        var author = new Author(readString(in));
+        var isbn = readNullable(in, ISBN::new);
+        var formats = readFormats(in);
+        yield new Book.InEditing(
+          bookId, genre, title, author, isbn,
+          formats, totalCopies(formats), soldCopies(formats),
+          in.getInt(),
+          in.getInt(),
+          in.get() != 0
+        );
+      }
+      case IN_PRINTING -> {
+        var bookId = readBookId(in);
+        var title = new Title(readString(in));
+        var author = new Author(readString(in));
+        var isbn = readNullable(in, ISBN::new);
+        var formats = readFormats(in);
+        yield new Book.InPrinting(
+          bookId, title, author, isbn,
+          formats, totalCopies(formats), soldCopies(formats),
+          in.getInt(),
+          in.getInt()
+        );
+      }
+      case IN_PUBLISHING -> {
+        var bookId = readBookId(in);
+        var formats = readFormats(in);
+        yield new Book.InPublishing(bookId, formats, totalCopies(formats), soldCopies(formats));
+      }
+      case OUT_OF_PRINT -> new Book.OutOfPrint();
+      default -> throw new IllegalArgumentException("Unknown book state tag " + tag);
+    };
+  }
+
+  private static Set<String> readChapterTitles(ByteBuffer in) {
+    var count = in.getInt();
+    var chapterTitles = PersistentHashSet.<String>empty();
+    for (var i = 0; i < count; i++) {
+      chapterTitles = chapterTitles.with(readString(in));
+    }
+    return chapterTitles;
+  }
+
+  // Copy counters aren't stored, they're rebuilt from the formats once per snapshot load
+  private static long totalCopies(List<Format> formats) {
+    var total = 0L;
+    for (var format : formats) {
+      total += format.getTotalCopies();
+    }
+    return total;
+  }
+
+  private static long soldCopies(List<Format> formats) {
+    var sold = 0L;
+    for (var format : formats) {
+      sold += format.getSoldCopies();
+    }
+    return sold;
+  }
+
+  private static void writeFormats(DataOutputStream out, List<Format> formats) throws IOException {
+    out.writeInt(formats.size());
+    for (var format : formats) {
+      writeFormat(out, format);
+    }
+  }
+
+  private static List<Format> readFormats(ByteBuffer in) {
+    var count = in.getInt();
+    var formats = PersistentVector.<Format>empty();
+    for (var i = 0; i < count; i++) {
+      formats = formats.append(readFormat(in));
+    }
+    return formats;
+  }
+}
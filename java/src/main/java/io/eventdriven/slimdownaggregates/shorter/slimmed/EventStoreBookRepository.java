@@ -0,0 +1,89 @@
+package io.eventdriven.slimdownaggregates.shorter.slimmed;
+
+import io.eventdriven.slimdownaggregates.shorter.slimmed.core.EventStore;
+import io.eventdriven.slimdownaggregates.shorter.slimmed.core.InMemorySnapshotStore;
+import io.eventdriven.slimdownaggregates.shorter.slimmed.core.SnapshotPolicy;
+import io.eventdriven.slimdownaggregates.shorter.slimmed.core.SnapshotStore;
+import io.eventdriven.slimdownaggregates.shorter.slimmed.core.Versioned;
+import io.eventdriven.slimdownaggregates.shorter.slimmed.entities.BookId;
+
+import java.util.List;
+
+public class EventStoreBookRepository implements BookRepository {
+  private final EventStore<BookEvent> eventStore;
+  private final SnapshotStore<Book> snapshotStore;
+  private final SnapshotPolicy snapshotPolicy;
+
+  public EventStoreBookRepository(EventStore<BookEvent> eventStore) {
+    this(eventStore, new InMemorySnapshotStore<>(), SnapshotPolicy.never());
+  }
+
+  public EventStoreBookRepository(
+    EventStore<BookEvent> eventStore,
+    SnapshotStore<Book> snapshotStore,
+    SnapshotPolicy snapshotPolicy
+  ) {
+    this.eventStore = eventStore;
+    this.snapshotStore = snapshotStore;
+    this.snapshotPolicy = snapshotPolicy;
+  }
+
+  @Override
+  public Book find(BookId bookId) {
+    return findVersioned(bookId).value();
+  }
+
+  @Override
+  public Versioned<Book> findVersioned(BookId bookId) {
+    return fold(streamId(bookId));
+  }
+
+  @Override
+  public void save(BookEvent bookEvent) {
+    save(bookEvent, EventStore.ANY_VERSION);
+  }
+
+  @Override
+  public void save(BookEvent bookEvent, long expectedVersion) {
+    var streamId = streamId(bookId(bookEvent));
+    var version = eventStore.appendToStream(streamId, expectedVersion, List.of(bookEvent));
+
+    // Taken only once the append succeeded, so a snapshot never holds events the stream doesn't
+    if (snapshotPolicy.shouldSnapshot(version - 1, version))
+      snapshotStore.save(streamId, fold(streamId));
+  }
+
+  private Versioned<Book> fold(String streamId) {
+    var snapshot = snapshotStore.load(streamId)
+      .orElseGet(() -> new Versioned<>(new Book.Initial(), 0));
+
+    var stream = eventStore.readStream(streamId, snapshot.version());
+
+    var state = snapshot.value();
+    for (var event : stream.events()) {
+      state = Book.evolve(state, event);
+    }
+
+    return new Versioned<>(state, stream.version());
+  }
+
+  static String streamId(BookId bookId) {
+    return "book-" + bookId.getValue();
+  }
+
+  static BookId bookId(BookEvent event) {
+    return switch (event) {
+      case BookEvent.WritingStarted e -> e.bookId();
+      case BookEvent.ChapterAdded e -> e.bookId();
+      case BookEvent.MovedToEditing e -> e.bookId();
+      case BookEvent.FormatAdded e -> e.bookId();
+      case BookEvent.FormatRemoved e -> e.bookId();
+      case BookEvent.TranslationAdded e -> e.bookId();
+      case BookEvent.Approved e -> e.bookId();
+      case BookEvent.MovedToPrinting e -> e.bookId();
+      case BookEvent.Published e -> e.bookId();
+      case BookEvent.MovedToOutOfPrint e -> e.bookId();
+      case BookEvent.CopiesSold e -> e.bookId();
+    };
+  }
+}
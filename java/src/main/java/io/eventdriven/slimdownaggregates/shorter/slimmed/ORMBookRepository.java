@@ -1,6 +1,8 @@
 package io.eventdriven.slimdownaggregates.shorter.slimmed;
 
+import io.eventdriven.slimdownaggregates.shorter.slimmed.core.EventStore;
 import io.eventdriven.slimdownaggregates.shorter.slimmed.core.FancyORM;
+import io.eventdriven.slimdownaggregates.shorter.slimmed.core.Versioned;
 import io.eventdriven.slimdownaggregates.shorter.slimmed.entities.BookId;
 
 public class ORMBookRepository implements BookRepository {
@@ -22,4 +24,18 @@ public class ORMBookRepository implements BookRepository {
 
     orm.save();
   }
+
+  // FancyORM doesn't track versions, so books come without one and the last write wins
+  @Override
+  public Versioned<Book> findVersioned(BookId bookId) {
+    return new Versioned<>(find(bookId), EventStore.ANY_VERSION);
+  }
+
+  @Override
+  public void save(BookEvent bookEvent, long expectedVersion) {
+    if (expectedVersion != EventStore.ANY_VERSION)
+      throw new IllegalArgumentException("Books stored with FancyORM aren't versioned, expected version " + expectedVersion + " can't be checked");
+
+    save(bookEvent);
+  }
 }
@@ -0,0 +1,12 @@
+package io.eventdriven.slimdownaggregates.shorter.slimmed.core;
+
+import java.nio.ByteBuffer;
+
+public interface Codec<T> {
+  byte[] encode(T value);
+
+  /**
+   * Decodes the value from the buffer holding exactly its encoded bytes.
+   */
+  T decode(ByteBuffer buffer);
+}
@@ -0,0 +1,31 @@
+package io.eventdriven.slimdownaggregates.shorter.slimmed.core;
+
+import java.util.List;
+
+/**
+ * Append-only log of events grouped into streams.
+ * Stream version is the number of events appended to it, so a new stream has version 0.
+ */
+public interface EventStore<Event> {
+  long ANY_VERSION = -1;
+
+  default ReadStreamResult<Event> readStream(String streamId) {
+    return readStream(streamId, 0);
+  }
+
+  /**
+   * Reads events appended after the given version.
+   */
+  ReadStreamResult<Event> readStream(String streamId, long fromVersion);
+
+  /**
+   * Appends events if the stream is still at the expected version.
+   * Returns the new version of the stream.
+   *
+   * @throws WrongExpectedVersionException when the stream was changed in the meantime
+   */
+  long appendToStream(String streamId, long expectedVersion, List<Event> events);
+
+  record ReadStreamResult<Event>(List<Event> events, long version) {
+  }
+}
@@ -0,0 +1,97 @@
+package io.eventdriven.slimdownaggregates.shorter.slimmed.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a snapshot per stream in its own file: stream version (long) followed by the encoded state.
+ * Files are written and forced to the disk before they atomically replace the previous one,
+ * so a crash leaves either the previous or the new snapshot in place, never a partial one.
+ * Like in memory, the newest snapshot wins, for saves made through this store.
+ */
+public class FileSnapshotStore<State> implements SnapshotStore<State> {
+  private final Path directory;
+  private final Codec<State> codec;
+  private final ConcurrentHashMap<String, Object> locks = new ConcurrentHashMap<>();
+
+  public FileSnapshotStore(Path directory, Codec<State> codec) {
+    this.directory = directory;
+    this.codec = codec;
+    try {
+      Files.createDirectories(directory);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public Optional<Versioned<State>> load(String streamId) {
+    try {
+      var buffer = ByteBuffer.wrap(Files.readAllBytes(file(streamId)));
+      var version = buffer.getLong();
+      return Optional.of(new Versioned<>(codec.decode(buffer.slice()), version));
+    } catch (NoSuchFileException e) {
+      return Optional.empty();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void save(String streamId, Versioned<State> snapshot) {
+    var state = codec.encode(snapshot.value());
+    var bytes = ByteBuffer.allocate(Long.BYTES + state.length)
+      .putLong(snapshot.version())
+      .put(state)
+      .array();
+
+    // Snapshots saved concurrently may come out of order, so an older one mustn't replace a newer one
+    synchronized (locks.computeIfAbsent(streamId, id -> new Object())) {
+      if (storedVersion(streamId) >= snapshot.version())
+        return;
+
+      write(streamId, bytes);
+    }
+  }
+
+  private void write(String streamId, byte[] bytes) {
+    try {
+      var temp = Files.createTempFile(directory, streamId, ".tmp");
+      try (var channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+        var buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining())
+          channel.write(buffer);
+        channel.force(true);
+      }
+      Files.move(temp, file(streamId), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private long storedVersion(String streamId) {
+    try (var channel = FileChannel.open(file(streamId), StandardOpenOption.READ)) {
+      // Files are only ever replaced whole, so the version is always there
+      var version = ByteBuffer.allocate(Long.BYTES);
+      channel.read(version);
+      return version.getLong(0);
+    } catch (NoSuchFileException e) {
+      return -1;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private Path file(String streamId) {
+    return directory.resolve(streamId + ".snapshot");
+  }
+}
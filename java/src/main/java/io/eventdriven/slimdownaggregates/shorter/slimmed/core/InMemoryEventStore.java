@@ -0,0 +1,34 @@
+package io.eventdriven.slimdownaggregates.shorter.slimmed.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class InMemoryEventStore<Event> implements EventStore<Event> {
+  private final ConcurrentHashMap<String, List<Event>> streams = new ConcurrentHashMap<>();
+
+  @Override
+  public ReadStreamResult<Event> readStream(String streamId, long fromVersion) {
+    var stream = streams.get(streamId);
+    if (stream == null)
+      return new ReadStreamResult<>(List.of(), 0);
+
+    synchronized (stream) {
+      var from = (int) Math.min(fromVersion, stream.size());
+      return new ReadStreamResult<>(List.copyOf(stream.subList(from, stream.size())), stream.size());
+    }
+  }
+
+  @Override
+  public long appendToStream(String streamId, long expectedVersion, List<Event> events) {
+    var stream = streams.computeIfAbsent(streamId, id -> new ArrayList<>());
+
+    synchronized (stream) {
+      if (expectedVersion != ANY_VERSION && expectedVersion != stream.size())
+        throw new WrongExpectedVersionException(streamId, expectedVersion, stream.size());
+
+      stream.addAll(events);
+      return stream.size();
+    }
+  }
+}
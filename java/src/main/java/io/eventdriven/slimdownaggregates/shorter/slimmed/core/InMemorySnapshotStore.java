@@ -0,0 +1,19 @@
+package io.eventdriven.slimdownaggregates.shorter.slimmed.core;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class InMemorySnapshotStore<State> implements SnapshotStore<State> {
+  private final ConcurrentHashMap<String, Versioned<State>> snapshots = new ConcurrentHashMap<>();
+
+  @Override
+  public Optional<Versioned<State>> load(String streamId) {
+    return Optional.ofNullable(snapshots.get(streamId));
+  }
+
+  @Override
+  public void save(String streamId, Versioned<State> snapshot) {
+    // Snapshots saved concurrently may come out of order, the newest one wins
+    snapshots.merge(streamId, snapshot, (current, next) -> next.version() > current.version() ? next : current);
+  }
+}
@@ -1,19 +1,40 @@
 package io.eventdriven.slimdownaggregates.shorter.slimmed.core;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 public final class ListExtensions {
   public static <T> List<T> union(List<T> list, T element) {
+    return PersistentVector.from(list).append(element);
+  }
 
-    var newList = new ArrayList<>(list);
-    newList.add(element);
+  // Elements before the first removed one are shared, the rest are appended again
+  public static <T> List<T> except(List<T> list, Predicate<T> predicate) {
+    var vector = PersistentVector.from(list);
+    for (var i = 0; i < vector.size(); i++) {
+      if (!predicate.test(vector.get(i)))
+        continue;
 
-    return newList;
+      var result = vector.take(i);
+      for (var j = i + 1; j < vector.size(); j++) {
+        var element = vector.get(j);
+        if (!predicate.test(element))
+          result = result.append(element);
+      }
+      return result;
+    }
+    return vector;
   }
 
-  public static <T> List<T> except(List<T> list, Predicate<T> predicate) {
-    return list.stream().filter(predicate.negate()).toList();
+  // Only the paths to the replaced elements are copied
+  public static <T> List<T> replace(List<T> list, Predicate<T> predicate, UnaryOperator<T> replacement) {
+    var vector = PersistentVector.from(list);
+    for (var i = 0; i < vector.size(); i++) {
+      var element = vector.get(i);
+      if (predicate.test(element))
+        vector = vector.with(i, replacement.apply(element));
+    }
+    return vector;
   }
 }
@@ -0,0 +1,303 @@
+package io.eventdriven.slimdownaggregates.shorter.slimmed.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.CRC32;
+
+/**
+ * Event store keeping all streams in a single log of fixed-size, memory-mapped segment files.
+ * Appends are sequential writes to the mapped tail segment and reads decode events straight
+ * from the mapped memory. Positions of the events of each stream are kept in memory and rebuilt
+ * on open by scanning the segments up to their tails.
+ * <p>
+ * Each record is laid out as: body length (int), CRC32 of the body (int), stream id length (short),
+ * stream id (UTF-8), stream version (long) and the encoded event. Segments are zero-filled, so a zero
+ * length marks the tail. Each append forces the batch to the disk before writing the length of its
+ * first record, then forces that length too. The OS may write mapped pages back in any order, so without
+ * the first force the length could reach the disk before the rest of the batch and a crash would leave
+ * only part of it. A batch torn by a crash is therefore dropped as a whole on recovery, and an append
+ * that returned is durable.
+ */
+public class MappedEventLog<Event> implements EventStore<Event>, AutoCloseable {
+  private static final int HEADER_SIZE = Integer.BYTES * 2;
+  private static final String SEGMENT_SUFFIX = ".segment";
+
+  private final Path directory;
+  private final int segmentSize;
+  private final Codec<Event> codec;
+
+  private final List<Segment> segments = new CopyOnWriteArrayList<>();
+  private final Map<String, StreamIndex> streams = new HashMap<>();
+  private int tailOffset;
+
+  private MappedEventLog(Path directory, int segmentSize, Codec<Event> codec) {
+    this.directory = directory;
+    this.segmentSize = segmentSize;
+    this.codec = codec;
+  }
+
+  public static <Event> MappedEventLog<Event> open(Path directory, int segmentSize, Codec<Event> codec) {
+    if (segmentSize <= HEADER_SIZE)
+      throw new IllegalArgumentException("Segment size must be greater than " + HEADER_SIZE + " bytes.");
+
+    var log = new MappedEventLog<>(directory, segmentSize, codec);
+    log.recover();
+    return log;
+  }
+
+  @Override
+  public ReadStreamResult<Event> readStream(String streamId, long fromVersion) {
+    long[] positions;
+    long version;
+    synchronized (this) {
+      var stream = streams.get(streamId);
+      if (stream == null)
+        return new ReadStreamResult<>(List.of(), 0);
+
+      positions = stream.positions((int) Math.min(fromVersion, stream.size));
+      version = stream.size;
+    }
+
+    var events = new ArrayList<Event>(positions.length);
+    for (var position : positions) {
+      var buffer = segments.get(segmentOf(position)).buffer;
+      var offset = offsetOf(position);
+      var body = buffer.slice(offset + HEADER_SIZE, buffer.getInt(offset));
+
+      var payloadOffset = Short.BYTES + body.getShort(0) + Long.BYTES;
+      events.add(codec.decode(body.slice(payloadOffset, body.limit() - payloadOffset)));
+    }
+
+    return new ReadStreamResult<>(events, version);
+  }
+
+  @Override
+  public synchronized long appendToStream(String streamId, long expectedVersion, List<Event> events) {
+    var stream = streams.get(streamId);
+    var version = stream == null ? 0 : stream.size;
+
+    if (expectedVersion != ANY_VERSION && expectedVersion != version)
+      throw new WrongExpectedVersionException(streamId, expectedVersion, version);
+
+    if (events.isEmpty())
+      return version;
+
+    var streamIdBytes = streamId.getBytes(StandardCharsets.UTF_8);
+    var records = new ArrayList<byte[]>(events.size());
+    var batchSize = 0;
+    for (var i = 0; i < events.size(); i++) {
+      var record = record(streamIdBytes, version + i + 1, codec.encode(events.get(i)));
+      records.add(record);
+      batchSize += record.length;
+    }
+
+    // Batch is kept in a single segment, so it can be committed with a single write
+    if (batchSize > segmentSize)
+      throw new IllegalArgumentException("Events of size " + batchSize + " bytes don't fit in a segment.");
+
+    if (segments.isEmpty() || tailOffset + batchSize > segmentSize)
+      roll();
+
+    var segmentNumber = segments.size() - 1;
+    var buffer = segments.get(segmentNumber).buffer;
+    var positions = new long[records.size()];
+    var offset = tailOffset;
+    for (var i = 0; i < records.size(); i++) {
+      var record = records.get(i);
+      if (i == 0)
+        buffer.put(offset + Integer.BYTES, record, Integer.BYTES, record.length - Integer.BYTES);
+      else
+        buffer.put(offset, record);
+
+      positions[i] = position(segmentNumber, offset);
+      offset += record.length;
+    }
+    buffer.force(tailOffset, batchSize);
+
+    buffer.put(tailOffset, records.get(0), 0, Integer.BYTES);
+    buffer.force(tailOffset, Integer.BYTES);
+    tailOffset = offset;
+
+    // Indexed only once the batch is durable, so a failed append leaves the stream as it was
+    stream = streams.computeIfAbsent(streamId, id -> new StreamIndex());
+    for (var position : positions) {
+      stream.add(position);
+    }
+    return stream.size;
+  }
+
+  /**
+   * Forces the whole segments to the disk. Appends are already forced when they return.
+   */
+  public synchronized void flush() {
+    for (var segment : segments) {
+      segment.buffer.force();
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    flush();
+    for (var segment : segments) {
+      try {
+        segment.channel.close();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  private static byte[] record(byte[] streamId, long version, byte[] payload) {
+    // Its length is stored as a short
+    if (streamId.length > Short.MAX_VALUE)
+      throw new IllegalArgumentException("Stream id of " + streamId.length + " bytes is longer than " + Short.MAX_VALUE + " bytes.");
+
+    var bodyLength = Short.BYTES + streamId.length + Long.BYTES + payload.length;
+    var record = ByteBuffer.allocate(HEADER_SIZE + bodyLength)
+      .putInt(bodyLength)
+      .putInt(0)
+      .putShort((short) streamId.length)
+      .put(streamId)
+      .putLong(version)
+      .put(payload);
+
+    var crc = new CRC32();
+    crc.update(record.array(), HEADER_SIZE, bodyLength);
+    record.putInt(Integer.BYTES, (int) crc.getValue());
+
+    return record.array();
+  }
+
+  private void recover() {
+    try {
+      Files.createDirectories(directory);
+
+      try (var files = Files.list(directory)) {
+        var segmentFiles = files
+          .filter(f -> f.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+          .sorted()
+          .toList();
+
+        for (var file : segmentFiles) {
+          segments.add(Segment.map(file, segmentSize));
+          tailOffset = scan(segments.size() - 1);
+        }
+      }
+
+      if (!segments.isEmpty())
+        clearTail(segments.get(segments.size() - 1).buffer);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Indexes the records of the segment and returns the offset of its tail.
+   */
+  private int scan(int segmentNumber) {
+    var buffer = segments.get(segmentNumber).buffer;
+    var offset = 0;
+
+    while (offset + HEADER_SIZE <= segmentSize) {
+      var bodyLength = buffer.getInt(offset);
+      if (bodyLength <= 0 || offset + HEADER_SIZE + bodyLength > segmentSize)
+        break;
+
+      var body = buffer.slice(offset + HEADER_SIZE, bodyLength);
+      var crc = new CRC32();
+      crc.update(body);
+      if ((int) crc.getValue() != buffer.getInt(offset + Integer.BYTES))
+        break;
+
+      var streamIdBytes = new byte[body.getShort(0)];
+      body.get(Short.BYTES, streamIdBytes);
+      var streamId = new String(streamIdBytes, StandardCharsets.UTF_8);
+      var version = body.getLong(Short.BYTES + streamIdBytes.length);
+
+      var stream = streams.computeIfAbsent(streamId, id -> new StreamIndex());
+      if (version != stream.size + 1)
+        throw new IllegalStateException(
+          "Stream %s has version %d at segment %d offset %d, expected %d.".formatted(
+            streamId, version, segmentNumber, offset, stream.size + 1));
+
+      stream.add(position(segmentNumber, offset));
+      offset += HEADER_SIZE + bodyLength;
+    }
+
+    return offset;
+  }
+
+  /**
+   * Clears records left behind the tail by a torn batch. Otherwise a shorter batch appended
+   * later could end right before one of them and it would be read back on the next recovery.
+   */
+  private void clearTail(MappedByteBuffer buffer) {
+    var offset = tailOffset;
+    while (offset < segmentSize && buffer.get(offset) == 0)
+      offset++;
+
+    if (offset == segmentSize)
+      return;
+
+    buffer.put(tailOffset, new byte[segmentSize - tailOffset]);
+    buffer.force(tailOffset, segmentSize - tailOffset);
+  }
+
+  private void roll() {
+    var file = directory.resolve("%020d%s".formatted(segments.size(), SEGMENT_SUFFIX));
+    try {
+      segments.add(Segment.map(file, segmentSize));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    tailOffset = 0;
+  }
+
+  private static long position(int segmentNumber, int offset) {
+    return ((long) segmentNumber << 32) | offset;
+  }
+
+  private static int segmentOf(long position) {
+    return (int) (position >>> 32);
+  }
+
+  private static int offsetOf(long position) {
+    return (int) position;
+  }
+
+  private record Segment(FileChannel channel, MappedByteBuffer buffer) {
+    static Segment map(Path file, int size) throws IOException {
+      var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      return new Segment(channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+    }
+  }
+
+  private static class StreamIndex {
+    private long[] positions = new long[8];
+    private int size;
+
+    void add(long position) {
+      if (size == positions.length)
+        positions = Arrays.copyOf(positions, size * 2);
+
+      positions[size++] = position;
+    }
+
+    long[] positions(int from) {
+      return Arrays.copyOfRange(positions, from, size);
+    }
+  }
+}
@@ -0,0 +1,237 @@
+package io.eventdriven.slimdownaggregates.shorter.slimmed.core;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Immutable set sharing its structure with the sets it was extended from.
+ * Elements are kept in a hash array mapped trie, branching by 5 bits of the hash at each level,
+ * so add and remove copy one path of at most 7 small nodes and contains is effectively constant time.
+ */
+public final class PersistentHashSet<T> extends AbstractSet<T> {
+  private static final int BITS = 5;
+  private static final int MASK = (1 << BITS) - 1;
+
+  private static final PersistentHashSet<?> EMPTY =
+    new PersistentHashSet<>(new BitmapNode(0, new Object[0]), 0);
+
+  private final Node root;
+  private final int size;
+
+  private PersistentHashSet(Node root, int size) {
+    this.root = root;
+    this.size = size;
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <T> PersistentHashSet<T> empty() {
+    return (PersistentHashSet<T>) EMPTY;
+  }
+
+  public static <T> PersistentHashSet<T> from(Collection<T> elements) {
+    if (elements instanceof PersistentHashSet<T> set)
+      return set;
+
+    PersistentHashSet<T> set = empty();
+    for (var element : elements) {
+      set = set.with(element);
+    }
+    return set;
+  }
+
+  /**
+   * Returns the set with the element added, or this set if it already contains it.
+   */
+  public PersistentHashSet<T> with(T element) {
+    if (contains(element))
+      return this;
+
+    return new PersistentHashSet<>(root.add(element, hash(element), 0), size + 1);
+  }
+
+  /**
+   * Returns the set with the element removed, or this set if it doesn't contain it.
+   */
+  public PersistentHashSet<T> without(T element) {
+    if (!contains(element))
+      return this;
+
+    var newRoot = root.remove(element, hash(element), 0);
+    return newRoot != null ? new PersistentHashSet<>(newRoot, size - 1) : empty();
+  }
+
+  @Override
+  public boolean contains(Object element) {
+    return root.contains(element, hash(element), 0);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Iterator<T> iterator() {
+    var elements = new ArrayList<T>(size);
+    root.collect((List<Object>) elements);
+    return elements.iterator();
+  }
+
+  private static int hash(Object element) {
+    var hash = element.hashCode();
+    return hash ^ (hash >>> 16);
+  }
+
+  private sealed interface Node permits BitmapNode, CollisionNode {
+    boolean contains(Object element, int hash, int shift);
+
+    Node add(Object element, int hash, int shift);
+
+    /**
+     * Removes the contained element, returns null when no elements are left.
+     */
+    Node remove(Object element, int hash, int shift);
+
+    /**
+     * The only element of the node, if it holds just one.
+     */
+    Optional<Object> single();
+
+    void collect(List<Object> elements);
+  }
+
+  /**
+   * Keeps only the slots in use, the bitmap tells which of the 32 possible ones they are.
+   * A slot holds either an element or a node with elements sharing the hash bits so far.
+   */
+  private record BitmapNode(int bitmap, Object[] slots) implements Node {
+    @Override
+    public boolean contains(Object element, int hash, int shift) {
+      var bit = 1 << ((hash >>> shift) & MASK);
+      if ((bitmap & bit) == 0)
+        return false;
+
+      var slot = slots[Integer.bitCount(bitmap & (bit - 1))];
+      return slot instanceof Node node
+        ? node.contains(element, hash, shift + BITS)
+        : slot.equals(element);
+    }
+
+    @Override
+    public Node add(Object element, int hash, int shift) {
+      var bit = 1 << ((hash >>> shift) & MASK);
+      var index = Integer.bitCount(bitmap & (bit - 1));
+
+      if ((bitmap & bit) == 0) {
+        var newSlots = new Object[slots.length + 1];
+        System.arraycopy(slots, 0, newSlots, 0, index);
+        newSlots[index] = element;
+        System.arraycopy(slots, index, newSlots, index + 1, slots.length - index);
+        return new BitmapNode(bitmap | bit, newSlots);
+      }
+
+      var slot = slots[index];
+      var newSlots = slots.clone();
+      newSlots[index] = slot instanceof Node node
+        ? node.add(element, hash, shift + BITS)
+        : merge(slot, hash(slot), element, hash, shift + BITS);
+      return new BitmapNode(bitmap, newSlots);
+    }
+
+    @Override
+    public Node remove(Object element, int hash, int shift) {
+      var bit = 1 << ((hash >>> shift) & MASK);
+      var index = Integer.bitCount(bitmap & (bit - 1));
+
+      Object newSlot = null;
+      if (slots[index] instanceof Node node) {
+        var child = node.remove(element, hash, shift + BITS);
+        // A single element left below is moved up, so lookups don't walk through nodes holding only it
+        newSlot = child != null ? child.single().orElse(child) : null;
+      }
+
+      if (newSlot != null) {
+        var newSlots = slots.clone();
+        newSlots[index] = newSlot;
+        return new BitmapNode(bitmap, newSlots);
+      }
+
+      if (slots.length == 1)
+        return null;
+
+      var newSlots = new Object[slots.length - 1];
+      System.arraycopy(slots, 0, newSlots, 0, index);
+      System.arraycopy(slots, index + 1, newSlots, index, slots.length - index - 1);
+      return new BitmapNode(bitmap & ~bit, newSlots);
+    }
+
+    @Override
+    public Optional<Object> single() {
+      return slots.length == 1 && !(slots[0] instanceof Node) ? Optional.of(slots[0]) : Optional.empty();
+    }
+
+    @Override
+    public void collect(List<Object> elements) {
+      for (var slot : slots) {
+        if (slot instanceof Node node)
+          node.collect(elements);
+        else
+          elements.add(slot);
+      }
+    }
+
+    private static Node merge(Object first, int firstHash, Object second, int secondHash, int shift) {
+      if (shift >= Integer.SIZE)
+        return new CollisionNode(new Object[]{first, second});
+
+      var firstIndex = (firstHash >>> shift) & MASK;
+      var secondIndex = (secondHash >>> shift) & MASK;
+
+      if (firstIndex == secondIndex)
+        return new BitmapNode(1 << firstIndex, new Object[]{merge(first, firstHash, second, secondHash, shift + BITS)});
+
+      return firstIndex < secondIndex
+        ? new BitmapNode((1 << firstIndex) | (1 << secondIndex), new Object[]{first, second})
+        : new BitmapNode((1 << firstIndex) | (1 << secondIndex), new Object[]{second, first});
+    }
+  }
+
+  /**
+   * Elements with the same full hash.
+   */
+  private record CollisionNode(Object[] elements) implements Node {
+    @Override
+    public boolean contains(Object element, int hash, int shift) {
+      return Arrays.asList(elements).contains(element);
+    }
+
+    @Override
+    public Node add(Object element, int hash, int shift) {
+      var newElements = Arrays.copyOf(elements, elements.length + 1);
+      newElements[elements.length] = element;
+      return new CollisionNode(newElements);
+    }
+
+    @Override
+    public Node remove(Object element, int hash, int shift) {
+      var newElements = Arrays.stream(elements).filter(e -> !e.equals(element)).toArray();
+      return newElements.length > 0 ? new CollisionNode(newElements) : null;
+    }
+
+    @Override
+    public Optional<Object> single() {
+      return elements.length == 1 ? Optional.of(elements[0]) : Optional.empty();
+    }
+
+    @Override
+    public void collect(List<Object> elements) {
+      elements.addAll(Arrays.asList(this.elements));
+    }
+  }
+}
@@ -0,0 +1,173 @@
+package io.eventdriven.slimdownaggregates.shorter.slimmed.core;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Immutable list sharing its structure with the lists it was appended from.
+ * Elements are kept in a 32-way trie with the last (up to) 32 elements in a separate tail,
+ * so append copies at most the tail and one path of the trie: amortised O(1), and O(log32 n) get.
+ * Replacing an element and dropping elements from the end copy one path as well.
+ */
+public final class PersistentVector<T> extends AbstractList<T> implements RandomAccess {
+  private static final int BITS = 5;
+  private static final int WIDTH = 1 << BITS;
+  private static final int MASK = WIDTH - 1;
+
+  private static final PersistentVector<?> EMPTY =
+    new PersistentVector<>(0, BITS, new Object[0], new Object[0]);
+
+  private final int size;
+  private final int shift;
+  private final Object[] root;
+  private final Object[] tail;
+
+  private PersistentVector(int size, int shift, Object[] root, Object[] tail) {
+    this.size = size;
+    this.shift = shift;
+    this.root = root;
+    this.tail = tail;
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <T> PersistentVector<T> empty() {
+    return (PersistentVector<T>) EMPTY;
+  }
+
+  public static <T> PersistentVector<T> from(Collection<T> elements) {
+    if (elements instanceof PersistentVector<T> vector)
+      return vector;
+
+    PersistentVector<T> vector = empty();
+    for (var element : elements) {
+      vector = vector.append(element);
+    }
+    return vector;
+  }
+
+  public PersistentVector<T> append(T element) {
+    if (size - tailOffset() < WIDTH) {
+      var newTail = Arrays.copyOf(tail, tail.length + 1);
+      newTail[tail.length] = element;
+      return new PersistentVector<>(size + 1, shift, root, newTail);
+    }
+
+    // Tail is full, so it's moved into the trie, which gets a new level once the root is full
+    if ((size >>> BITS) > (1 << shift))
+      return new PersistentVector<>(size + 1, shift + BITS, new Object[]{root, newPath(shift, tail)}, new Object[]{element});
+
+    return new PersistentVector<>(size + 1, shift, pushTail(shift, root), new Object[]{element});
+  }
+
+  public PersistentVector<T> with(int index, T element) {
+    Objects.checkIndex(index, size);
+
+    if (index >= tailOffset()) {
+      var newTail = tail.clone();
+      newTail[index & MASK] = element;
+      return new PersistentVector<>(size, shift, root, newTail);
+    }
+
+    return new PersistentVector<>(size, shift, assoc(shift, root, index, element), tail);
+  }
+
+  /**
+   * Returns the first count elements.
+   */
+  public PersistentVector<T> take(int count) {
+    Objects.checkFromToIndex(0, count, size);
+    if (count == size)
+      return this;
+    if (count == 0)
+      return empty();
+
+    var newTailOffset = ((count - 1) >>> BITS) << BITS;
+    if (newTailOffset == tailOffset())
+      return new PersistentVector<>(count, shift, root, Arrays.copyOf(tail, count - newTailOffset));
+
+    var newTail = Arrays.copyOf(leafFor(count - 1), count - newTailOffset);
+    if (newTailOffset == 0)
+      return new PersistentVector<>(count, BITS, new Object[0], newTail);
+
+    // Levels left with a single child are dropped, so appends grow the trie at the right level again
+    var newShift = shift;
+    var newRoot = trim(shift, root, newTailOffset - 1);
+    while (newShift > BITS && newRoot.length == 1) {
+      newRoot = (Object[]) newRoot[0];
+      newShift -= BITS;
+    }
+    return new PersistentVector<>(count, newShift, newRoot, newTail);
+  }
+
+  public PersistentVector<T> pop() {
+    if (size == 0)
+      throw new IllegalStateException("Can't pop from an empty vector.");
+
+    return take(size - 1);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public T get(int index) {
+    Objects.checkIndex(index, size);
+    return (T) leafFor(index)[index & MASK];
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  private int tailOffset() {
+    return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+  }
+
+  private Object[] leafFor(int index) {
+    if (index >= tailOffset())
+      return tail;
+
+    var node = root;
+    for (var level = shift; level > 0; level -= BITS) {
+      node = (Object[]) node[(index >>> level) & MASK];
+    }
+    return node;
+  }
+
+  private Object[] pushTail(int level, Object[] parent) {
+    var childIndex = ((size - 1) >>> level) & MASK;
+    var node = Arrays.copyOf(parent, Math.max(parent.length, childIndex + 1));
+
+    if (level == BITS) {
+      node[childIndex] = tail;
+    } else {
+      var child = childIndex < parent.length ? (Object[]) parent[childIndex] : null;
+      node[childIndex] = child != null ? pushTail(level - BITS, child) : newPath(level - BITS, tail);
+    }
+    return node;
+  }
+
+  private static Object[] assoc(int level, Object[] node, int index, Object element) {
+    var copy = node.clone();
+    if (level == 0)
+      copy[index & MASK] = element;
+    else
+      copy[(index >>> level) & MASK] = assoc(level - BITS, (Object[]) node[(index >>> level) & MASK], index, element);
+    return copy;
+  }
+
+  // Keeps the nodes holding elements up to the last index, which ends a leaf
+  private static Object[] trim(int level, Object[] node, int lastIndex) {
+    var childIndex = (lastIndex >>> level) & MASK;
+    var copy = Arrays.copyOf(node, childIndex + 1);
+    if (level > BITS)
+      copy[childIndex] = trim(level - BITS, (Object[]) node[childIndex], lastIndex);
+    return copy;
+  }
+
+  private static Object[] newPath(int level, Object[] leaf) {
+    return level == 0 ? leaf : new Object[]{newPath(level - BITS, leaf)};
+  }
+}
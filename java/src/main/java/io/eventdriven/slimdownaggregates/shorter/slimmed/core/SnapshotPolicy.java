@@ -0,0 +1,21 @@
+package io.eventdriven.slimdownaggregates.shorter.slimmed.core;
+
+/**
+ * Decides after each append, from the stream versions before and after it, whether to take a snapshot.
+ */
+@FunctionalInterface
+public interface SnapshotPolicy {
+  boolean shouldSnapshot(long previousVersion, long streamVersion);
+
+  static SnapshotPolicy never() {
+    return (previousVersion, streamVersion) -> false;
+  }
+
+  static SnapshotPolicy everyEvents(long count) {
+    if (count <= 0)
+      throw new IllegalArgumentException("Snapshot frequency must be positive.");
+
+    // Whenever the stream crosses a multiple of the count, so no stored snapshot version has to be read
+    return (previousVersion, streamVersion) -> streamVersion / count > previousVersion / count;
+  }
+}
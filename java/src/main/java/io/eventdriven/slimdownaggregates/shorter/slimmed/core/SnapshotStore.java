@@ -0,0 +1,12 @@
+package io.eventdriven.slimdownaggregates.shorter.slimmed.core;
+
+import java.util.Optional;
+
+/**
+ * Keeps the latest state folded from a stream together with the stream version it was folded up to.
+ */
+public interface SnapshotStore<State> {
+  Optional<Versioned<State>> load(String streamId);
+
+  void save(String streamId, Versioned<State> snapshot);
+}
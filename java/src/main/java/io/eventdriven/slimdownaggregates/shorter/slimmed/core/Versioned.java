@@ -0,0 +1,4 @@
+package io.eventdriven.slimdownaggregates.shorter.slimmed.core;
+
+public record Versioned<T>(T value, long version) {
+}
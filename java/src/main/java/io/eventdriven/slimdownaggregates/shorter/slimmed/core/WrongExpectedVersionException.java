@@ -0,0 +1,7 @@
+package io.eventdriven.slimdownaggregates.shorter.slimmed.core;
+
+public class WrongExpectedVersionException extends IllegalStateException {
+  public WrongExpectedVersionException(String streamId, long expectedVersion, long actualVersion) {
+    super("Stream %s is at version %d, expected %d.".formatted(streamId, actualVersion, expectedVersion));
+  }
+}
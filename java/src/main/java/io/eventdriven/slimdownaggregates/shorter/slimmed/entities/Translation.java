@@ -9,4 +9,12 @@ public class Translation {
     this.language = language;
     this.translator = translator;
   }
+
+  public Language getLanguage() {
+    return language;
+  }
+
+  public Translator getTranslator() {
+    return translator;
+  }
 }
@@ -0,0 +1,111 @@
+-- Runs before Hibernate updates the schema. ddl-auto=update never changes the type of an existing
+-- column, so chapter content created as varchar(255) or as a large object (oid) is converted to text here.
+-- Statements are separated with @@, as the DO blocks contain semicolons.
+DO $$
+BEGIN
+  IF EXISTS (
+    SELECT 1 FROM information_schema.columns
+    WHERE table_schema = current_schema() AND table_name = 'chapters'
+      AND column_name = 'content' AND data_type = 'oid'
+  ) THEN
+    ALTER TABLE chapters ADD COLUMN content_text text;
+    UPDATE chapters SET content_text = convert_from(lo_get(content), 'UTF8') WHERE content IS NOT NULL;
+    PERFORM lo_unlink(content) FROM chapters WHERE content IS NOT NULL;
+    ALTER TABLE chapters DROP COLUMN content;
+    ALTER TABLE chapters RENAME COLUMN content_text TO content;
+  END IF;
+END
+$$
+@@
+
+DO $$
+BEGIN
+  IF EXISTS (
+    SELECT 1 FROM information_schema.columns
+    WHERE table_schema = current_schema() AND table_name = 'chapters'
+      AND column_name = 'content' AND data_type = 'character varying'
+  ) THEN
+    ALTER TABLE chapters ALTER COLUMN content TYPE text;
+  END IF;
+END
+$$
+@@
+
+-- Chapter details used to carry the whole content. They're now only the number and title,
+-- with the content served by its own endpoint, so stored documents are rewritten to that shape.
+DO $$
+BEGIN
+  IF to_regclass('book_details') IS NOT NULL THEN
+    UPDATE book_details
+    SET data = jsonb_set(data, '{chapters}', (
+      SELECT coalesce(jsonb_agg(
+        jsonb_build_object('number', chapter.position, 'title', chapter.value -> 'title')
+        ORDER BY chapter.position
+      ), '[]'::jsonb)
+      FROM jsonb_array_elements(data -> 'chapters') WITH ORDINALITY AS chapter(value, position)
+    ))
+    WHERE jsonb_typeof(data -> 'chapters') = 'array'
+      AND EXISTS (SELECT 1 FROM jsonb_array_elements(data -> 'chapters') AS chapter WHERE chapter ? 'content');
+  END IF;
+END
+$$
+@@
+
+-- Reviewer rows are keyed by the book and the reviewer, as the same reviewer can review many books.
+-- ddl-auto=update never changes a primary key. Rows keyed by the reviewer alone had no book column,
+-- so no book could reference them, and they're removed before the key is replaced.
+DO $$
+DECLARE
+  primary_key text;
+BEGIN
+  IF to_regclass('reviewers') IS NOT NULL AND NOT EXISTS (
+    SELECT 1 FROM information_schema.table_constraints c
+    JOIN information_schema.key_column_usage k
+      ON k.constraint_name = c.constraint_name AND k.table_schema = c.table_schema
+    WHERE c.table_schema = current_schema() AND c.table_name = 'reviewers'
+      AND c.constraint_type = 'PRIMARY KEY' AND k.column_name = 'book_id'
+  ) THEN
+    DELETE FROM reviewers;
+    ALTER TABLE reviewers ADD COLUMN IF NOT EXISTS book_id uuid;
+
+    SELECT conname INTO primary_key FROM pg_constraint
+    WHERE conrelid = 'reviewers'::regclass AND contype = 'p';
+    IF primary_key IS NOT NULL THEN
+      EXECUTE format('ALTER TABLE reviewers DROP CONSTRAINT %I', primary_key);
+    END IF;
+
+    ALTER TABLE reviewers ALTER COLUMN book_id SET NOT NULL;
+    ALTER TABLE reviewers ADD PRIMARY KEY (book_id, id);
+  END IF;
+END
+$$
+@@
+
+-- Books without a committee approval have no approval columns. The flag used to be created as not null.
+DO $$
+BEGIN
+  IF EXISTS (
+    SELECT 1 FROM information_schema.columns
+    WHERE table_schema = current_schema() AND table_name = 'books'
+      AND column_name = 'is_approved' AND is_nullable = 'NO'
+  ) THEN
+    ALTER TABLE books ALTER COLUMN is_approved DROP NOT NULL;
+  END IF;
+END
+$$
+@@
+
+-- Outbox payloads are serialised to bytes, so they can be JSON or Smile. They used to be stored as JSON text,
+-- which is kept as its UTF-8 bytes, so messages that weren't relayed yet are still readable.
+DO $$
+BEGIN
+  IF EXISTS (
+    SELECT 1 FROM information_schema.columns
+    WHERE table_schema = current_schema() AND table_name = 'outboxmessages'
+      AND column_name = 'data' AND data_type IN ('character varying', 'text')
+  ) THEN
+    ALTER TABLE outboxmessages ALTER COLUMN data TYPE bytea USING convert_to(data, 'UTF8');
+  END IF;
+END
+$$
+@@
@@ -0,0 +1,165 @@
+package io.eventdriven.slimdownaggregates.original.application.books;
+
+import io.eventdriven.slimdownaggregates.original.application.books.commands.RecordCopiesSoldCommand;
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.BookId;
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.FormatType;
+import io.eventdriven.slimdownaggregates.original.domain.books.repositories.SoldCopiesRepository;
+import io.eventdriven.slimdownaggregates.original.domain.books.repositories.SoldCopiesRepository.SoldCopies;
+import io.eventdriven.slimdownaggregates.original.infrastructure.valueobjects.PositiveInt;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SoldCopiesIngestionTest {
+  private static final Duration SHORT_TIMEOUT = Duration.ofMillis(10);
+
+  private final BookId bookId = new BookId(UUID.randomUUID());
+  private final RecordingRepository repository = new RecordingRepository();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @Test
+  void flushesReportsSummedPerFormat() {
+    var ingestion = ingestion(10, SHORT_TIMEOUT);
+
+    assertTrue(ingestion.offer(sold("Hardcover", 2)));
+    assertTrue(ingestion.offer(sold("Hardcover", 3)));
+    assertTrue(ingestion.offer(sold("E-book", 7)));
+    ingestion.flush();
+
+    assertEquals(1, repository.flushes.size());
+    assertEquals(
+      Set.of(increment("Hardcover", 5), increment("E-book", 7)),
+      new HashSet<>(repository.flushes.get(0))
+    );
+    assertEquals(3, meterRegistry.counter("books.sales.accepted").count());
+  }
+
+  @Test
+  void skipsFlushWithoutReports() {
+    var ingestion = ingestion(10, SHORT_TIMEOUT);
+
+    ingestion.flush();
+
+    assertEquals(List.of(), repository.flushes);
+  }
+
+  @Test
+  void rejectsReportsWhileBufferIsFull() {
+    var ingestion = ingestion(2, SHORT_TIMEOUT);
+
+    assertTrue(ingestion.offer(sold("Hardcover", 1)));
+    assertTrue(ingestion.offer(sold("Hardcover", 1)));
+    assertFalse(ingestion.offer(sold("Hardcover", 1)));
+    assertEquals(2, pending());
+
+    ingestion.flush();
+
+    assertEquals(0, pending());
+    assertTrue(ingestion.offer(sold("Hardcover", 1)));
+    assertEquals(1, meterRegistry.counter("books.sales.rejected").count());
+    assertEquals(List.of(increment("Hardcover", 2)), repository.flushes.get(0));
+  }
+
+  @Test
+  void acceptsWaitingReportOnceFlushFreesCapacity() throws Exception {
+    var ingestion = ingestion(1, Duration.ofSeconds(10));
+    assertTrue(ingestion.offer(sold("Hardcover", 1)));
+
+    var waiting = CompletableFuture.supplyAsync(() -> ingestion.offer(sold("Hardcover", 2)));
+    ingestion.flush();
+
+    assertTrue(waiting.get(10, TimeUnit.SECONDS));
+    ingestion.flush();
+    assertEquals(List.of(List.of(increment("Hardcover", 1)), List.of(increment("Hardcover", 2))), repository.flushes);
+  }
+
+  @Test
+  void keepsReportsAndCapacityOfFailedFlush() {
+    var ingestion = ingestion(3, SHORT_TIMEOUT);
+    assertTrue(ingestion.offer(sold("Hardcover", 1)));
+    assertTrue(ingestion.offer(sold("Hardcover", 2)));
+
+    repository.failing = true;
+    assertThrows(IllegalStateException.class, ingestion::flush);
+
+    assertEquals(2, pending());
+    assertTrue(ingestion.offer(sold("Hardcover", 4)));
+    assertFalse(ingestion.offer(sold("Hardcover", 8)));
+
+    repository.failing = false;
+    ingestion.flush();
+
+    assertEquals(List.of(increment("Hardcover", 7)), repository.flushes.get(0));
+    assertEquals(0, pending());
+  }
+
+  @Test
+  void releasesCapacityOfUnmatchedReports() {
+    var ingestion = ingestion(2, SHORT_TIMEOUT);
+    repository.unmatched = true;
+
+    assertTrue(ingestion.offer(sold("Hardcover", 1)));
+    assertTrue(ingestion.offer(sold("E-book", 1)));
+    ingestion.flush();
+
+    assertEquals(2, meterRegistry.counter("books.sales.unmatched").count());
+    assertEquals(0, pending());
+  }
+
+  @Test
+  void flushesRemainingReportsWhenClosed() {
+    var ingestion = ingestion(10, SHORT_TIMEOUT);
+    assertTrue(ingestion.offer(sold("Hardcover", 1)));
+
+    ingestion.close();
+
+    assertEquals(List.of(List.of(increment("Hardcover", 1))), repository.flushes);
+  }
+
+  @Test
+  void rejectsNonPositiveBufferSize() {
+    assertThrows(IllegalArgumentException.class, () -> ingestion(0, SHORT_TIMEOUT));
+  }
+
+  private SoldCopiesIngestion ingestion(int maxPending, Duration offerTimeout) {
+    return new SoldCopiesIngestion(repository, maxPending, offerTimeout, meterRegistry);
+  }
+
+  private double pending() {
+    return meterRegistry.get("books.sales.pending").gauge().value();
+  }
+
+  private RecordCopiesSoldCommand sold(String formatType, int copies) {
+    return new RecordCopiesSoldCommand(bookId, new FormatType(formatType), new PositiveInt(copies));
+  }
+
+  private SoldCopies increment(String formatType, long copies) {
+    return new SoldCopies(bookId, new FormatType(formatType), copies);
+  }
+
+  private static class RecordingRepository implements SoldCopiesRepository {
+    private final List<List<SoldCopies>> flushes = new ArrayList<>();
+    private volatile boolean failing;
+    private volatile boolean unmatched;
+
+    @Override
+    public List<SoldCopies> add(Collection<SoldCopies> increments) {
+      if (failing)
+        throw new IllegalStateException("Database is unavailable");
+
+      flushes.add(List.copyOf(increments));
+      return unmatched ? List.copyOf(increments) : List.of();
+    }
+  }
+}
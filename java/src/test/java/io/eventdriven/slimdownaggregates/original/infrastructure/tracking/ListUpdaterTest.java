@@ -0,0 +1,165 @@
+package io.eventdriven.slimdownaggregates.original.infrastructure.tracking;
+
+import net.jqwik.api.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ListUpdaterTest {
+
+  @Test
+  void updatesUnchangedListInPlace() {
+    var rows = rows("a", "b", "c");
+    var original = new ArrayList<>(rows);
+    var added = new ArrayList<Item>();
+
+    update(rows, List.of(new Item("a", 10), new Item("b", 20), new Item("c", 30)), added);
+
+    assertSameRows(original, rows);
+    assertEquals(List.of(10, 20, 30), values(rows));
+    assertEquals(List.of(), added);
+  }
+
+  @Test
+  void appendsNewItemsAfterMatchingPrefix() {
+    var rows = rows("a", "b");
+    var original = new ArrayList<>(rows);
+    var added = new ArrayList<Item>();
+
+    update(rows, List.of(new Item("a", 1), new Item("b", 2), new Item("c", 3), new Item("d", 4)), added);
+
+    assertSameRows(original, rows.subList(0, 2));
+    assertEquals(List.of("a", "b", "c", "d"), keys(rows));
+    assertEquals(List.of(1, 2, 3, 4), values(rows));
+    assertEquals(List.of(new Item("c", 3), new Item("d", 4)), added);
+  }
+
+  @Test
+  void removesItemsMissingFromCurrentState() {
+    var rows = rows("a", "b", "c", "d");
+    var c = rows.get(2);
+    var added = new ArrayList<Item>();
+
+    update(rows, List.of(new Item("a", 1), new Item("c", 3)), added);
+
+    assertEquals(List.of("a", "c"), keys(rows));
+    assertSame(c, rows.get(1));
+    assertEquals(3, c.value);
+    assertEquals(List.of(), added);
+  }
+
+  @Test
+  void matchesItemsAfterPrefixByKey() {
+    var rows = rows("a", "b", "c");
+    var b = rows.get(1);
+    var c = rows.get(2);
+    var added = new ArrayList<Item>();
+
+    update(rows, List.of(new Item("a", 1), new Item("x", 9), new Item("c", 3), new Item("b", 2)), added);
+
+    // Kept rows stay in their order, as reordering would rewrite them
+    assertEquals(List.of("a", "b", "c", "x"), keys(rows));
+    assertSame(b, rows.get(1));
+    assertSame(c, rows.get(2));
+    assertEquals(List.of(1, 2, 3, 9), values(rows));
+    assertEquals(List.of(new Item("x", 9)), added);
+  }
+
+  @Test
+  void clearsListForEmptyState() {
+    var rows = rows("a", "b");
+
+    update(rows, List.of(), new ArrayList<>());
+
+    assertEquals(List.of(), rows);
+  }
+
+  @Property
+  void reconcilesRowsWithItems(
+    @ForAll("keys") List<String> stored,
+    @ForAll("keys") List<String> current
+  ) {
+    var rows = rows(stored.toArray(String[]::new));
+    var existing = rows.stream().collect(Collectors.toMap(r -> r.key, r -> r));
+    var items = current.stream().map(key -> new Item(key, key.hashCode())).toList();
+    var added = new ArrayList<Item>();
+
+    update(rows, items, added);
+
+    assertEquals(Set.copyOf(current), Set.copyOf(keys(rows)));
+    assertEquals(current.size(), rows.size());
+    for (var row : rows) {
+      assertEquals(row.key.hashCode(), row.value);
+      if (existing.containsKey(row.key))
+        assertSame(existing.get(row.key), row);
+    }
+    assertEquals(
+      current.stream().filter(key -> !existing.containsKey(key)).toList(),
+      added.stream().map(Item::key).toList()
+    );
+    // Appending to or truncating the stored rows keeps the order of the items
+    var common = Math.min(stored.size(), current.size());
+    if (stored.subList(0, common).equals(current.subList(0, common)))
+      assertEquals(current, keys(rows));
+  }
+
+  @Provide
+  Arbitrary<List<String>> keys() {
+    return Arbitraries.of("a", "b", "c", "d", "e", "f", "g").list().uniqueElements().ofMaxSize(7);
+  }
+
+  private static void update(List<Row> rows, List<Item> items, List<Item> added) {
+    ListUpdater.update(
+      rows,
+      items,
+      row -> row.key,
+      Item::key,
+      (row, item) -> row.value = item.value(),
+      item -> {
+        added.add(item);
+        return new Row(item.key(), item.value());
+      }
+    );
+  }
+
+  private static List<Row> rows(String... keys) {
+    var rows = new ArrayList<Row>();
+    for (var key : keys) {
+      rows.add(new Row(key, 0));
+    }
+    return rows;
+  }
+
+  private static List<String> keys(List<Row> rows) {
+    return rows.stream().map(r -> r.key).toList();
+  }
+
+  private static List<Integer> values(List<Row> rows) {
+    return rows.stream().map(r -> r.value).toList();
+  }
+
+  private static void assertSameRows(List<Row> expected, List<Row> actual) {
+    assertEquals(expected.size(), actual.size());
+    for (var i = 0; i < expected.size(); i++) {
+      assertSame(expected.get(i), actual.get(i));
+    }
+  }
+
+  private record Item(String key, int value) {
+  }
+
+  private static final class Row {
+    private final String key;
+    private int value;
+
+    Row(String key, int value) {
+      this.key = key;
+      this.value = value;
+    }
+  }
+}
@@ -0,0 +1,239 @@
+package io.eventdriven.slimdownaggregates.original.persistence.authors;
+
+import io.eventdriven.slimdownaggregates.original.api.PublishingHouseApplication;
+import io.eventdriven.slimdownaggregates.original.domain.books.authors.AuthorIdOrData;
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.Author;
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.AuthorFirstName;
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.AuthorLastName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Creates authors in the Postgres from docker-compose. Each test uses its own last name,
+ * so authors created by other tests don't match.
+ */
+@SpringBootTest(
+  classes = PublishingHouseApplication.class,
+  properties = "spring.jpa.show-sql=false"
+)
+class AuthorServiceTest {
+  private static final Duration LONG_WAIT = Duration.ofSeconds(10);
+
+  @Autowired
+  private AuthorRepository authorRepository;
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  private final String lastName = "Nowak " + UUID.randomUUID();
+
+  @Test
+  void matchesAuthorsByNormalizedName() {
+    var service = service(LONG_WAIT);
+
+    var created = inTransaction(() -> service.getOrCreate(author("Anna", lastName)));
+    var matched = inTransaction(() -> service.getOrCreate(
+      author("  ANNA ", lastName.toUpperCase().replace(" ", "   "))
+    ));
+
+    assertEquals(created.id(), matched.id());
+    assertEquals(1, storedAuthors());
+  }
+
+  @Test
+  void createsAuthorRequestedConcurrentlyOnce() throws Exception {
+    var service = service(LONG_WAIT);
+    var barrier = new CyclicBarrier(8);
+    var executor = Executors.newFixedThreadPool(8);
+
+    var requests = new ArrayList<CompletableFuture<Author>>();
+    for (var i = 0; i < 8; i++) {
+      requests.add(CompletableFuture.supplyAsync(() -> {
+        await(barrier);
+        return inTransaction(() -> service.getOrCreate(author("Anna", lastName)));
+      }, executor));
+    }
+
+    var ids = new ArrayList<UUID>();
+    try {
+      for (var request : requests) {
+        ids.add(request.get(30, TimeUnit.SECONDS).id().value());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(1, Set.copyOf(ids).size());
+    assertEquals(1, storedAuthors());
+  }
+
+  @Test
+  void waitsForCreatingTransactionToCommit() throws Exception {
+    var service = service(LONG_WAIT);
+    var creating = new CreatingTransaction(service);
+
+    var waiting = requestInOtherThread(service);
+
+    assertStillWaiting(waiting);
+    var created = creating.finish(true);
+    assertEquals(created.id(), waiting.get(10, TimeUnit.SECONDS).id());
+    assertEquals(1, storedAuthors());
+  }
+
+  @Test
+  void insertsAnywayAfterWaitTimesOut() throws Exception {
+    var service = service(Duration.ofMillis(100));
+    var creating = new CreatingTransaction(service);
+
+    var waiting = requestInOtherThread(service);
+
+    // The insert conflicts on the uncommitted row, so it waits for the creating transaction
+    assertStillWaiting(waiting);
+    var created = creating.finish(true);
+    assertEquals(created.id(), waiting.get(10, TimeUnit.SECONDS).id());
+    assertEquals(1, storedAuthors());
+  }
+
+  @Test
+  void createsAuthorWhenCreatingTransactionRollsBack() throws Exception {
+    var service = service(LONG_WAIT);
+    var creating = new CreatingTransaction(service);
+
+    var waiting = requestInOtherThread(service);
+
+    assertStillWaiting(waiting);
+    var rolledBack = creating.finish(false);
+    var created = waiting.get(10, TimeUnit.SECONDS);
+    assertNotEquals(rolledBack.id(), created.id());
+    assertEquals(1, storedAuthors());
+  }
+
+  @Test
+  void returnsAuthorCreatedEarlierInTheSameTransaction() {
+    var service = service(LONG_WAIT);
+
+    var authors = assertTimeout(Duration.ofSeconds(5), () -> inTransaction(() -> List.of(
+      service.getOrCreate(author("Anna", lastName)),
+      service.getOrCreate(author("anna", lastName))
+    )));
+
+    assertEquals(authors.get(0).id(), authors.get(1).id());
+    assertEquals(1, storedAuthors());
+  }
+
+  @Test
+  void upsertsAuthorsInOneGo() {
+    var service = service(LONG_WAIT);
+    var existing = inTransaction(() -> service.getOrCreate(author("Anna", lastName)));
+
+    var authors = inTransaction(() -> service.getOrCreateAll(List.of(
+      author("Jan", lastName),
+      author(" ANNA", lastName),
+      new AuthorIdOrData(existing.id(), new AuthorFirstName("Anna"), new AuthorLastName(lastName)),
+      author("Ewa", lastName),
+      author("jan ", lastName)
+    )));
+
+    assertEquals(existing.id(), authors.get(1).id());
+    assertEquals(existing.id(), authors.get(2).id());
+    assertEquals(authors.get(0).id(), authors.get(4).id());
+    assertEquals("Jan", authors.get(0).firstName().value());
+    assertEquals("Ewa", authors.get(3).firstName().value());
+    assertEquals(3, storedAuthors());
+    assertEquals(
+      Set.of("anna", "jan", "ewa"),
+      authorRepository.findAll().stream()
+        .filter(a -> a.getLastName().equals(lastName))
+        .map(a -> a.getNormalizedName().substring(0, a.getNormalizedName().indexOf('|')))
+        .collect(Collectors.toSet())
+    );
+  }
+
+  private CompletableFuture<Author> requestInOtherThread(AuthorService service) {
+    return CompletableFuture.supplyAsync(() -> inTransaction(() -> service.getOrCreate(author("Anna", lastName))));
+  }
+
+  private AuthorService service(Duration waitTimeout) {
+    return new AuthorService(authorRepository, jdbcTemplate, waitTimeout);
+  }
+
+  private AuthorIdOrData author(String firstName, String lastName) {
+    return new AuthorIdOrData(null, new AuthorFirstName(firstName), new AuthorLastName(lastName));
+  }
+
+  private <T> T inTransaction(Supplier<T> action) {
+    return transactionTemplate.execute(status -> action.get());
+  }
+
+  private long storedAuthors() {
+    return jdbcTemplate.queryForObject(
+      "SELECT count(*) FROM authors WHERE normalized_name LIKE ?",
+      Long.class,
+      "%|" + lastName.toLowerCase()
+    );
+  }
+
+  private static void assertStillWaiting(CompletableFuture<?> request) throws InterruptedException {
+    Thread.sleep(500);
+    assertFalse(request.isDone());
+  }
+
+  private static void await(CyclicBarrier barrier) {
+    try {
+      barrier.await(10, TimeUnit.SECONDS);
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Creates the author and keeps its transaction open until finished.
+   */
+  private class CreatingTransaction {
+    private final CountDownLatch created = new CountDownLatch(1);
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private final CompletableFuture<Author> author = new CompletableFuture<>();
+    private final CompletableFuture<Void> transaction;
+    private volatile boolean commit;
+
+    CreatingTransaction(AuthorService service) throws InterruptedException {
+      transaction = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+        author.complete(service.getOrCreate(author("Anna", lastName)));
+        created.countDown();
+        try {
+          finished.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          throw new IllegalStateException(e);
+        }
+        if (!commit)
+          status.setRollbackOnly();
+      }));
+      assertTrue(created.await(10, TimeUnit.SECONDS));
+    }
+
+    Author finish(boolean commit) throws Exception {
+      this.commit = commit;
+      finished.countDown();
+      transaction.get(10, TimeUnit.SECONDS);
+      return author.get();
+    }
+  }
+}
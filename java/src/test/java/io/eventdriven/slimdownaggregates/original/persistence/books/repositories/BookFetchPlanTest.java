@@ -0,0 +1,208 @@
+package io.eventdriven.slimdownaggregates.original.persistence.books.repositories;
+
+import io.eventdriven.slimdownaggregates.original.api.PublishingHouseApplication;
+import io.eventdriven.slimdownaggregates.original.application.books.BooksService;
+import io.eventdriven.slimdownaggregates.original.application.books.commands.*;
+import io.eventdriven.slimdownaggregates.original.domain.books.Book;
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.*;
+import io.eventdriven.slimdownaggregates.original.domain.books.repositories.BookSlice;
+import io.eventdriven.slimdownaggregates.original.domain.books.repositories.BookSlice.Part;
+import io.eventdriven.slimdownaggregates.original.domain.books.repositories.BooksRepository;
+import io.eventdriven.slimdownaggregates.original.domain.books.services.PublishingHouse;
+import io.eventdriven.slimdownaggregates.original.infrastructure.valueobjects.NonEmptyString;
+import io.eventdriven.slimdownaggregates.original.infrastructure.valueobjects.PositiveInt;
+import io.eventdriven.slimdownaggregates.original.persistence.authors.AuthorEntity;
+import io.eventdriven.slimdownaggregates.original.persistence.languages.LanguageEntity;
+import io.eventdriven.slimdownaggregates.original.persistence.publishers.PublisherEntity;
+import io.eventdriven.slimdownaggregates.original.persistence.translations.TranslationDictionary;
+import io.eventdriven.slimdownaggregates.original.persistence.translators.TranslatorEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Counts the statements Hibernate runs to load each book slice and to run the commands using them,
+ * so a fetch plan that starts loading collections one by one fails here. Statements run with JDBC,
+ * like the book details and chapter content ones, aren't counted. Needs the Postgres from docker-compose.
+ */
+@SpringBootTest(
+  classes = PublishingHouseApplication.class,
+  properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.jpa.show-sql=false",
+    // Scheduled jobs would run their statements while the test counts them
+    "outbox.relay.poll-interval=PT1H",
+    "books.sales.flush-interval=PT1H",
+    "translations.dictionary.refresh-interval=PT1H"
+  }
+)
+class BookFetchPlanTest {
+  private static final int SMALL = 1;
+  private static final int LARGE = 50;
+
+  @Autowired
+  private BooksRepository repository;
+  @Autowired
+  private BooksService booksService;
+  @Autowired
+  private TranslationDictionary dictionary;
+  @Autowired
+  private PublishingHouse publishingHouse;
+  @PersistenceContext
+  private EntityManager entityManager;
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  private Statistics statistics;
+  private Author author;
+  private Publisher publisher;
+  private final List<Language> languages = new ArrayList<>();
+  private final List<Translator> translators = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+    transactionTemplate.executeWithoutResult(status -> {
+      var authorEntity = new AuthorEntity();
+      authorEntity.setFirstName("Anna");
+      authorEntity.setLastName("Nowak");
+      authorEntity.setNormalizedName("anna nowak " + UUID.randomUUID());
+      entityManager.persist(authorEntity);
+      author = new Author(
+        new AuthorId(authorEntity.getId()), new AuthorFirstName("Anna"), new AuthorLastName("Nowak")
+      );
+
+      var publisherEntity = new PublisherEntity();
+      publisherEntity.setName("Publisher");
+      entityManager.persist(publisherEntity);
+      publisher = new Publisher(new PublisherId(publisherEntity.getId()), new PublisherName("Publisher"));
+
+      for (var i = 1; i <= 5; i++) {
+        var language = new LanguageEntity();
+        language.setName("language " + i);
+        entityManager.persist(language);
+        languages.add(new Language(new LanguageId(language.getId()), new LanguageName(language.getName())));
+
+        var translator = new TranslatorEntity();
+        translator.setName("translator " + i);
+        entityManager.persist(translator);
+        translators.add(new Translator(new TranslatorId(translator.getId()), new TranslatorName(translator.getName())));
+      }
+    });
+    dictionary.refresh();
+  }
+
+  @ParameterizedTest
+  @EnumSource(BookSlice.class)
+  void loadsSliceWithTheSameStatementsForAnyBookSize(BookSlice slice) {
+    var small = givenBook(Book.State.EDITING, SMALL);
+    var large = givenBook(Book.State.EDITING, LARGE);
+
+    var smallStatements = statementsToRun(() -> load(small, slice));
+    var largeStatements = statementsToRun(() -> load(large, slice));
+
+    assertEquals(expectedStatements(slice), smallStatements, "Statements to load " + slice);
+    assertEquals(smallStatements, largeStatements, "Statements to load " + slice + " of a large book");
+  }
+
+  @Test
+  void runsCommandsWithTheSameStatementsForAnyBookSize() {
+    var commands = new LinkedHashMap<String, Command>();
+    commands.put("addChapter", new Command(Book.State.WRITING, (bookId, size) -> booksService.addChapter(
+      new AddChapterCommand(bookId, new ChapterTitle("chapter " + (size + 1)), new ChapterContent("content"))
+    )));
+    commands.put("addFormat", new Command(Book.State.EDITING, (bookId, size) -> booksService.addFormat(
+      new AddFormatCommand(bookId, new Format(new FormatType("added"), new PositiveInt(100), new PositiveInt(1)))
+    )));
+    commands.put("addReviewer", new Command(Book.State.EDITING, (bookId, size) -> booksService.addReviewer(
+      new AddReviewerCommand(bookId, new Reviewer(new ReviewerId(UUID.randomUUID()), new ReviewerName("added")))
+    )));
+    commands.put("addTranslation", new Command(Book.State.EDITING, (bookId, size) -> booksService.addTranslation(
+      new AddTranslationCommand(bookId, new Translation(languages.get(4), translators.get(4)))
+    )));
+    commands.put("setISBN", new Command(Book.State.EDITING, (bookId, size) -> booksService.setISBN(
+      new SetISBNCommand(bookId, new ISBN("978-3-16-148410-0"))
+    )));
+
+    commands.forEach((name, command) -> {
+      var small = givenBook(command.state(), SMALL);
+      var large = givenBook(command.state(), LARGE);
+
+      var smallStatements = statementsToRun(() -> command.run().accept(small, SMALL));
+      var largeStatements = statementsToRun(() -> command.run().accept(large, LARGE));
+
+      assertEquals(smallStatements, largeStatements, "Statements to run " + name + " on a large book");
+    });
+  }
+
+  // One query joins the largest collection of the slice and each other one is a subselect.
+  // The summary is a lazy attribute, so the whole book needs one more select.
+  private static long expectedStatements(BookSlice slice) {
+    var collections = Arrays.stream(Part.values()).filter(slice::includes).count();
+    return 1 + Math.max(collections - 1, 0) + (slice == BookSlice.WHOLE ? 1 : 0);
+  }
+
+  private void load(BookId bookId, BookSlice slice) {
+    transactionTemplate.executeWithoutResult(status -> repository.findById(bookId, slice).orElseThrow());
+  }
+
+  private long statementsToRun(Runnable action) {
+    statistics.clear();
+    action.run();
+    return statistics.getPrepareStatementCount();
+  }
+
+  private BookId givenBook(Book.State state, int size) {
+    var bookId = new BookId(UUID.randomUUID());
+
+    var chapters = new ArrayList<Chapter>();
+    var reviewers = new ArrayList<Reviewer>();
+    var formats = new ArrayList<Format>();
+    for (var i = 1; i <= size; i++) {
+      chapters.add(new Chapter(new ChapterNumber(i), new ChapterTitle("chapter " + i), new ChapterContent("content " + i)));
+      reviewers.add(new Reviewer(new ReviewerId(UUID.randomUUID()), new ReviewerName("reviewer " + i)));
+      formats.add(new Format(new FormatType("format " + i), new PositiveInt(100), new PositiveInt(1)));
+    }
+    // A book has at most five translations, one is left for addTranslation
+    var translations = new ArrayList<Translation>();
+    for (var i = 0; i < Math.min(size, 4); i++) {
+      translations.add(new Translation(languages.get(i), translators.get(i)));
+    }
+
+    var book = new Book.Factory().create(
+      bookId, state, new Title("Title"), author, publishingHouse, publisher, new PositiveInt(1), new Genre("Fantasy"),
+      null, null, null, null, null, new NonEmptyString("Summary"), null,
+      reviewers, chapters, translations, formats
+    );
+    transactionTemplate.executeWithoutResult(status -> repository.addAll(List.of(book)));
+
+    return bookId;
+  }
+
+  private record Command(Book.State state, BookCommand run) {
+  }
+
+  private interface BookCommand {
+    void accept(BookId bookId, int size);
+  }
+}
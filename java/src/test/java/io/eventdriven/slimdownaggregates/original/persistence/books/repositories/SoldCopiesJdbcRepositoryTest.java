@@ -0,0 +1,232 @@
+package io.eventdriven.slimdownaggregates.original.persistence.books.repositories;
+
+import io.eventdriven.slimdownaggregates.original.api.PublishingHouseApplication;
+import io.eventdriven.slimdownaggregates.original.domain.books.Book;
+import io.eventdriven.slimdownaggregates.original.domain.books.dtos.BookDetails.FormatDetails;
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.*;
+import io.eventdriven.slimdownaggregates.original.domain.books.repositories.BooksRepository;
+import io.eventdriven.slimdownaggregates.original.domain.books.repositories.SoldCopiesRepository;
+import io.eventdriven.slimdownaggregates.original.domain.books.repositories.SoldCopiesRepository.SoldCopies;
+import io.eventdriven.slimdownaggregates.original.domain.books.services.PublishingHouse;
+import io.eventdriven.slimdownaggregates.original.infrastructure.valueobjects.NonEmptyString;
+import io.eventdriven.slimdownaggregates.original.infrastructure.valueobjects.PositiveInt;
+import io.eventdriven.slimdownaggregates.original.persistence.authors.AuthorEntity;
+import io.eventdriven.slimdownaggregates.original.persistence.publishers.PublisherEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the sold copies statements against the Postgres from docker-compose,
+ * checking the formats, the patched book details and the invariants checked in SQL.
+ */
+@SpringBootTest(
+  classes = PublishingHouseApplication.class,
+  properties = {
+    "spring.jpa.show-sql=false",
+    // The relay would delete the scheduled events the test counts
+    "outbox.relay.poll-interval=PT1H",
+    "books.sales.flush-interval=PT1H"
+  }
+)
+class SoldCopiesJdbcRepositoryTest {
+  private static final String COPIES_SOLD = "book.copies-sold";
+
+  @Autowired
+  private SoldCopiesRepository soldCopies;
+  @Autowired
+  private BooksRepository repository;
+  @Autowired
+  private BookDetailsRepository detailsRepository;
+  @Autowired
+  private PublishingHouse publishingHouse;
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  private Author author;
+  private Publisher publisher;
+
+  @BeforeEach
+  void setUp() {
+    transactionTemplate.executeWithoutResult(status -> {
+      var authorEntity = new AuthorEntity();
+      authorEntity.setFirstName("Anna");
+      authorEntity.setLastName("Nowak");
+      authorEntity.setNormalizedName("anna nowak " + UUID.randomUUID());
+      entityManager.persist(authorEntity);
+      author = new Author(
+        new AuthorId(authorEntity.getId()), new AuthorFirstName("Anna"), new AuthorLastName("Nowak")
+      );
+
+      var publisherEntity = new PublisherEntity();
+      publisherEntity.setName("Publisher");
+      entityManager.persist(publisherEntity);
+      publisher = new Publisher(new PublisherId(publisherEntity.getId()), new PublisherName("Publisher"));
+    });
+  }
+
+  @Test
+  void addsCopiesToFormatsAndTheirDetails() {
+    var bookId = givenBook(Book.State.PUBLISHED);
+    var version = version(bookId);
+    var events = scheduledEvents();
+
+    var unmatched = soldCopies.add(List.of(
+      sold(bookId, "E-book", 40),
+      sold(bookId, "Hardcover", 5)
+    ));
+
+    assertEquals(List.of(), unmatched);
+    assertEquals(List.of(11, 3, 41), storedSoldCopies(bookId));
+    assertEquals(List.of(11, 3, 41), detailsSoldCopies(bookId));
+    assertEquals(version + 1, version(bookId));
+    assertEquals(events + 2, scheduledEvents());
+  }
+
+  @Test
+  void keepsOrderAndOtherFormatsOfDetails() {
+    var bookId = givenBook(Book.State.PUBLISHED);
+
+    soldCopies.add(List.of(sold(bookId, "Paperback", 3)));
+
+    var formats = details(bookId);
+    assertEquals(List.of("Hardcover", "Paperback", "E-book"), Arrays.stream(formats).map(FormatDetails::formatType).toList());
+    assertEquals(List.of(100, 50, 1000), Arrays.stream(formats).map(FormatDetails::totalCopies).toList());
+    assertEquals(List.of(6, 6, 1), Arrays.stream(formats).map(FormatDetails::soldCopies).toList());
+  }
+
+  @Test
+  void returnsIncrementsBreakingInvariantsAsUnmatched() {
+    var published = givenBook(Book.State.PUBLISHED);
+    var editing = givenBook(Book.State.EDITING);
+    var events = scheduledEvents();
+
+    var tooMany = sold(published, "Hardcover", 95);
+    var unknownFormat = sold(published, "Audiobook", 1);
+    var notPublished = sold(editing, "Hardcover", 1);
+    var unknownBook = sold(new BookId(UUID.randomUUID()), "Hardcover", 1);
+    var overflow = sold(published, "Paperback", Integer.MAX_VALUE + 1L);
+
+    var unmatched = soldCopies.add(List.of(
+      tooMany, unknownFormat, sold(published, "E-book", 9), notPublished, unknownBook, overflow
+    ));
+
+    assertEquals(List.of(tooMany, unknownFormat, notPublished, unknownBook, overflow), unmatched);
+    assertEquals(List.of(6, 3, 10), storedSoldCopies(published));
+    assertEquals(List.of(6, 3, 10), detailsSoldCopies(published));
+    assertEquals(List.of(6, 3, 1), storedSoldCopies(editing));
+    assertEquals(events + 1, scheduledEvents());
+  }
+
+  @Test
+  void addsIncrementsOfTheSameFormatTogether() {
+    var bookId = givenBook(Book.State.PUBLISHED);
+    var fitting = List.of(sold(bookId, "Hardcover", 4), sold(bookId, "Hardcover", 5));
+    var exceeding = List.of(sold(bookId, "Paperback", 30), sold(bookId, "Paperback", 30));
+
+    var unmatched = soldCopies.add(List.of(fitting.get(0), exceeding.get(0), fitting.get(1), exceeding.get(1)));
+
+    assertEquals(exceeding, unmatched);
+    assertEquals(List.of(15, 3, 1), storedSoldCopies(bookId));
+    assertEquals(List.of(15, 3, 1), detailsSoldCopies(bookId));
+  }
+
+  @Test
+  void sellsAllPrintedCopies() {
+    var bookId = givenBook(Book.State.PUBLISHED);
+
+    var unmatched = soldCopies.add(List.of(sold(bookId, "Hardcover", 94)));
+
+    assertEquals(List.of(), unmatched);
+    assertEquals(List.of(100, 3, 1), storedSoldCopies(bookId));
+  }
+
+  @Test
+  void addsIncrementsOfMoreBooksThanFitInOneStatement() {
+    var bookIds = new ArrayList<BookId>();
+    for (var i = 0; i < 3; i++) {
+      bookIds.add(givenBook(Book.State.PUBLISHED));
+    }
+    var increments = new ArrayList<SoldCopies>();
+    // Increments of unknown books fill the first chunks, so the known ones land in the last one
+    for (var i = 0; i < 2500; i++) {
+      increments.add(sold(new BookId(UUID.randomUUID()), "Hardcover", 1));
+    }
+    bookIds.forEach(bookId -> increments.add(sold(bookId, "E-book", 2)));
+
+    var unmatched = soldCopies.add(increments);
+
+    assertEquals(2500, unmatched.size());
+    for (var bookId : bookIds) {
+      assertEquals(List.of(6, 3, 3), storedSoldCopies(bookId));
+      assertEquals(List.of(6, 3, 3), detailsSoldCopies(bookId));
+    }
+  }
+
+  private BookId givenBook(Book.State state) {
+    var bookId = new BookId(UUID.randomUUID());
+    var formats = List.of(
+      new Format(new FormatType("Hardcover"), new PositiveInt(100), new PositiveInt(6)),
+      new Format(new FormatType("Paperback"), new PositiveInt(50), new PositiveInt(3)),
+      new Format(new FormatType("E-book"), new PositiveInt(1000), new PositiveInt(1))
+    );
+
+    var book = new Book.Factory().create(
+      bookId, state, new Title("Title"), author, publishingHouse, publisher, new PositiveInt(1), new Genre("Fantasy"),
+      null, null, null, null, null, new NonEmptyString("Summary"), null,
+      List.of(), List.of(), List.of(), formats
+    );
+    transactionTemplate.executeWithoutResult(status -> repository.addAll(List.of(book)));
+
+    return bookId;
+  }
+
+  private static SoldCopies sold(BookId bookId, String formatType, long copies) {
+    return new SoldCopies(bookId, new FormatType(formatType), copies);
+  }
+
+  private List<Integer> storedSoldCopies(BookId bookId) {
+    return jdbcTemplate.queryForList(
+      """
+        SELECT sold_copies FROM formats WHERE book_id = ?
+        ORDER BY CASE format_type WHEN 'Hardcover' THEN 0 WHEN 'Paperback' THEN 1 ELSE 2 END
+        """,
+      Integer.class,
+      bookId.value()
+    );
+  }
+
+  private List<Integer> detailsSoldCopies(BookId bookId) {
+    return Arrays.stream(details(bookId)).map(FormatDetails::soldCopies).toList();
+  }
+
+  private FormatDetails[] details(BookId bookId) {
+    return detailsRepository.findDetailsById(bookId).orElseThrow().formats();
+  }
+
+  private long version(BookId bookId) {
+    return jdbcTemplate.queryForObject("SELECT version FROM books WHERE id = ?", Long.class, bookId.value());
+  }
+
+  private long scheduledEvents() {
+    return jdbcTemplate.queryForObject(
+      "SELECT count(*) FROM outboxmessages WHERE message_type = ?", Long.class, COPIES_SOLD
+    );
+  }
+}
@@ -0,0 +1,183 @@
+package io.eventdriven.slimdownaggregates.original.persistence.core.outbox;
+
+import io.eventdriven.slimdownaggregates.original.api.PublishingHouseApplication;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Relays messages from the outbox table of the Postgres from docker-compose.
+ * The table is emptied before each test, so messages left by other tests aren't relayed.
+ */
+@SpringBootTest(
+  classes = PublishingHouseApplication.class,
+  properties = {
+    "spring.jpa.show-sql=false",
+    // Keeps the application relay from taking the messages of the test
+    "outbox.relay.poll-interval=PT1H"
+  }
+)
+class OutboxRelayTest {
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @BeforeEach
+  void setUp() {
+    jdbcTemplate.update("DELETE FROM outboxmessages");
+  }
+
+  @Test
+  void relaysBatchesInOrderAndDeletesThem() {
+    givenMessages("first", "second", "third", "fourth", "fifth");
+    var sink = new RecordingSink();
+
+    relay(sink, 2).poll();
+
+    assertEquals(List.of(List.of("first", "second"), List.of("third", "fourth"), List.of("fifth")), sink.batches);
+    assertEquals(0, storedMessages());
+    assertEquals(5, meterRegistry.counter("outbox.relay.published").count());
+  }
+
+  @Test
+  void passesStoredMessageContent() {
+    var scheduled = OffsetDateTime.now().minusMinutes(1);
+    jdbcTemplate.update(
+      "INSERT INTO outboxmessages (message_id, message_type, data, scheduled) VALUES (?, ?, ?, ?)",
+      "message-1", "book.published", new byte[]{0, 1, (byte) 0xff}, scheduled
+    );
+    var relayed = new ArrayList<OutboxMessage>();
+
+    relay(relayed::addAll, 10).poll();
+
+    assertEquals(1, relayed.size());
+    var message = relayed.get(0);
+    assertEquals("message-1", message.messageId());
+    assertEquals("book.published", message.messageType());
+    assertArrayEquals(new byte[]{0, 1, (byte) 0xff}, message.data());
+    assertEquals(scheduled.toInstant().toEpochMilli(), message.scheduled().toInstant().toEpochMilli());
+  }
+
+  @Test
+  void keepsBatchWhenSinkFails() {
+    givenMessages("first", "second", "third");
+    var failing = relay(messages -> {
+      throw new IllegalStateException("Broker is unavailable");
+    }, 2);
+
+    assertThrows(IllegalStateException.class, failing::poll);
+    assertEquals(3, storedMessages());
+
+    var sink = new RecordingSink();
+    relay(sink, 2).poll();
+
+    assertEquals(List.of(List.of("first", "second"), List.of("third")), sink.batches);
+    assertEquals(0, storedMessages());
+  }
+
+  @Test
+  void skipsMessagesLockedByAnotherRelay() throws Exception {
+    givenMessages("first", "second", "third", "fourth");
+    var locked = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    var blocked = new RecordingSink(batch -> {
+      locked.countDown();
+      await(release);
+    });
+    var other = new RecordingSink();
+
+    var blockedRelay = CompletableFuture.runAsync(
+      () -> transactionTemplate.execute(status -> relay(blocked, 2).relayBatch())
+    );
+    await(locked);
+    relay(other, 2).poll();
+    release.countDown();
+    blockedRelay.get(10, TimeUnit.SECONDS);
+
+    assertEquals(List.of(List.of("first", "second")), blocked.batches);
+    assertEquals(List.of(List.of("third", "fourth")), other.batches);
+    assertEquals(0, storedMessages());
+  }
+
+  @Test
+  void measuresLagOfOldestRelayedMessage() {
+    jdbcTemplate.update(
+      "INSERT INTO outboxmessages (message_id, message_type, data, scheduled) VALUES (?, ?, ?, ?)",
+      "old", "book.published", new byte[0], OffsetDateTime.now().minusMinutes(5)
+    );
+    var relay = relay(new RecordingSink(), 10);
+
+    transactionTemplate.execute(status -> relay.relayBatch());
+    assertTrue(lag() >= 5 * 60 * 1000, "Lag " + lag());
+
+    transactionTemplate.execute(status -> relay.relayBatch());
+    assertEquals(0, lag());
+  }
+
+  private OutboxRelay relay(OutboxSink sink, int batchSize) {
+    return new OutboxRelay(jdbcTemplate, transactionTemplate, sink, batchSize, meterRegistry);
+  }
+
+  private void givenMessages(String... messageIds) {
+    for (var messageId : messageIds) {
+      jdbcTemplate.update(
+        "INSERT INTO outboxmessages (message_id, message_type, data, scheduled) VALUES (?, ?, ?, ?)",
+        messageId, "book.published", messageId.getBytes(StandardCharsets.UTF_8), OffsetDateTime.now()
+      );
+    }
+  }
+
+  private long storedMessages() {
+    return jdbcTemplate.queryForObject("SELECT count(*) FROM outboxmessages", Long.class);
+  }
+
+  private double lag() {
+    return meterRegistry.get("outbox.relay.lag").gauge().value();
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      assertTrue(latch.await(10, TimeUnit.SECONDS));
+    } catch (InterruptedException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static class RecordingSink implements OutboxSink {
+    private final List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+    private final Consumer<List<OutboxMessage>> onPublish;
+
+    RecordingSink() {
+      this(messages -> {});
+    }
+
+    RecordingSink(Consumer<List<OutboxMessage>> onPublish) {
+      this.onPublish = onPublish;
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+      batches.add(messages.stream().map(OutboxMessage::messageId).toList());
+      onPublish.accept(messages);
+    }
+  }
+}
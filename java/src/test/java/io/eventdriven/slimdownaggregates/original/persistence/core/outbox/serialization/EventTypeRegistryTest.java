@@ -0,0 +1,48 @@
+package io.eventdriven.slimdownaggregates.original.persistence.core.outbox.serialization;
+
+import io.eventdriven.slimdownaggregates.original.domain.books.events.BookMovedToEditingEvent;
+import io.eventdriven.slimdownaggregates.original.domain.books.events.BookPublishedEvent;
+import io.eventdriven.slimdownaggregates.original.domain.books.events.ChapterAddedEvent;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EventTypeRegistryTest {
+  private final EventTypeRegistry registry = new EventTypeRegistry()
+    .register(ChapterAddedEvent.class, "book.chapter-added")
+    .register(BookPublishedEvent.class, "book.published");
+
+  @Test
+  void mapsTypesToCodesAndBack() {
+    assertEquals("book.chapter-added", registry.codeOf(ChapterAddedEvent.class));
+    assertEquals("book.published", registry.codeOf(BookPublishedEvent.class));
+    assertEquals(ChapterAddedEvent.class, registry.typeOf("book.chapter-added"));
+    assertEquals(BookPublishedEvent.class, registry.typeOf("book.published"));
+  }
+
+  @Test
+  void rejectsUnregisteredTypesAndCodes() {
+    assertThrows(IllegalArgumentException.class, () -> registry.codeOf(BookMovedToEditingEvent.class));
+    assertThrows(IllegalArgumentException.class, () -> registry.typeOf("book.moved-to-editing"));
+  }
+
+  @Test
+  void rejectsCodeRegisteredForAnotherType() {
+    assertThrows(
+      IllegalArgumentException.class,
+      () -> registry.register(BookMovedToEditingEvent.class, "book.published")
+    );
+    assertEquals(BookPublishedEvent.class, registry.typeOf("book.published"));
+  }
+
+  @Test
+  void rejectsTypeRegisteredUnderAnotherCode() {
+    assertThrows(
+      IllegalArgumentException.class,
+      () -> registry.register(ChapterAddedEvent.class, "book.chapter-added-v2")
+    );
+    assertEquals("book.chapter-added", registry.codeOf(ChapterAddedEvent.class));
+    assertThrows(IllegalArgumentException.class, () -> registry.typeOf("book.chapter-added-v2"));
+  }
+}
@@ -0,0 +1,130 @@
+package io.eventdriven.slimdownaggregates.original.persistence.core.outbox.serialization;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.eventdriven.slimdownaggregates.original.domain.books.entities.*;
+import io.eventdriven.slimdownaggregates.original.domain.books.events.BookMovedToEditingEvent;
+import io.eventdriven.slimdownaggregates.original.domain.books.events.BookPublishedEvent;
+import io.eventdriven.slimdownaggregates.original.domain.books.events.ChapterAddedEvent;
+import io.eventdriven.slimdownaggregates.original.domain.books.events.CopiesSoldEvent;
+import io.eventdriven.slimdownaggregates.original.infrastructure.valueobjects.PositiveInt;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JacksonEventSerializerTest {
+  private static final UUID bookId = UUID.fromString("5c5f3b7e-7c4e-4a4b-9a57-3e5a8b1f6d01");
+  private static final UUID authorId = UUID.fromString("0b6d1a54-2f1c-4f7e-8f43-9d1c2a7e5b02");
+
+  private final ObjectMapper jsonReader = new ObjectMapper();
+  private final ObjectMapper smileReader = new ObjectMapper(new SmileFactory());
+
+  @Test
+  void storesEventFieldsAsJson() throws IOException {
+    var event = new ChapterAddedEvent(
+      new BookId(bookId),
+      new Chapter(new ChapterNumber(1), new ChapterTitle("Chapter 1"), new ChapterContent("Content"))
+    );
+
+    var stored = jsonReader.readTree(JacksonEventSerializer.json(new ObjectMapper()).serialize(event));
+
+    assertEquals(jsonReader.readTree("""
+      {
+        "bookId": {"value": "5c5f3b7e-7c4e-4a4b-9a57-3e5a8b1f6d01"},
+        "chapter": {
+          "chapterNumber": {"value": 1},
+          "title": {"value": "Chapter 1"},
+          "content": {"value": "Content"}
+        }
+      }
+      """), stored);
+  }
+
+  @Test
+  void storesTheSameDocumentAsSmileAndAsJson() throws IOException {
+    var json = JacksonEventSerializer.json(new ObjectMapper());
+    var smile = JacksonEventSerializer.smile();
+
+    for (var event : events()) {
+      JsonNode fromJson = jsonReader.readTree(json.serialize(event));
+      JsonNode fromSmile = withTextUuids(smileReader.readTree(smile.serialize(event)));
+
+      assertEquals(fromJson, fromSmile, event.getClass().getSimpleName());
+    }
+  }
+
+  @Test
+  void storesUuidsAsBinaryInSmile() throws IOException {
+    var event = new BookMovedToEditingEvent(new BookId(bookId));
+
+    var stored = smileReader.readTree(JacksonEventSerializer.smile().serialize(event)).at("/bookId/value");
+
+    assertTrue(stored.isBinary());
+    assertEquals(bookId, uuidOf(stored.binaryValue()));
+  }
+
+  @Test
+  void doesNotChangeTheGivenObjectMapper() throws IOException {
+    var objectMapper = new ObjectMapper();
+    JacksonEventSerializer.json(objectMapper);
+
+    // The given mapper still sees only the bean properties of the chapter, not its fields
+    var chapter = new Chapter(new ChapterNumber(1), new ChapterTitle("Chapter 1"), new ChapterContent("Content"));
+    var stored = objectMapper.readTree(objectMapper.writeValueAsBytes(chapter));
+
+    assertEquals(jsonReader.readTree("{\"contentLoaded\": true}"), stored);
+  }
+
+  @Test
+  void failsForEventsWithoutFields() {
+    var serializer = JacksonEventSerializer.smile();
+
+    var error = assertThrows(RuntimeException.class, () -> serializer.serialize(new Object()));
+
+    assertEquals("Error serializing event java.lang.Object", error.getMessage());
+  }
+
+  private static List<Object> events() {
+    var author = new Author(new AuthorId(authorId), new AuthorFirstName("Anna"), new AuthorLastName("Nowak"));
+
+    return List.of(
+      new ChapterAddedEvent(
+        new BookId(bookId),
+        new Chapter(new ChapterNumber(2), new ChapterTitle("Chapter 2"), new ChapterContent("Zażółć gęślą jaźń"))
+      ),
+      new BookMovedToEditingEvent(new BookId(bookId)),
+      new BookPublishedEvent(new BookId(bookId), new ISBN("978-3-16-148410-0"), new Title("Title"), author),
+      new CopiesSoldEvent(new BookId(bookId), new FormatType("Hardcover"), new PositiveInt(3))
+    );
+  }
+
+  // Smile keeps UUIDs as their 16 bytes, where JSON has their text
+  private static JsonNode withTextUuids(JsonNode node) throws IOException {
+    if (node.isBinary() && node.binaryValue().length == 16)
+      return TextNode.valueOf(uuidOf(node.binaryValue()).toString());
+
+    if (node instanceof ObjectNode object) {
+      var fields = object.fields();
+      while (fields.hasNext()) {
+        var field = fields.next();
+        field.setValue(withTextUuids(field.getValue()));
+      }
+    }
+    return node;
+  }
+
+  private static UUID uuidOf(byte[] bytes) {
+    var buffer = ByteBuffer.wrap(bytes);
+    return new UUID(buffer.getLong(), buffer.getLong());
+  }
+}
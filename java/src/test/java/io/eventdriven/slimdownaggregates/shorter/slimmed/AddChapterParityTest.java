@@ -0,0 +1,83 @@
+package io.eventdriven.slimdownaggregates.shorter.slimmed;
+
+import io.eventdriven.slimdownaggregates.shorter.original.entities.Publisher;
+import io.eventdriven.slimdownaggregates.shorter.slimmed.entities.*;
+import net.jqwik.api.*;
+
+import java.util.List;
+import java.util.UUID;
+
+import static io.eventdriven.slimdownaggregates.shorter.slimmed.BookService.BookCommand.AddChapter;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Slimmed AddChapter must accept and reject the same chapters as the original Book.addChapter,
+ * for any sequence of titles: in and out of sequence, duplicated and free-form.
+ */
+class AddChapterParityTest {
+
+  @Property
+  void decidesLikeTheOriginalBook(@ForAll("titles") List<String> titles) {
+    var bookId = UUID.randomUUID();
+    var original = originalBook(bookId);
+    Book slimmed = Book.evolve(new Book.Initial(), new BookEvent.WritingStarted(
+      new BookId(bookId), new Genre("Fantasy"), new Title("Title"), new Author("Author"), null
+    ));
+
+    for (var title : titles) {
+      var originalError = errorOf(() -> original.addChapter(
+        new io.eventdriven.slimdownaggregates.shorter.original.entities.ChapterTitle(title),
+        new io.eventdriven.slimdownaggregates.shorter.original.entities.ChapterContent("content")
+      ));
+
+      BookEvent event = null;
+      String slimmedError = null;
+      try {
+        event = BookService.handle(
+          new AddChapter(new BookId(bookId), new ChapterTitle(title), new ChapterContent("content")),
+          (Book.InWriting) slimmed
+        );
+      } catch (IllegalStateException e) {
+        slimmedError = e.getMessage();
+      }
+
+      assertEquals(originalError, slimmedError, "Adding '" + title + "' after " + titles);
+
+      if (event != null)
+        slimmed = Book.evolve(slimmed, event);
+    }
+  }
+
+  @Provide
+  Arbitrary<List<String>> titles() {
+    // Mostly titles close to the sequence, so the books grow and the sequence rule is exercised
+    var title = Arbitraries.frequencyOf(
+      Tuple.of(4, Arbitraries.integers().between(0, 12).map(number -> "chapter " + number)),
+      Tuple.of(1, Arbitraries.strings().alpha().ofMinLength(1).ofMaxLength(8))
+    );
+    return title.list().ofMaxSize(20);
+  }
+
+  private static String errorOf(Runnable command) {
+    try {
+      command.run();
+      return null;
+    } catch (IllegalStateException e) {
+      return e.getMessage();
+    }
+  }
+
+  private static io.eventdriven.slimdownaggregates.shorter.original.Book originalBook(UUID bookId) {
+    return new io.eventdriven.slimdownaggregates.shorter.original.Book(
+      new io.eventdriven.slimdownaggregates.shorter.original.entities.BookId(bookId),
+      new io.eventdriven.slimdownaggregates.shorter.original.entities.Title("Title"),
+      new io.eventdriven.slimdownaggregates.shorter.original.entities.Author("Author"),
+      new io.eventdriven.slimdownaggregates.shorter.original.entities.Genre("Fantasy"),
+      List.of(),
+      genre -> true,
+      new Publisher("Publisher"),
+      null,
+      null, 1, 0, 0, null, null
+    );
+  }
+}
@@ -0,0 +1,146 @@
+package io.eventdriven.slimdownaggregates.shorter.slimmed;
+
+import io.eventdriven.slimdownaggregates.shorter.slimmed.core.PersistentHashSet;
+import io.eventdriven.slimdownaggregates.shorter.slimmed.core.PersistentVector;
+import io.eventdriven.slimdownaggregates.shorter.slimmed.entities.*;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookSnapshotCodecTest {
+  private final BookSnapshotCodec codec = new BookSnapshotCodec();
+  private final BookId bookId = new BookId(UUID.randomUUID());
+  private final List<Format> formats = PersistentVector.from(List.of(
+    new Format("Hardcover", 100, 10),
+    new Format("E-book", 1000, 250)
+  ));
+
+  @Test
+  void decodesBookInWriting() {
+    var book = new Book.InWriting(
+      bookId, new Genre("Fantasy"), new Title("Title"), new Author("Author"), new ISBN("978-3-16-148410-0"),
+      PersistentHashSet.from(List.of("Chapter 1", "Chapter 2")), "Chapter 2"
+    );
+
+    var decoded = assertInstanceOf(Book.InWriting.class, roundTrip(book));
+
+    assertEquals(bookId.getValue(), decoded.bookId().getValue());
+    assertEquals("Fantasy", decoded.genre().getName());
+    assertEquals("Title", decoded.title().getValue());
+    assertEquals("Author", decoded.author().getName());
+    assertEquals("978-3-16-148410-0", decoded.isbn().getNumber());
+    assertEquals(Set.of("Chapter 1", "Chapter 2"), decoded.chapterTitles());
+    assertEquals("Chapter 2", decoded.lastChapterTitle());
+  }
+
+  @Test
+  void decodesMissingOptionalValuesAsNull() {
+    var book = new Book.InWriting(
+      bookId, null, new Title("Title"), new Author("Author"), null, PersistentHashSet.empty(), null
+    );
+
+    var decoded = assertInstanceOf(Book.InWriting.class, roundTrip(book));
+
+    assertNull(decoded.genre());
+    assertNull(decoded.isbn());
+    assertNull(decoded.lastChapterTitle());
+    assertEquals(Set.of(), decoded.chapterTitles());
+  }
+
+  @Test
+  void decodesBookInEditingWithCopiesRebuiltFromFormats() {
+    var book = new Book.InEditing(
+      bookId, new Genre("Fantasy"), new Title("Title"), new Author("Author"), null,
+      formats, 1100, 260, 2, 3, true
+    );
+
+    var decoded = assertInstanceOf(Book.InEditing.class, roundTrip(book));
+
+    assertFormats(decoded.formats());
+    assertEquals(1100, decoded.totalCopies());
+    assertEquals(260, decoded.soldCopies());
+    assertEquals(2, decoded.translationsCount());
+    assertEquals(3, decoded.reviewersCount());
+    assertTrue(decoded.isApproved());
+  }
+
+  @Test
+  void decodesBookInPrinting() {
+    var book = new Book.InPrinting(
+      bookId, new Title("Title"), new Author("Author"), new ISBN("978-3-16-148410-0"),
+      formats, 1100, 260, 3, 2
+    );
+
+    var decoded = assertInstanceOf(Book.InPrinting.class, roundTrip(book));
+
+    assertEquals("978-3-16-148410-0", decoded.isbn().getNumber());
+    assertFormats(decoded.formats());
+    assertEquals(1100, decoded.totalCopies());
+    assertEquals(260, decoded.soldCopies());
+    assertEquals(3, decoded.reviewersCount());
+    assertEquals(2, decoded.translationsCount());
+  }
+
+  @Test
+  void decodesBookInPublishing() {
+    var book = new Book.InPublishing(bookId, formats, 1100, 260);
+
+    var decoded = assertInstanceOf(Book.InPublishing.class, roundTrip(book));
+
+    assertEquals(bookId.getValue(), decoded.bookId().getValue());
+    assertFormats(decoded.formats());
+    assertEquals(1100, decoded.totalCopies());
+    assertEquals(260, decoded.soldCopies());
+  }
+
+  @Test
+  void decodesStatesWithoutFields() {
+    assertInstanceOf(Book.Initial.class, roundTrip(new Book.Initial()));
+    assertInstanceOf(Book.OutOfPrint.class, roundTrip(new Book.OutOfPrint()));
+  }
+
+  @Test
+  void encodesDecodedBookToTheSameBytes() {
+    var books = List.<Book>of(
+      new Book.Initial(),
+      new Book.InWriting(
+        bookId, new Genre("Fantasy"), new Title("Title"), new Author("Author"), null,
+        PersistentHashSet.from(List.of("Chapter 1")), "Chapter 1"
+      ),
+      new Book.InEditing(bookId, null, new Title("Title"), new Author("Author"), null, formats, 1100, 260, 0, 1, false),
+      new Book.InPrinting(bookId, new Title("Title"), new Author("Author"), null, formats, 1100, 260, 1, 0),
+      new Book.InPublishing(bookId, formats, 1100, 260),
+      new Book.OutOfPrint()
+    );
+
+    for (var book : books) {
+      var encoded = codec.encode(book);
+
+      assertArrayEquals(encoded, codec.encode(codec.decode(ByteBuffer.wrap(encoded))), book.getClass().getSimpleName());
+    }
+  }
+
+  @Test
+  void rejectsUnknownStateTag() {
+    assertThrows(IllegalArgumentException.class, () -> codec.decode(ByteBuffer.wrap(new byte[]{42})));
+  }
+
+  private Book roundTrip(Book book) {
+    return codec.decode(ByteBuffer.wrap(codec.encode(book)));
+  }
+
+  private static void assertFormats(List<Format> formats) {
+    assertEquals(2, formats.size());
+    assertEquals("Hardcover", formats.get(0).getFormatType());
+    assertEquals(100, formats.get(0).getTotalCopies());
+    assertEquals(10, formats.get(0).getSoldCopies());
+    assertEquals("E-book", formats.get(1).getFormatType());
+    assertEquals(1000, formats.get(1).getTotalCopies());
+    assertEquals(250, formats.get(1).getSoldCopies());
+  }
+}
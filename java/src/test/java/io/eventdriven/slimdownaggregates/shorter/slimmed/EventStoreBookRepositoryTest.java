@@ -0,0 +1,133 @@
+package io.eventdriven.slimdownaggregates.shorter.slimmed;
+
+import io.eventdriven.slimdownaggregates.shorter.slimmed.core.EventStore;
+import io.eventdriven.slimdownaggregates.shorter.slimmed.core.InMemoryEventStore;
+import io.eventdriven.slimdownaggregates.shorter.slimmed.core.InMemorySnapshotStore;
+import io.eventdriven.slimdownaggregates.shorter.slimmed.core.SnapshotPolicy;
+import io.eventdriven.slimdownaggregates.shorter.slimmed.core.WrongExpectedVersionException;
+import io.eventdriven.slimdownaggregates.shorter.slimmed.entities.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventStoreBookRepositoryTest {
+  private final BookId bookId = new BookId(UUID.randomUUID());
+  private final InMemoryEventStore<BookEvent> eventStore = new InMemoryEventStore<>();
+  private final EventStoreBookRepository repository = new EventStoreBookRepository(eventStore);
+
+  @Test
+  void findsNewBookInInitialStateAtVersionZero() {
+    var book = repository.findVersioned(bookId);
+
+    assertEquals(new Book.Initial(), book.value());
+    assertEquals(0, book.version());
+  }
+
+  @Test
+  void appendsEventsToStreamOfTheBook() {
+    var otherBookId = new BookId(UUID.randomUUID());
+
+    repository.save(writingStarted(bookId));
+    repository.save(writingStarted(otherBookId));
+    repository.save(chapterAdded(bookId, "Chapter 1"));
+
+    assertEquals(2, eventStore.readStream(EventStoreBookRepository.streamId(bookId)).version());
+    assertEquals(1, eventStore.readStream(EventStoreBookRepository.streamId(otherBookId)).version());
+  }
+
+  @Test
+  void foldsSavedEventsIntoBook() {
+    repository.save(writingStarted(bookId));
+    repository.save(chapterAdded(bookId, "Chapter 1"));
+    repository.save(chapterAdded(bookId, "Chapter 2"));
+
+    var book = repository.findVersioned(bookId);
+
+    var inWriting = assertInstanceOf(Book.InWriting.class, book.value());
+    assertEquals(Set.of("Chapter 1", "Chapter 2"), inWriting.chapterTitles());
+    assertEquals("Chapter 2", inWriting.lastChapterTitle());
+    assertEquals(3, book.version());
+  }
+
+  @Test
+  void savesAtExpectedVersion() {
+    repository.save(writingStarted(bookId));
+    var book = repository.findVersioned(bookId);
+
+    repository.save(chapterAdded(bookId, "Chapter 1"), book.version());
+
+    assertEquals(2, repository.findVersioned(bookId).version());
+  }
+
+  @Test
+  void rejectsSaveAtStaleVersion() {
+    repository.save(writingStarted(bookId));
+    var book = repository.findVersioned(bookId);
+    repository.save(chapterAdded(bookId, "Chapter 1"), book.version());
+
+    assertThrows(
+      WrongExpectedVersionException.class,
+      () -> repository.save(chapterAdded(bookId, "Chapter 2"), book.version())
+    );
+
+    var inWriting = (Book.InWriting) repository.find(bookId);
+    assertEquals(Set.of("Chapter 1"), inWriting.chapterTitles());
+  }
+
+  @Test
+  void foldsFromSnapshotToTheSameBook() {
+    var snapshots = new InMemorySnapshotStore<Book>();
+    var withSnapshots = new EventStoreBookRepository(eventStore, snapshots, SnapshotPolicy.everyEvents(2));
+    var events = List.of(
+      writingStarted(bookId),
+      chapterAdded(bookId, "Chapter 1"),
+      chapterAdded(bookId, "Chapter 2")
+    );
+
+    for (var event : events) {
+      withSnapshots.save(event);
+    }
+
+    var streamId = EventStoreBookRepository.streamId(bookId);
+    assertEquals(2, snapshots.load(streamId).orElseThrow().version());
+    assertEquals(repository.findVersioned(bookId), withSnapshots.findVersioned(bookId));
+  }
+
+  @Test
+  void doesNotSnapshotRejectedEvents() {
+    var snapshots = new InMemorySnapshotStore<Book>();
+    var withSnapshots = new EventStoreBookRepository(eventStore, snapshots, SnapshotPolicy.everyEvents(1));
+    withSnapshots.save(writingStarted(bookId));
+
+    assertThrows(
+      WrongExpectedVersionException.class,
+      () -> withSnapshots.save(chapterAdded(bookId, "Chapter 1"), 0)
+    );
+
+    var snapshot = snapshots.load(EventStoreBookRepository.streamId(bookId)).orElseThrow();
+    assertEquals(1, snapshot.version());
+    assertEquals(Set.of(), ((Book.InWriting) snapshot.value()).chapterTitles());
+  }
+
+  @Test
+  void savesWithoutVersionCheckByDefault() {
+    repository.save(writingStarted(bookId), EventStore.ANY_VERSION);
+    repository.save(chapterAdded(bookId, "Chapter 1"));
+
+    assertEquals(2, repository.findVersioned(bookId).version());
+  }
+
+  private static BookEvent writingStarted(BookId bookId) {
+    return new BookEvent.WritingStarted(
+      bookId, new Genre("Fantasy"), new Title("Title"), new Author("Author"), new ISBN("978-3-16-148410-0")
+    );
+  }
+
+  private static BookEvent chapterAdded(BookId bookId, String title) {
+    return new BookEvent.ChapterAdded(bookId, new Chapter(new ChapterTitle(title), new ChapterContent("content")));
+  }
+}
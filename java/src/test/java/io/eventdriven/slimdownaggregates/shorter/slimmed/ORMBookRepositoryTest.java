@@ -0,0 +1,60 @@
+package io.eventdriven.slimdownaggregates.shorter.slimmed;
+
+import io.eventdriven.slimdownaggregates.shorter.slimmed.core.EventStore;
+import io.eventdriven.slimdownaggregates.shorter.slimmed.core.FancyORM;
+import io.eventdriven.slimdownaggregates.shorter.slimmed.entities.BookId;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ORMBookRepositoryTest {
+  private final BookEvent event = new BookEvent.MovedToEditing(new BookId(UUID.randomUUID()));
+  private final RecordingORM orm = new RecordingORM();
+  private final ORMBookRepository repository = new ORMBookRepository(orm);
+
+  @Test
+  void findsBooksWithoutVersion() {
+    assertEquals(EventStore.ANY_VERSION, repository.findVersioned(new BookId(UUID.randomUUID())).version());
+  }
+
+  @Test
+  void savesAtAnyVersion() {
+    repository.save(event, EventStore.ANY_VERSION);
+
+    assertEquals(List.of(event), orm.saved);
+  }
+
+  @Test
+  void rejectsExpectedVersionItCannotCheck() {
+    assertThrows(IllegalArgumentException.class, () -> repository.save(event, 0));
+    assertThrows(IllegalArgumentException.class, () -> repository.save(event, 3));
+
+    assertEquals(List.of(), orm.saved);
+  }
+
+  private static class RecordingORM implements FancyORM {
+    private final List<Object> stored = new ArrayList<>();
+    private final List<Object> saved = new ArrayList<>();
+
+    @Override
+    public <T> T find(Object id) {
+      return null;
+    }
+
+    @Override
+    public <T> void store(T book) {
+      stored.add(book);
+    }
+
+    @Override
+    public void save() {
+      saved.addAll(stored);
+      stored.clear();
+    }
+  }
+}
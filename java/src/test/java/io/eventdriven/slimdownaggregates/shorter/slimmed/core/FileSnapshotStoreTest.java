@@ -0,0 +1,108 @@
+package io.eventdriven.slimdownaggregates.shorter.slimmed.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileSnapshotStoreTest {
+  private static final Codec<String> codec = new Codec<>() {
+    @Override
+    public byte[] encode(String value) {
+      return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String decode(ByteBuffer buffer) {
+      return StandardCharsets.UTF_8.decode(buffer).toString();
+    }
+  };
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void loadsNothingForStreamWithoutSnapshot() {
+    assertEquals(Optional.empty(), store().load("stream"));
+  }
+
+  @Test
+  void loadsSavedSnapshotInNewStore() {
+    store().save("stream", new Versioned<>("state", 3));
+
+    assertEquals(Optional.of(new Versioned<>("state", 3)), store().load("stream"));
+  }
+
+  @Test
+  void replacesSnapshotWithNewerOne() {
+    var store = store();
+    store.save("stream", new Versioned<>("old", 3));
+    store.save("stream", new Versioned<>("new", 5));
+
+    assertEquals(Optional.of(new Versioned<>("new", 5)), store.load("stream"));
+  }
+
+  @Test
+  void keepsSnapshotWhenOlderOrSameVersionComes() {
+    var store = store();
+    store.save("stream", new Versioned<>("newest", 5));
+    store.save("stream", new Versioned<>("older", 4));
+    store.save("stream", new Versioned<>("same", 5));
+
+    assertEquals(Optional.of(new Versioned<>("newest", 5)), store().load("stream"));
+  }
+
+  @Test
+  void keepsSnapshotsOfStreamsSeparate() {
+    var store = store();
+    store.save("first", new Versioned<>("a", 1));
+    store.save("second", new Versioned<>("b", 2));
+
+    assertEquals(Optional.of(new Versioned<>("a", 1)), store.load("first"));
+    assertEquals(Optional.of(new Versioned<>("b", 2)), store.load("second"));
+  }
+
+  @Test
+  void keepsNewestOfConcurrentSaves() throws Exception {
+    var store = store();
+    var versions = new ArrayList<>(IntStream.rangeClosed(1, 200).boxed().toList());
+    Collections.shuffle(versions);
+
+    var executor = Executors.newFixedThreadPool(8);
+    try {
+      for (var version : versions) {
+        executor.submit(() -> store.save("stream", new Versioned<>("state " + version, version)));
+      }
+    } finally {
+      executor.shutdown();
+      assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+    }
+
+    assertEquals(Optional.of(new Versioned<>("state 200", 200)), store.load("stream"));
+    assertEquals(List.of(directory.resolve("stream.snapshot")), files());
+  }
+
+  private FileSnapshotStore<String> store() {
+    return new FileSnapshotStore<>(directory, codec);
+  }
+
+  private List<Path> files() throws IOException {
+    try (var files = Files.list(directory)) {
+      return files.toList();
+    }
+  }
+}
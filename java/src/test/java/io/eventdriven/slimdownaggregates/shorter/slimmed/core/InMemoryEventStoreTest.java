@@ -0,0 +1,76 @@
+package io.eventdriven.slimdownaggregates.shorter.slimmed.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class InMemoryEventStoreTest {
+  private final InMemoryEventStore<String> eventStore = new InMemoryEventStore<>();
+
+  @Test
+  void readsMissingStreamAsEmptyAtVersionZero() {
+    var stream = eventStore.readStream("missing");
+
+    assertEquals(List.of(), stream.events());
+    assertEquals(0, stream.version());
+  }
+
+  @Test
+  void appendsEventsAndReturnsNewVersion() {
+    assertEquals(2, eventStore.appendToStream("stream", 0, List.of("a", "b")));
+    assertEquals(3, eventStore.appendToStream("stream", 2, List.of("c")));
+
+    var stream = eventStore.readStream("stream");
+    assertEquals(List.of("a", "b", "c"), stream.events());
+    assertEquals(3, stream.version());
+  }
+
+  @Test
+  void readsEventsAppendedAfterVersion() {
+    eventStore.appendToStream("stream", 0, List.of("a", "b", "c"));
+
+    assertEquals(new EventStore.ReadStreamResult<>(List.of("c"), 3), eventStore.readStream("stream", 2));
+    assertEquals(new EventStore.ReadStreamResult<>(List.of(), 3), eventStore.readStream("stream", 3));
+    assertEquals(new EventStore.ReadStreamResult<>(List.of(), 3), eventStore.readStream("stream", 5));
+  }
+
+  @Test
+  void keepsStreamsSeparate() {
+    eventStore.appendToStream("first", 0, List.of("a"));
+    eventStore.appendToStream("second", 0, List.of("b", "c"));
+
+    assertEquals(List.of("a"), eventStore.readStream("first").events());
+    assertEquals(List.of("b", "c"), eventStore.readStream("second").events());
+  }
+
+  @Test
+  void rejectsAppendAtStaleVersion() {
+    eventStore.appendToStream("stream", 0, List.of("a", "b"));
+
+    var error = assertThrows(
+      WrongExpectedVersionException.class,
+      () -> eventStore.appendToStream("stream", 1, List.of("c"))
+    );
+
+    assertEquals("Stream stream is at version 2, expected 1.", error.getMessage());
+    assertEquals(List.of("a", "b"), eventStore.readStream("stream").events());
+  }
+
+  @Test
+  void rejectsAppendToNewStreamAtVersionAheadOfIt() {
+    assertThrows(WrongExpectedVersionException.class, () -> eventStore.appendToStream("stream", 1, List.of("a")));
+
+    assertEquals(0, eventStore.readStream("stream").version());
+  }
+
+  @Test
+  void appendsAtAnyVersionWithoutCheck() {
+    eventStore.appendToStream("stream", 0, List.of("a"));
+
+    assertEquals(2, eventStore.appendToStream("stream", EventStore.ANY_VERSION, List.of("b")));
+    assertEquals(List.of("a", "b"), eventStore.readStream("stream").events());
+  }
+}
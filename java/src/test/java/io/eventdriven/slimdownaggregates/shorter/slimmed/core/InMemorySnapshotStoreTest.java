@@ -0,0 +1,42 @@
+package io.eventdriven.slimdownaggregates.shorter.slimmed.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InMemorySnapshotStoreTest {
+  private final InMemorySnapshotStore<String> store = new InMemorySnapshotStore<>();
+
+  @Test
+  void loadsNothingForStreamWithoutSnapshot() {
+    assertEquals(Optional.empty(), store.load("stream"));
+  }
+
+  @Test
+  void replacesSnapshotWithNewerOne() {
+    store.save("stream", new Versioned<>("old", 3));
+    store.save("stream", new Versioned<>("new", 5));
+
+    assertEquals(Optional.of(new Versioned<>("new", 5)), store.load("stream"));
+  }
+
+  @Test
+  void keepsSnapshotWhenOlderOrSameVersionComes() {
+    store.save("stream", new Versioned<>("newest", 5));
+    store.save("stream", new Versioned<>("older", 4));
+    store.save("stream", new Versioned<>("same", 5));
+
+    assertEquals(Optional.of(new Versioned<>("newest", 5)), store.load("stream"));
+  }
+
+  @Test
+  void keepsSnapshotsOfStreamsSeparate() {
+    store.save("first", new Versioned<>("a", 1));
+    store.save("second", new Versioned<>("b", 2));
+
+    assertEquals(Optional.of(new Versioned<>("a", 1)), store.load("first"));
+    assertEquals(Optional.of(new Versioned<>("b", 2)), store.load("second"));
+  }
+}
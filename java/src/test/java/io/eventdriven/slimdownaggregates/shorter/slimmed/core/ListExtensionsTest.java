@@ -0,0 +1,45 @@
+package io.eventdriven.slimdownaggregates.shorter.slimmed.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ListExtensionsTest {
+  private final List<Integer> list = PersistentVector.from(IntStream.range(0, 100).boxed().toList());
+
+  @Test
+  void appendsElement() {
+    assertEquals(List.of(1, 2, 3), ListExtensions.union(List.of(1, 2), 3));
+  }
+
+  @Test
+  void removesAllMatchingElements() {
+    var result = ListExtensions.except(list, e -> e % 10 == 3);
+
+    assertEquals(IntStream.range(0, 100).filter(e -> e % 10 != 3).boxed().toList(), result);
+    assertEquals(100, list.size());
+  }
+
+  @Test
+  void returnsSameVectorWhenNothingIsRemoved() {
+    assertSame(list, ListExtensions.except(list, e -> e > 100));
+  }
+
+  @Test
+  void replacesMatchingElements() {
+    var result = ListExtensions.replace(list, e -> e >= 98, e -> -e);
+
+    assertEquals(IntStream.range(0, 98).boxed().toList(), result.subList(0, 98));
+    assertEquals(List.of(-98, -99), result.subList(98, 100));
+    assertEquals(99, list.get(99));
+  }
+
+  @Test
+  void acceptsListsOtherThanVectors() {
+    assertEquals(List.of(1, 3), ListExtensions.except(List.of(1, 2, 3), e -> e == 2));
+    assertEquals(List.of(1, 20, 3), ListExtensions.replace(List.of(1, 2, 3), e -> e == 2, e -> e * 10));
+  }
+}
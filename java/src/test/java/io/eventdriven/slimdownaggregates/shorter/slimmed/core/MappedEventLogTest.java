@@ -0,0 +1,201 @@
+package io.eventdriven.slimdownaggregates.shorter.slimmed.core;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedEventLogTest {
+  private static final int SEGMENT_SIZE = 256;
+  // Header, stream id length, "stream" and version, without the event
+  private static final int RECORD_OVERHEAD = 8 + 2 + 6 + 8;
+
+  private static final Codec<String> codec = new Codec<>() {
+    @Override
+    public byte[] encode(String value) {
+      return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String decode(ByteBuffer buffer) {
+      return StandardCharsets.UTF_8.decode(buffer).toString();
+    }
+  };
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void readsAppendedEventsBack() {
+    try (var log = open()) {
+      assertEquals(2, log.appendToStream("stream", 0, List.of("a", "b")));
+      assertEquals(1, log.appendToStream("other", 0, List.of("x")));
+      assertEquals(3, log.appendToStream("stream", 2, List.of("c")));
+
+      assertEquals(new EventStore.ReadStreamResult<>(List.of("a", "b", "c"), 3), log.readStream("stream"));
+      assertEquals(new EventStore.ReadStreamResult<>(List.of("c"), 3), log.readStream("stream", 2));
+      assertEquals(new EventStore.ReadStreamResult<>(List.of("x"), 1), log.readStream("other"));
+      assertEquals(new EventStore.ReadStreamResult<>(List.of(), 0), log.readStream("missing"));
+    }
+  }
+
+  @Test
+  void rejectsAppendAtWrongVersion() {
+    try (var log = open()) {
+      log.appendToStream("stream", 0, List.of("a"));
+
+      assertThrows(WrongExpectedVersionException.class, () -> log.appendToStream("stream", 0, List.of("b")));
+      assertThrows(WrongExpectedVersionException.class, () -> log.appendToStream("missing", 1, List.of("b")));
+
+      assertEquals(List.of("a"), log.readStream("stream").events());
+      assertEquals(0, log.appendToStream("missing", 0, List.of()));
+    }
+  }
+
+  @Test
+  void rollsSegmentWhenBatchDoesNotFit() throws IOException {
+    // Two records fill a segment
+    var event = "e".repeat(SEGMENT_SIZE / 2 - RECORD_OVERHEAD - 1);
+
+    try (var log = open()) {
+      for (var i = 0; i < 5; i++) {
+        log.appendToStream("stream", i, List.of(event + i));
+      }
+
+      assertEquals(List.of(event + 0, event + 1, event + 2, event + 3, event + 4), log.readStream("stream").events());
+    }
+
+    assertEquals(3, segmentFiles().size());
+  }
+
+  @Test
+  void rejectsBatchLargerThanSegment() {
+    try (var log = open()) {
+      var events = List.of("e".repeat(SEGMENT_SIZE / 2), "e".repeat(SEGMENT_SIZE / 2));
+
+      assertThrows(IllegalArgumentException.class, () -> log.appendToStream("stream", 0, events));
+
+      assertEquals(0, log.readStream("stream").version());
+      assertEquals(1, log.appendToStream("stream", 0, List.of("a")));
+    }
+  }
+
+  @Test
+  void rejectsStreamIdLongerThanItsStoredLength() {
+    try (var log = open()) {
+      var streamId = "s".repeat(Short.MAX_VALUE + 1);
+
+      assertThrows(IllegalArgumentException.class, () -> log.appendToStream(streamId, 0, List.of("a")));
+
+      assertEquals(0, log.readStream(streamId).version());
+    }
+  }
+
+  @Test
+  void recoversStreamsOnOpen() {
+    var event = "e".repeat(SEGMENT_SIZE / 2 - RECORD_OVERHEAD);
+    try (var log = open()) {
+      log.appendToStream("stream", 0, List.of("a", "b"));
+      log.appendToStream("stream", 2, List.of(event));
+      log.appendToStream("other", 0, List.of(event));
+      log.appendToStream("stream", 3, List.of("c"));
+    }
+
+    try (var log = open()) {
+      assertEquals(new EventStore.ReadStreamResult<>(List.of("a", "b", event, "c"), 4), log.readStream("stream"));
+      assertEquals(new EventStore.ReadStreamResult<>(List.of(event), 1), log.readStream("other"));
+
+      assertThrows(WrongExpectedVersionException.class, () -> log.appendToStream("stream", 3, List.of("d")));
+      assertEquals(5, log.appendToStream("stream", 4, List.of("d")));
+    }
+
+    try (var log = open()) {
+      assertEquals(List.of("a", "b", event, "c", "d"), log.readStream("stream").events());
+    }
+  }
+
+  @Test
+  void dropsBatchTornBeforeItsLengthWasWritten() throws IOException {
+    try (var log = open()) {
+      log.appendToStream("stream", 0, List.of("a"));
+      log.appendToStream("stream", 1, List.of("b", "c"));
+    }
+    // The batch was written, but the crash came before the length of its first record
+    var batchOffset = recordSize("a");
+    writeInt(lastSegment(), batchOffset, 0);
+
+    try (var log = open()) {
+      assertEquals(new EventStore.ReadStreamResult<>(List.of("a"), 1), log.readStream("stream"));
+
+      // Same size as the torn "b", so without clearing it "c" would follow it as version 3
+      log.appendToStream("stream", 1, List.of("d"));
+    }
+
+    try (var log = open()) {
+      assertEquals(new EventStore.ReadStreamResult<>(List.of("a", "d"), 2), log.readStream("stream"));
+    }
+  }
+
+  @Test
+  void dropsRecordWithCorruptBodyAndClearsTail() throws IOException {
+    try (var log = open()) {
+      log.appendToStream("stream", 0, List.of("a"));
+      log.appendToStream("stream", 1, List.of("b"));
+    }
+    // Flips the last byte of the "b" event
+    var lastByte = recordSize("a") + recordSize("b") - 1;
+    var segment = lastSegment();
+    try (var file = new RandomAccessFile(segment.toFile(), "rw")) {
+      file.seek(lastByte);
+      file.write('x');
+    }
+
+    try (var log = open()) {
+      assertEquals(new EventStore.ReadStreamResult<>(List.of("a"), 1), log.readStream("stream"));
+    }
+
+    var bytes = Files.readAllBytes(segment);
+    for (var i = recordSize("a"); i < bytes.length; i++) {
+      assertEquals(0, bytes[i], "Byte " + i + " behind the tail");
+    }
+  }
+
+  @Test
+  void rejectsSegmentSizeWithoutRoomForRecords() {
+    assertThrows(IllegalArgumentException.class, () -> MappedEventLog.open(directory, 8, codec));
+  }
+
+  private MappedEventLog<String> open() {
+    return MappedEventLog.open(directory, SEGMENT_SIZE, codec);
+  }
+
+  private static int recordSize(String event) {
+    return RECORD_OVERHEAD + event.getBytes(StandardCharsets.UTF_8).length;
+  }
+
+  private List<Path> segmentFiles() throws IOException {
+    try (var files = Files.list(directory)) {
+      return files.sorted().toList();
+    }
+  }
+
+  private Path lastSegment() throws IOException {
+    var files = segmentFiles();
+    return files.get(files.size() - 1);
+  }
+
+  private static void writeInt(Path file, int offset, int value) throws IOException {
+    try (var raf = new RandomAccessFile(file.toFile(), "rw")) {
+      raf.seek(offset);
+      raf.writeInt(value);
+    }
+  }
+}
@@ -0,0 +1,114 @@
+package io.eventdriven.slimdownaggregates.shorter.slimmed.core;
+
+import net.jqwik.api.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentHashSetTest {
+
+  @Test
+  void addsEachElementOnce() {
+    var set = PersistentHashSet.<String>empty().with("a").with("b");
+
+    assertSame(set, set.with("a"));
+    assertEquals(Set.of("a", "b"), set);
+    assertEquals(2, set.size());
+  }
+
+  @Test
+  void keepsElementsWithTheSameHash() {
+    var first = new Key("first", 42);
+    var second = new Key("second", 42);
+    var third = new Key("third", 42);
+
+    var set = PersistentHashSet.<Key>empty().with(first).with(second).with(third);
+
+    assertEquals(Set.of(first, second, third), set);
+    assertFalse(set.contains(new Key("other", 42)));
+  }
+
+  @Test
+  void keepsElementsSharingHashPrefix() {
+    // Same lowest 5 and 10 bits, so they're split only at the deeper levels
+    var keys = List.of(new Key("a", 1), new Key("b", 1 + 32), new Key("c", 1 + 1024), new Key("d", 1 + 32 * 1024));
+
+    var set = PersistentHashSet.from(keys);
+
+    assertEquals(Set.copyOf(keys), set);
+  }
+
+  @Test
+  void removesElementsWithTheSameHash() {
+    var first = new Key("first", 42);
+    var second = new Key("second", 42);
+    var third = new Key("third", 42);
+    var set = PersistentHashSet.from(List.of(first, second, third));
+
+    var withoutSecond = set.without(second);
+    var withoutAll = withoutSecond.without(first).without(third);
+
+    assertEquals(Set.of(first, third), withoutSecond);
+    assertEquals(Set.of(), withoutAll);
+    assertEquals(Set.of(first, second, third), set);
+    assertEquals(Set.of(second), withoutAll.with(second));
+  }
+
+  @Test
+  void removesElementsSharingHashPrefix() {
+    var a = new Key("a", 1);
+    var b = new Key("b", 1 + 32);
+    var c = new Key("c", 1 + 32 * 1024);
+    var set = PersistentHashSet.from(List.of(a, b, c));
+
+    assertEquals(Set.of(a, c), set.without(b));
+    assertEquals(Set.of(c), set.without(b).without(a));
+    assertEquals(Set.of(a, b, c), set.without(b).without(a).with(a).with(b));
+  }
+
+  @Test
+  void returnsSameSetWhenRemovingMissingElement() {
+    var set = PersistentHashSet.<String>empty().with("a");
+
+    assertSame(set, set.without("b"));
+    assertSame(PersistentHashSet.empty(), set.without("a"));
+  }
+
+  @Property
+  void behavesLikeHashSet(@ForAll("operations") List<Integer> operations) {
+    var set = PersistentHashSet.<Key>empty();
+    var expected = new HashSet<Key>();
+
+    for (var operation : operations) {
+      // Few hashes for many keys, so collisions are common
+      var key = new Key("key " + Math.abs(operation), Math.abs(operation) % 5 * 1024);
+      if (operation < 0) {
+        set = set.without(key);
+        expected.remove(key);
+      } else {
+        set = set.with(key);
+        expected.add(key);
+      }
+      assertEquals(expected.size(), set.size());
+    }
+
+    assertEquals(expected, set);
+    assertEquals(expected, new HashSet<>(set));
+  }
+
+  @Provide
+  Arbitrary<List<Integer>> operations() {
+    return Arbitraries.integers().between(-30, 30).list().ofMaxSize(100);
+  }
+
+  private record Key(String name, int hash) {
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
@@ -0,0 +1,126 @@
+package io.eventdriven.slimdownaggregates.shorter.slimmed.core;
+
+import net.jqwik.api.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sizes around 32 fill the tail, 1056 the first trie level together with the tail
+ * and 33824 the second one, so they cover the trie growing and shrinking by a level.
+ */
+class PersistentVectorTest {
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, 31, 32, 33, 64, 65, 1055, 1056, 1057, 1088, 1089, 33823, 33824, 33825})
+  void getsAppendedElements(int size) {
+    var vector = vectorOf(size);
+
+    assertEquals(size, vector.size());
+    for (var i = 0; i < size; i++) {
+      assertEquals(i, vector.get(i));
+    }
+    assertThrows(IndexOutOfBoundsException.class, () -> vector.get(size));
+  }
+
+  @Test
+  void popsBackToEmptyAcrossLevels() {
+    var size = 33825;
+    var vector = vectorOf(size);
+
+    for (var expectedSize = size - 1; expectedSize >= 0; expectedSize--) {
+      vector = vector.pop();
+
+      assertEquals(expectedSize, vector.size());
+      if (expectedSize > 0) {
+        assertEquals(0, vector.get(0));
+        assertEquals(expectedSize - 1, vector.get(expectedSize - 1));
+        assertEquals(expectedSize / 2, vector.get(expectedSize / 2));
+      }
+    }
+    assertThrows(IllegalStateException.class, vector::pop);
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 31, 32, 33, 1024, 1055, 1056, 1057, 2000})
+  void appendsAgainAfterTaking(int count) {
+    var taken = vectorOf(33825).take(count);
+
+    var vector = taken;
+    for (var i = count; i < 33825; i++) {
+      vector = vector.append(i);
+    }
+
+    assertEquals(IntStream.range(0, count).boxed().toList(), taken);
+    assertEquals(vectorOf(33825), vector);
+  }
+
+  @Test
+  void replacesElementsWithoutChangingOriginal() {
+    var original = vectorOf(1100);
+
+    var replaced = original.with(0, -1).with(500, -2).with(1099, -3);
+
+    assertEquals(List.of(-1, 1, 2), replaced.subList(0, 3));
+    assertEquals(-2, replaced.get(500));
+    assertEquals(-3, replaced.get(1099));
+    assertEquals(1100, replaced.size());
+    assertEquals(vectorOf(1100), original);
+    assertThrows(IndexOutOfBoundsException.class, () -> original.with(1100, 0));
+  }
+
+  @Test
+  void takesWithoutChangingOriginal() {
+    var original = vectorOf(1100);
+
+    assertEquals(List.of(), original.take(0));
+    assertSame(original, original.take(1100));
+    assertEquals(vectorOf(40), original.take(40));
+    assertEquals(vectorOf(1100), original);
+    assertThrows(IndexOutOfBoundsException.class, () -> original.take(1101));
+  }
+
+  @Property
+  void behavesLikeArrayList(@ForAll("operations") List<Integer> operations) {
+    var vector = PersistentVector.<Integer>empty();
+    var expected = new ArrayList<Integer>();
+
+    for (var operation : operations) {
+      if (operation < 0 && !expected.isEmpty()) {
+        vector = vector.pop();
+        expected.remove(expected.size() - 1);
+      } else if (operation % 7 == 0 && !expected.isEmpty()) {
+        var index = operation % expected.size();
+        vector = vector.with(index, -operation);
+        expected.set(index, -operation);
+      } else {
+        for (var i = 0; i < operation % 100; i++) {
+          vector = vector.append(operation);
+          expected.add(operation);
+        }
+      }
+    }
+
+    assertEquals(expected, vector);
+  }
+
+  @Provide
+  Arbitrary<List<Integer>> operations() {
+    // Mostly appends, so the vector grows past the first trie level
+    return Arbitraries.integers().between(-3, 2000).list().ofMaxSize(60);
+  }
+
+  private static PersistentVector<Integer> vectorOf(int size) {
+    PersistentVector<Integer> vector = PersistentVector.empty();
+    for (var i = 0; i < size; i++) {
+      vector = vector.append(i);
+    }
+    return vector;
+  }
+}
@@ -0,0 +1,52 @@
+package io.eventdriven.slimdownaggregates.shorter.slimmed.core;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnapshotPolicyTest {
+
+  @Test
+  void neverSnapshots() {
+    var policy = SnapshotPolicy.never();
+
+    assertFalse(policy.shouldSnapshot(0, 1));
+    assertFalse(policy.shouldSnapshot(0, 1000));
+  }
+
+  @Test
+  void snapshotsWhenStreamReachesMultipleOfCount() {
+    var policy = SnapshotPolicy.everyEvents(3);
+
+    assertFalse(policy.shouldSnapshot(0, 1));
+    assertFalse(policy.shouldSnapshot(1, 2));
+    assertTrue(policy.shouldSnapshot(2, 3));
+    assertFalse(policy.shouldSnapshot(3, 4));
+    assertTrue(policy.shouldSnapshot(5, 6));
+  }
+
+  @Test
+  void snapshotsWhenBatchCrossesMultipleOfCount() {
+    var policy = SnapshotPolicy.everyEvents(3);
+
+    assertTrue(policy.shouldSnapshot(2, 4));
+    assertTrue(policy.shouldSnapshot(1, 10));
+    assertFalse(policy.shouldSnapshot(3, 5));
+  }
+
+  @Test
+  void snapshotsAfterEachEventForCountOfOne() {
+    var policy = SnapshotPolicy.everyEvents(1);
+
+    assertTrue(policy.shouldSnapshot(0, 1));
+    assertTrue(policy.shouldSnapshot(7, 8));
+  }
+
+  @Test
+  void rejectsCountThatIsNotPositive() {
+    assertThrows(IllegalArgumentException.class, () -> SnapshotPolicy.everyEvents(0));
+    assertThrows(IllegalArgumentException.class, () -> SnapshotPolicy.everyEvents(-1));
+  }
+}